@@ -2,12 +2,14 @@ package br.com.bmstech.payment;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * @author Angelo Brandão (angelobms@gmail.com)
  * @version 1.0
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class PaymentApplication {
 
 	public static void main(String[] args) {
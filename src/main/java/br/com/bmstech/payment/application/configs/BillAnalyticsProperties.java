@@ -0,0 +1,22 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the in-memory columnar copy of the bills that answers the analytics queries, bound from
+ * {@code api.bills.analytics}.
+ *
+ * @param enabled       keep the copy and answer from it; otherwise every analytics query runs in the database
+ * @param partitionSize rows per partition, rounded up to a power of two; partitions are scanned in parallel
+ * @param threads       threads scanning partitions, {@code 0} for one per available processor
+ * @param fetchSize     rows read per round trip while the copy is loaded
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.analytics")
+public record BillAnalyticsProperties(@DefaultValue("false") boolean enabled,
+                                      @DefaultValue("65536") int partitionSize,
+                                      @DefaultValue("0") int threads,
+                                      @DefaultValue("10000") int fetchSize) {
+}
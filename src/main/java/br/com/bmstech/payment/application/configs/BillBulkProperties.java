@@ -0,0 +1,16 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the bulk pay and delete endpoints, bound from {@code api.bills.bulk}.
+ *
+ * @param chunkSize most ids bound to a single statement; longer lists run one statement per chunk, in the same
+ *                  transaction
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.bulk")
+public record BillBulkProperties(@DefaultValue("10000") int chunkSize) {
+}
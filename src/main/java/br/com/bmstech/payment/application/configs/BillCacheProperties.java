@@ -0,0 +1,29 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-process bill cache, bound from {@code api.bills.cache}.
+ *
+ * @param enabled     whether reads go through the cache at all
+ * @param byId        bills read by id
+ * @param filterPages pages of the due date and description filter
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.cache")
+public record BillCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Spec byId,
+        @DefaultValue Spec filterPages) {
+
+    /**
+     * @param maximumSize      entries kept before the least valuable ones are evicted
+     * @param expireAfterWrite bound on how long an entry lives, whatever invalidation missed
+     */
+    public record Spec(@DefaultValue("10000") long maximumSize, @DefaultValue("5m") Duration expireAfterWrite) {
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the in-memory index of the unpaid bills by due date behind the due-soon and overdue listings, bound
+ * from {@code api.bills.due-index}.
+ *
+ * @param enabled   keep the index and answer from it; otherwise the listings run in the database
+ * @param fetchSize rows read per round trip while the index is loaded
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.due-index")
+public record BillDueIndexProperties(@DefaultValue("false") boolean enabled,
+                                     @DefaultValue("10000") int fetchSize) {
+}
@@ -0,0 +1,15 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the bill export, bound from {@code api.bills.export}.
+ *
+ * @param fetchSize rows the JDBC driver fetches per round trip while the export streams
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.export")
+public record BillExportProperties(@DefaultValue("1000") int fetchSize) {
+}
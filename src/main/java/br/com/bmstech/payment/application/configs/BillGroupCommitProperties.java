@@ -0,0 +1,25 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the group commit of created bills, bound from {@code api.bills.group-commit}.
+ *
+ * @param enabled       queue the creations and insert them in batches instead of one transaction each
+ * @param maxBatchSize  bills inserted by one statement at most
+ * @param maxDelay      longest a creation waits for others to join its batch; bounds the latency it adds
+ * @param maxPending    creations queued at once before new ones are refused
+ * @param commitTimeout longest a creation waits for its batch to be committed
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.group-commit")
+public record BillGroupCommitProperties(@DefaultValue("false") boolean enabled,
+                                        @DefaultValue("256") int maxBatchSize,
+                                        @DefaultValue("2ms") Duration maxDelay,
+                                        @DefaultValue("10000") int maxPending,
+                                        @DefaultValue("10s") Duration commitTimeout) {
+}
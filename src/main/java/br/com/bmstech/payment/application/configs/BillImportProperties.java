@@ -0,0 +1,56 @@
+package br.com.bmstech.payment.application.configs;
+
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the bill import pipeline, bound from {@code api.bills.import}.
+ *
+ * @param chunkSize number of rows written and committed per transaction
+ * @param engine    engine used when the request does not choose one
+ * @param jobs      limits of the asynchronous import jobs
+ * @param parallel  settings of the multi-core parse stage
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.import")
+public record BillImportProperties(@DefaultValue("5000") int chunkSize,
+                                   @DefaultValue("JPA") ImportEngine engine,
+                                   @DefaultValue Jobs jobs,
+                                   @DefaultValue Parallel parallel) {
+
+    /**
+     * @param maxConcurrent jobs running at the same time
+     * @param queueCapacity jobs waiting for a free slot before new uploads are refused
+     */
+    public record Jobs(@DefaultValue("4") int maxConcurrent,
+                       @DefaultValue("32") int queueCapacity) {
+    }
+
+    /**
+     * @param enabled     parse on several cores when the request does not choose
+     * @param threads     parser threads shared by all imports; {@code 0} uses one per available processor
+     * @param rangeSize   approximate size of the byte range handed to each parse task
+     * @param maxInFlight ranges parsed or waiting to be written at once, per import
+     * @param ordered     write rows in file order when the request does not choose
+     */
+    public record Parallel(@DefaultValue("false") boolean enabled,
+                           @DefaultValue("0") int threads,
+                           @DefaultValue("8MB") DataSize rangeSize,
+                           @DefaultValue("0") int maxInFlight,
+                           @DefaultValue("true") boolean ordered) {
+
+        public int effectiveThreads() {
+            return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        }
+
+        /**
+         * Defaults to twice the parser threads, enough to keep them busy while the writer drains the queue.
+         */
+        public int effectiveMaxInFlight() {
+            return maxInFlight > 0 ? maxInFlight : 2 * effectiveThreads();
+        }
+    }
+}
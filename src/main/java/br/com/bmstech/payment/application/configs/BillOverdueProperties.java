@@ -0,0 +1,25 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Settings of the sweep that marks the unpaid bills past their due date as overdue, bound from
+ * {@code api.bills.overdue}.
+ *
+ * @param sweepCron      when the sweep runs; {@code -} disables it
+ * @param chunkSize      bills marked per statement, each chunk committed on its own
+ * @param pause          wait between two chunks, leaving the database to the requests
+ * @param lateFeePercent percentage of the amount added to a bill when it becomes overdue, {@code 0} for no fee
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.overdue")
+public record BillOverdueProperties(@DefaultValue("0 5 0 * * *") String sweepCron,
+                                    @DefaultValue("5000") int chunkSize,
+                                    @DefaultValue("100ms") Duration pause,
+                                    @DefaultValue("0") BigDecimal lateFeePercent) {
+}
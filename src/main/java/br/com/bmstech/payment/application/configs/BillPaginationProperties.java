@@ -0,0 +1,16 @@
+package br.com.bmstech.payment.application.configs;
+
+import br.com.bmstech.payment.domain.enums.CountStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the paged bill listings, bound from {@code api.bills.pagination}.
+ *
+ * @param countStrategy strategy used when the request does not choose one
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.pagination")
+public record BillPaginationProperties(@DefaultValue("EXACT") CountStrategy countStrategy) {
+}
@@ -0,0 +1,18 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the check of {@code payment.bill_daily_rollup} against the bills, bound from {@code api.bills.rollup}.
+ *
+ * @param verifyCron when the rollup is compared with the bills; {@code -} disables the check
+ * @param repair     whether rows found to have drifted are repaired right away; off by default, the drift is only
+ *                   reported through {@code bills.rollup.drift}
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.rollup")
+public record BillRollupProperties(@DefaultValue("0 30 3 * * *") String verifyCron,
+                                   @DefaultValue("false") boolean repair) {
+}
@@ -0,0 +1,15 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the bill description search, bound from {@code api.bills.search}.
+ *
+ * @param minLength shortest search term accepted; below three characters the trigram index cannot be used
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.bills.search")
+public record BillSearchProperties(@DefaultValue("3") int minLength) {
+}
@@ -0,0 +1,21 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits of the password verification pool, bound from {@code api.security.password-hashing}.
+ *
+ * @param threads       verifications running at once; {@code 0} uses one per available processor
+ * @param queueCapacity verifications waiting for a thread before new logins are refused
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.security.password-hashing")
+public record PasswordHashingProperties(@DefaultValue("0") int threads,
+                                        @DefaultValue("64") int queueCapacity) {
+
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
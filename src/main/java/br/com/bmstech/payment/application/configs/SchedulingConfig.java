@@ -0,0 +1,16 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled tasks and, with them, the {@link org.springframework.scheduling.TaskScheduler} configured by
+ * Spring Boot.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
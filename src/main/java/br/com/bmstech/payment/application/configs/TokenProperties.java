@@ -0,0 +1,49 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the JWT authentication, bound from {@code api.security.token}.
+ *
+ * @param secret              HMAC256 signing key
+ * @param principalFromClaims build the authenticated user from the token claims instead of looking it up by email;
+ *                            tokens issued without those claims are still looked up
+ * @param cache               verified tokens kept to skip verification and lookup on the next requests
+ * @param revocation          in-memory filter of the revoked tokens
+ * @param refreshTokenLifetime how long a refresh token can be exchanged for a new access token
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "api.security.token")
+public record TokenProperties(
+        String secret,
+        @DefaultValue("false") boolean principalFromClaims,
+        @DefaultValue Cache cache,
+        @DefaultValue Revocation revocation,
+        @DefaultValue("30d") Duration refreshTokenLifetime) {
+
+    /**
+     * @param maximumSize      tokens kept before the least valuable ones are evicted
+     * @param expireAfterWrite how long a verified token is trusted without being verified again, never past its
+     *                         expiration
+     */
+    public record Cache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10000") long maximumSize,
+            @DefaultValue("1m") Duration expireAfterWrite) {
+    }
+
+    /**
+     * @param expectedRevocations tokens expected to be revoked during one token lifetime
+     * @param falsePositiveRate   share of valid tokens that still need the exact lookup
+     * @param refreshInterval     how often revocations made by other instances are read
+     */
+    public record Revocation(
+            @DefaultValue("100000") long expectedRevocations,
+            @DefaultValue("0.01") double falsePositiveRate,
+            @DefaultValue("5s") Duration refreshInterval) {
+    }
+}
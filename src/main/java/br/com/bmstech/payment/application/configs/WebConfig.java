@@ -0,0 +1,22 @@
+package br.com.bmstech.payment.application.configs;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Request parameters are bound with the same lenient conversions as the configuration properties, so enum values
+ * such as {@code count=approximate} are accepted in any case.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+}
@@ -2,16 +2,23 @@ package br.com.bmstech.payment.application.controllers;
 
 import br.com.bmstech.payment.domain.dto.LoginRequestDTO;
 import br.com.bmstech.payment.domain.dto.LoginResponseDTO;
-import br.com.bmstech.payment.infra.security.TokenService;
+import br.com.bmstech.payment.domain.dto.RefreshTokenRequestDTO;
+import br.com.bmstech.payment.infra.security.PasswordVerifier;
+import br.com.bmstech.payment.infra.security.RefreshTokenService;
+import br.com.bmstech.payment.infra.security.TokenRevocationService;
 import br.com.bmstech.payment.domain.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author Angelo Brandão (angelobms@gmail.com)
  * @version 1.0
@@ -22,17 +29,43 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final TokenService tokenService;
+    private final PasswordVerifier passwordVerifier;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
+    /**
+     * The password is checked on {@link PasswordVerifier}'s pool: the request thread is released while it runs.
+     */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@RequestBody LoginRequestDTO loginRequestDTO) {
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@RequestBody LoginRequestDTO loginRequestDTO) {
         var user = this.userRepository.findByEmail(loginRequestDTO.email())
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        if (!passwordEncoder.matches(loginRequestDTO.password(), user.getPassword())) {
-            return ResponseEntity.badRequest().build();
+        return passwordVerifier.matches(loginRequestDTO.password(), user.getPassword())
+                .thenApply(matches -> matches
+                        ? ResponseEntity.ok(refreshTokenService.issue(user))
+                        : ResponseEntity.badRequest().build());
+    }
+
+    /**
+     * Exchanges a refresh token for new access and refresh tokens; the one sent can no longer be used.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        return ResponseEntity.ok(refreshTokenService.refresh(refreshTokenRequestDTO.refreshToken()));
+    }
+
+    /**
+     * Revokes the token of the request: it is refused from then on, although it has not expired. The refresh token
+     * sent in the body, if any, is revoked too.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        this.tokenRevocationService.revoke(authorization.substring("Bearer ".length()));
+        if (Objects.nonNull(refreshTokenRequestDTO)) {
+            this.refreshTokenService.revoke(refreshTokenRequestDTO.refreshToken());
         }
-        return ResponseEntity.ok(new LoginResponseDTO(user.getName(), this.tokenService.generateToken(user)));
+        return ResponseEntity.noContent().build();
     }
 
 }
@@ -1,25 +1,50 @@
 package br.com.bmstech.payment.application.controllers;
 
+import br.com.bmstech.payment.domain.dto.AgingBucketDTO;
+import br.com.bmstech.payment.domain.dto.AmountBucketDTO;
+import br.com.bmstech.payment.domain.dto.BillIdsDTO;
+import br.com.bmstech.payment.domain.dto.BillPatchDTO;
 import br.com.bmstech.payment.domain.dto.BillRequetDTO;
 import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.dto.BillTotalDTO;
+import br.com.bmstech.payment.domain.dto.BulkResultDTO;
+import br.com.bmstech.payment.domain.dto.CursorPageDTO;
+import br.com.bmstech.payment.domain.dto.ImportJobDTO;
+import br.com.bmstech.payment.domain.dto.ImportSummaryDTO;
+import br.com.bmstech.payment.domain.dto.MonthlyTotalDTO;
+import br.com.bmstech.payment.domain.dto.RollupDriftDTO;
 import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.CountStrategy;
+import br.com.bmstech.payment.domain.enums.ExportFormat;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -37,8 +62,14 @@ public interface BillController {
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = Bill.class)) }),
             @ApiResponse(responseCode = "404", description = "Bills not found", content = @Content) })
     @GetMapping
-    Page<BillResponseDTO> findAll(@RequestParam(defaultValue = "0") int page,
-                                  @RequestParam(defaultValue = "10") int size);
+    Slice<BillResponseDTO> findAll(@RequestParam(defaultValue = "0") int page,
+                                   @RequestParam(defaultValue = "10") int size,
+                                   @RequestParam(value = "count", required = false) CountStrategy countStrategy);
+
+    @Operation(summary = "Get all bills with keyset pagination, following the next cursor of each page")
+    @GetMapping("/cursor")
+    CursorPageDTO<BillResponseDTO> findAllByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                                   @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size);
 
     @Operation(summary = "Get a bill by its id")
     @ApiResponses(value = {
@@ -51,24 +82,154 @@ public interface BillController {
     BillResponseDTO findById(@PathVariable String id);
 
     @GetMapping("/filter")
-    Page<BillResponseDTO> findbyFilter(
+    Slice<BillResponseDTO> findbyFilter(
             @RequestParam(value = "data_vencimento", required = false) LocalDate dueDate,
             @RequestParam(value = "descricao", required = false) String description,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(value = "count", required = false) CountStrategy countStrategy);
+
+    @Operation(summary = "Filter bills with keyset pagination, following the next cursor of each page")
+    @GetMapping("/filter/cursor")
+    CursorPageDTO<BillResponseDTO> findByFilterAndCursor(
+            @RequestParam(value = "data_vencimento", required = false) LocalDate dueDate,
+            @RequestParam(value = "descricao", required = false) String description,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size);
+
+    @Operation(summary = "Search bills whose description contains the term, most similar first")
+    @GetMapping("/search")
+    Slice<BillResponseDTO> searchByDescription(@RequestParam(value = "descricao") String description,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "10") int size);
+
+    @Operation(summary = "Search bills by any combination of due date, payment date and amount ranges, situation and description")
+    @GetMapping("/query")
+    Slice<BillResponseDTO> findByCriteria(@ParameterObject BillSearchCriteria criteria,
+                                          @RequestParam(value = "sort", required = false) String sort,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "10") int size,
+                                          @RequestParam(value = "count", required = false) CountStrategy countStrategy);
+
+    @Operation(summary = "Number and sum of the bills per situation over a range of due dates, read from the daily rollup")
+    @GetMapping("/totals")
+    List<BillTotalDTO> totals(@RequestParam(value = "data_vencimento_de", required = false) LocalDate from,
+                              @RequestParam(value = "data_vencimento_ate", required = false) LocalDate to,
+                              @RequestParam(value = "situacao", required = false) Situation situation);
+
+    @Operation(summary = "Compare the daily rollup with the bills and list the rows that drifted")
+    @GetMapping("/totals/drift")
+    List<RollupDriftDTO> verifyTotals();
+
+    @Operation(summary = "Rewrite the daily rollup rows that drifted, returning them as they were")
+    @PostMapping("/totals/repair")
+    List<RollupDriftDTO> repairTotals();
+
+    @Operation(summary = "Unpaid bills matching the filter by days past the due date on a reference date, today by default")
+    @GetMapping("/analytics/aging")
+    List<AgingBucketDTO> aging(@ParameterObject BillSearchCriteria criteria,
+                               @RequestParam(value = "data_referencia", required = false) LocalDate referenceDate);
+
+    @Operation(summary = "Histogram of the amounts of the bills matching the filter, in buckets of equal width")
+    @GetMapping("/analytics/amounts")
+    List<AmountBucketDTO> amounts(@ParameterObject BillSearchCriteria criteria,
+                                  @RequestParam(value = "largura", defaultValue = "100.00") Money width,
+                                  @RequestParam(value = "faixas", defaultValue = "20") @Min(1) @Max(1000) int buckets);
+
+    @Operation(summary = "Number and sum of the bills matching the filter per month of the due date and situation")
+    @GetMapping("/analytics/months")
+    List<MonthlyTotalDTO> months(@ParameterObject BillSearchCriteria criteria);
+
+    @Operation(summary = "Unpaid bills due from today to a number of days from now, soonest first, with keyset pagination")
+    @GetMapping("/due-soon")
+    CursorPageDTO<BillResponseDTO> findDueSoon(@RequestParam(value = "dias", defaultValue = "7") @Min(0) @Max(3650) int days,
+                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                               @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size);
+
+    @Operation(summary = "Unpaid bills due before a reference date, today by default, oldest first, with keyset pagination")
+    @GetMapping("/overdue")
+    CursorPageDTO<BillResponseDTO> findOverdue(@RequestParam(value = "data_referencia", required = false) LocalDate referenceDate,
+                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                               @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size);
 
+    @Operation(summary = "Start marking the unpaid bills due before today as overdue in the background, unless a sweep is already running")
+    @PostMapping("/overdue/sweep")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    void sweepOverdue();
+
+    @Operation(summary = "Stream every bill matching the filter as CSV or NDJSON, gzip-compressed when the client accepts it")
+    @GetMapping("/export")
+    ResponseEntity<StreamingResponseBody> export(@ParameterObject BillSearchCriteria criteria,
+                                                 @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding);
+
+    @Operation(summary = "Replace a bill; with versao, only if the bill is still at that version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bill updated"),
+            @ApiResponse(responseCode = "404", description = "Bill not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Bill changed since that version", content = @Content) })
     @PutMapping("/{id}")
     BillResponseDTO update(@PathVariable String id, @RequestBody @Valid BillRequetDTO billRequetDTO);
 
+    @Operation(summary = "Update only the supplied fields of a bill; with versao, only if the bill is still at that version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bill updated"),
+            @ApiResponse(responseCode = "404", description = "Bill not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Bill changed since that version", content = @Content) })
+    @PatchMapping("/{id}")
+    BillResponseDTO patch(@PathVariable String id, @RequestBody BillPatchDTO billPatchDTO);
+
     @PutMapping("/{id}/pay")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     void payBill(@PathVariable String id);
 
+    @Operation(summary = "Pay the unpaid bills of a list of ids, optionally returning the outcome for each id")
+    @PutMapping("/pay")
+    BulkResultDTO payAll(@RequestBody @Valid BillIdsDTO billIdsDTO,
+                         @RequestParam(value = "details", defaultValue = "false") boolean details);
+
+    @Operation(summary = "Pay the unpaid bills matching the filter")
+    @PutMapping("/pay/filter")
+    BulkResultDTO payByCriteria(@ParameterObject BillSearchCriteria criteria);
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     void delete(@PathVariable String id) ;
 
+    @Operation(summary = "Delete the bills of a list of ids, optionally returning the outcome for each id")
+    @DeleteMapping
+    BulkResultDTO deleteAll(@RequestBody @Valid BillIdsDTO billIdsDTO,
+                            @RequestParam(value = "details", defaultValue = "false") boolean details);
+
+    @Operation(summary = "Delete the bills matching the filter")
+    @DeleteMapping("/filter")
+    BulkResultDTO deleteByCriteria(@ParameterObject BillSearchCriteria criteria);
+
     @PostMapping("/import")
     @ResponseStatus(HttpStatus.OK)
     List<BillResponseDTO> importBill(@RequestParam("file") MultipartFile file);
+
+    @Operation(summary = "Import bills from a CSV file in committed chunks, returning only a summary")
+    @PostMapping("/import/stream")
+    @ResponseStatus(HttpStatus.OK)
+    ImportSummaryDTO importBillStream(@RequestParam("file") MultipartFile file,
+                                      @RequestParam(value = "engine", required = false) ImportEngine engine,
+                                      @RequestParam(value = "parallel", required = false) Boolean parallel,
+                                      @RequestParam(value = "ordered", required = false) Boolean ordered);
+
+    @Operation(summary = "Start a background import job and return its id")
+    @PostMapping("/import/async")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    ImportJobDTO importBillAsync(@RequestParam("file") MultipartFile file,
+                                 @RequestParam(value = "engine", required = false) ImportEngine engine,
+                                 @RequestParam(value = "parallel", required = false) Boolean parallel,
+                                 @RequestParam(value = "ordered", required = false) Boolean ordered);
+
+    @Operation(summary = "Get the progress of an import job")
+    @GetMapping("/import/{jobId}")
+    ImportJobDTO findImportJob(@PathVariable String jobId);
+
+    @Operation(summary = "Cancel an import job after its current chunk")
+    @DeleteMapping("/import/{jobId}")
+    ImportJobDTO cancelImportJob(@PathVariable String jobId);
 }
@@ -1,25 +1,61 @@
 package br.com.bmstech.payment.application.controllers.impl;
 
 import br.com.bmstech.payment.application.controllers.BillController;
+import br.com.bmstech.payment.domain.dto.AgingBucketDTO;
+import br.com.bmstech.payment.domain.dto.AmountBucketDTO;
+import br.com.bmstech.payment.domain.dto.BillIdsDTO;
+import br.com.bmstech.payment.domain.dto.BillPatchDTO;
 import br.com.bmstech.payment.domain.dto.BillRequetDTO;
 import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.dto.BillTotalDTO;
+import br.com.bmstech.payment.domain.dto.BulkResultDTO;
+import br.com.bmstech.payment.domain.dto.CursorPageDTO;
+import br.com.bmstech.payment.domain.dto.ImportJobDTO;
+import br.com.bmstech.payment.domain.dto.ImportSummaryDTO;
+import br.com.bmstech.payment.domain.dto.MonthlyTotalDTO;
+import br.com.bmstech.payment.domain.dto.RollupDriftDTO;
 import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.CountStrategy;
+import br.com.bmstech.payment.domain.enums.ExportFormat;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.domain.enums.Situation;
 import br.com.bmstech.payment.domain.mappers.BillMapper;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.imports.ImportOptions;
+import br.com.bmstech.payment.infra.services.BillAnalyticsService;
+import br.com.bmstech.payment.infra.services.BillDueService;
+import br.com.bmstech.payment.infra.services.BillExportService;
+import br.com.bmstech.payment.infra.services.BillImportJobService;
+import br.com.bmstech.payment.infra.services.BillImportService;
+import br.com.bmstech.payment.infra.services.BillOverdueService;
+import br.com.bmstech.payment.infra.services.BillRollupService;
 import br.com.bmstech.payment.infra.services.BillService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author Angelo Brandão (angelobms@gmail.com)
@@ -30,32 +66,178 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BillControllerImpl implements BillController {
 
+    private static final int EXPORT_GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final BillService billService;
     private final BillMapper billMapper;
+    private final BillImportService billImportService;
+    private final BillImportJobService billImportJobService;
+    private final BillExportService billExportService;
+    private final BillRollupService billRollupService;
+    private final BillAnalyticsService billAnalyticsService;
+    private final BillDueService billDueService;
+    private final BillOverdueService billOverdueService;
 
     public BillResponseDTO save(@RequestBody @Valid BillRequetDTO billRequetDTO) {
         var bill = billMapper.mapDtoToEntity(billRequetDTO);
         return billMapper.mapEntityToDto(billService.create(bill));
     }
 
-    public Page<BillResponseDTO> findAll(@RequestParam(defaultValue = "0") int page,
-                                         @RequestParam(defaultValue = "10") int size) {
-        Page<Bill> bills = billService.findAll(page, size);
-        return bills.map(billMapper::mapEntityToDto);
+    public Slice<BillResponseDTO> findAll(@RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "10") int size,
+                                          @RequestParam(value = "count", required = false) CountStrategy countStrategy) {
+        return billService.findAllResponses(page, size, countStrategy);
+    }
+
+    public CursorPageDTO<BillResponseDTO> findAllByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                                          @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size) {
+        return billService.scroll(cursor, size).map(billMapper::mapEntityToDto);
     }
 
     public BillResponseDTO findById(@PathVariable String id) {
-        var bill = billService.findById(id);
-        return billMapper.mapEntityToDto(bill);
+        return billService.findResponseById(id);
     }
 
-    public Page<BillResponseDTO> findbyFilter(
+    public Slice<BillResponseDTO> findbyFilter(
             @RequestParam(value = "data_vencimento", required = false) LocalDate dueDate,
             @RequestParam(value = "descricao", required = false) String description,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Page<Bill> bills = billService.findByFilter(dueDate, description, page, size);
-        return bills.map(billMapper::mapEntityToDto);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(value = "count", required = false) CountStrategy countStrategy) {
+        return billService.findResponsesByFilter(dueDate, description, page, size, countStrategy);
+    }
+
+    public CursorPageDTO<BillResponseDTO> findByFilterAndCursor(
+            @RequestParam(value = "data_vencimento", required = false) LocalDate dueDate,
+            @RequestParam(value = "descricao", required = false) String description,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size) {
+        return billService.scrollByFilter(dueDate, description, cursor, size).map(billMapper::mapEntityToDto);
+    }
+
+    public Slice<BillResponseDTO> searchByDescription(@RequestParam(value = "descricao") String description,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "10") int size) {
+        return billService.searchByDescription(description, page, size).map(billMapper::mapEntityToDto);
+    }
+
+    public Slice<BillResponseDTO> findByCriteria(@ParameterObject BillSearchCriteria criteria,
+                                                 @RequestParam(value = "sort", required = false) String sort,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "10") int size,
+                                                 @RequestParam(value = "count", required = false) CountStrategy countStrategy) {
+        return billService.findByCriteria(criteria, sort, page, size, countStrategy).map(billMapper::mapEntityToDto);
+    }
+
+    public List<BillTotalDTO> totals(@RequestParam(value = "data_vencimento_de", required = false) LocalDate from,
+                                     @RequestParam(value = "data_vencimento_ate", required = false) LocalDate to,
+                                     @RequestParam(value = "situacao", required = false) Situation situation) {
+        return billService.findTotals(from, to, situation);
+    }
+
+    public List<RollupDriftDTO> verifyTotals() {
+        return billRollupService.verify();
+    }
+
+    public List<RollupDriftDTO> repairTotals() {
+        return billRollupService.repair();
+    }
+
+    public List<AgingBucketDTO> aging(@ParameterObject BillSearchCriteria criteria,
+                                      @RequestParam(value = "data_referencia", required = false) LocalDate referenceDate) {
+        return billAnalyticsService.aging(criteria, referenceDate);
+    }
+
+    public List<AmountBucketDTO> amounts(@ParameterObject BillSearchCriteria criteria,
+                                         @RequestParam(value = "largura", defaultValue = "100.00") Money width,
+                                         @RequestParam(value = "faixas", defaultValue = "20") @Min(1) @Max(1000) int buckets) {
+        return billAnalyticsService.amounts(criteria, width, buckets);
+    }
+
+    public List<MonthlyTotalDTO> months(@ParameterObject BillSearchCriteria criteria) {
+        return billAnalyticsService.months(criteria);
+    }
+
+    public CursorPageDTO<BillResponseDTO> findDueSoon(@RequestParam(value = "dias", defaultValue = "7") @Min(0) @Max(3650) int days,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size) {
+        return billDueService.findDueSoon(days, cursor, size);
+    }
+
+    public CursorPageDTO<BillResponseDTO> findOverdue(@RequestParam(value = "data_referencia", required = false) LocalDate referenceDate,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size) {
+        return billDueService.findOverdue(referenceDate, cursor, size);
+    }
+
+    public void sweepOverdue() {
+        billOverdueService.startSweep();
+    }
+
+    /**
+     * The body is written on the MVC async thread after this method returns; the export opens its own transaction
+     * there. The response is compressed here rather than by the container so it is streamed as it is written.
+     */
+    public ResponseEntity<StreamingResponseBody> export(@ParameterObject BillSearchCriteria criteria,
+                                                        @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+                                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        var gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = output -> {
+            if (!gzip) {
+                billExportService.export(criteria, format, output);
+                return;
+            }
+            var compressed = new GZIPOutputStream(output, EXPORT_GZIP_BUFFER_SIZE);
+            billExportService.export(criteria, format, compressed);
+            compressed.finish();
+        };
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("bills." + format.getExtension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip: its own q-value, or that of {@code *} when gzip is not listed,
+     * must be above zero. A coding listed without q has q=1.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        var gzip = -1.0;
+        var any = -1.0;
+        for (var coding : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+            var parameters = StringUtils.tokenizeToStringArray(coding, ";");
+            if (parameters.length == 0) {
+                continue;
+            }
+            if (parameters[0].equalsIgnoreCase("gzip") || parameters[0].equalsIgnoreCase("x-gzip")) {
+                gzip = Math.max(gzip, quality(parameters));
+            } else if (parameters[0].equals("*")) {
+                any = quality(parameters);
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    /**
+     * An unreadable q-value counts as 0, so the response is never compressed on a guess.
+     */
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            var parameter = parameters[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameter[1].trim());
+                } catch (NumberFormatException exception) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
     }
 
     public BillResponseDTO update(@PathVariable String id, @RequestBody @Valid BillRequetDTO billRequetDTO) {
@@ -63,16 +245,60 @@ public class BillControllerImpl implements BillController {
         return billMapper.mapEntityToDto(updatedBill);
     }
 
+    public BillResponseDTO patch(@PathVariable String id, @RequestBody BillPatchDTO billPatchDTO) {
+        return billMapper.mapEntityToDto(billService.patch(id, billPatchDTO));
+    }
+
     public void payBill(@PathVariable String id) {
         billService.payBill(id);
     }
 
+    public BulkResultDTO payAll(@RequestBody @Valid BillIdsDTO billIdsDTO,
+                                @RequestParam(value = "details", defaultValue = "false") boolean details) {
+        return billService.payAll(billIdsDTO.ids(), details);
+    }
+
+    public BulkResultDTO payByCriteria(@ParameterObject BillSearchCriteria criteria) {
+        return billService.payByCriteria(criteria);
+    }
+
     public void delete(@PathVariable String id) {
         billService.delete(id);
     }
 
+    public BulkResultDTO deleteAll(@RequestBody @Valid BillIdsDTO billIdsDTO,
+                                   @RequestParam(value = "details", defaultValue = "false") boolean details) {
+        return billService.deleteAll(billIdsDTO.ids(), details);
+    }
+
+    public BulkResultDTO deleteByCriteria(@ParameterObject BillSearchCriteria criteria) {
+        return billService.deleteByCriteria(criteria);
+    }
+
     public List<BillResponseDTO> importBill(@RequestParam("file") MultipartFile file) {
         List<Bill> bills = billService.importBills(file);
         return bills.stream().map(billMapper::mapEntityToDto).toList();
     }
+
+    public ImportSummaryDTO importBillStream(@RequestParam("file") MultipartFile file,
+                                             @RequestParam(value = "engine", required = false) ImportEngine engine,
+                                             @RequestParam(value = "parallel", required = false) Boolean parallel,
+                                             @RequestParam(value = "ordered", required = false) Boolean ordered) {
+        return billImportService.importBills(file, new ImportOptions(engine, parallel, ordered));
+    }
+
+    public ImportJobDTO importBillAsync(@RequestParam("file") MultipartFile file,
+                                        @RequestParam(value = "engine", required = false) ImportEngine engine,
+                                        @RequestParam(value = "parallel", required = false) Boolean parallel,
+                                        @RequestParam(value = "ordered", required = false) Boolean ordered) {
+        return ImportJobDTO.of(billImportJobService.submit(file, new ImportOptions(engine, parallel, ordered)));
+    }
+
+    public ImportJobDTO findImportJob(@PathVariable String jobId) {
+        return ImportJobDTO.of(billImportJobService.findById(jobId));
+    }
+
+    public ImportJobDTO cancelImportJob(@PathVariable String jobId) {
+        return ImportJobDTO.of(billImportJobService.cancel(jobId));
+    }
 }
@@ -3,6 +3,8 @@ package br.com.bmstech.payment.application.exceptions;
 import br.com.bmstech.payment.domain.exceptions.BusinessException;
 import br.com.bmstech.payment.domain.exceptions.EntityInUseException;
 import br.com.bmstech.payment.domain.exceptions.EntityNotFoundException;
+import br.com.bmstech.payment.domain.exceptions.TooManyRequestsException;
+import br.com.bmstech.payment.domain.exceptions.VersionConflictException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.fasterxml.jackson.databind.exc.PropertyBindingException;
@@ -11,6 +13,7 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.logging.log4j.util.Strings;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -40,6 +43,7 @@ import static br.com.bmstech.payment.application.exceptions.ProblemType.INVALID_
 import static br.com.bmstech.payment.application.exceptions.ProblemType.INVALID_PARAMETER;
 import static br.com.bmstech.payment.application.exceptions.ProblemType.RESOURCE_NOT_FOUND;
 import static br.com.bmstech.payment.application.exceptions.ProblemType.SYSTEM_ERROR;
+import static br.com.bmstech.payment.application.exceptions.ProblemType.VERSION_CONFLICT;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
@@ -163,6 +167,19 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return handleExceptionInternal(ex, problem, new HttpHeaders(), status, request);
     }
 
+    @ExceptionHandler({ VersionConflictException.class, OptimisticLockingFailureException.class })
+    public ResponseEntity<Object> handleVersionConflictException(RuntimeException ex, WebRequest request) {
+        var status = CONFLICT;
+        var detail = ex instanceof VersionConflictException
+                ? ex.getMessage()
+                : "The resource was changed by another request. Read it again and retry the change.";
+        var problem = createProblemBuilder(status, VERSION_CONFLICT, detail)
+                .userMessage(detail)
+                .build();
+
+        return handleExceptionInternal(ex, problem, new HttpHeaders(), status, request);
+    }
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<Object> handleBusinessException(BusinessException ex, WebRequest request) {
         var status = BAD_REQUEST;
@@ -173,6 +190,16 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return handleExceptionInternal(ex, problem, new HttpHeaders(), status, request);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Object> handleTooManyRequestsException(TooManyRequestsException ex, WebRequest request) {
+        var status = HttpStatus.TOO_MANY_REQUESTS;
+        var detail = ex.getMessage();
+        var problem = createProblemBuilder(status, ProblemType.TOO_MANY_REQUESTS, detail)
+                .userMessage(detail).build();
+
+        return handleExceptionInternal(ex, problem, new HttpHeaders(), status, request);
+    }
+
     protected ResponseEntity<Object> handleNoHandlerFoundException(NoHandlerFoundException ex, HttpHeaders headers,
                                                                    HttpStatus status, WebRequest request) {
 
@@ -15,7 +15,9 @@ public enum ProblemType {
     RESOURCE_NOT_FOUND("Resource not found", "/resource-not-found"),
     ENTITY_IN_USE("Entity in use", "/entity-in-use"),
     ERROR_BUSINESS("Violation of business rule", "/erro-business"),
-    INVALID_DATA("Invalid data", "/invalid-data");
+    INVALID_DATA("Invalid data", "/invalid-data"),
+    TOO_MANY_REQUESTS("Too many requests", "/too-many-requests"),
+    VERSION_CONFLICT("Version conflict", "/version-conflict");
 
     private final String title;
     private final String uri;
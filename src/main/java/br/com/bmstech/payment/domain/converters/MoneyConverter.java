@@ -0,0 +1,25 @@
+package br.com.bmstech.payment.domain.converters;
+
+import br.com.bmstech.payment.domain.values.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link Money} as its number of cents.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Money money) {
+        return money != null ? money.cents() : null;
+    }
+
+    @Override
+    public Money convertToEntityAttribute(Long cents) {
+        return cents != null ? Money.ofCents(cents) : null;
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.bmstech.payment.domain.converters;
+
+import br.com.bmstech.payment.domain.enums.Situation;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link Situation} as its {@code SMALLINT} code.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Converter
+public class SituationConverter implements AttributeConverter<Situation, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Situation situation) {
+        return situation != null ? situation.getCode() : null;
+    }
+
+    @Override
+    public Situation convertToEntityAttribute(Short code) {
+        return code != null ? Situation.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.bmstech.payment.domain.dto;
+
+import br.com.bmstech.payment.domain.values.Money;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Bills not yet paid whose days past the due date fall in a range. The first bucket holds the bills not due yet,
+ * the last one has no upper bound.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record AgingBucketDTO(
+        @JsonProperty("dias_atraso_de") Integer daysOverdueFrom,
+        @JsonProperty("dias_atraso_ate") Integer daysOverdueTo,
+        @JsonProperty("quantidade") long count,
+        @JsonProperty("valor") Money amount
+) {
+
+    /**
+     * Upper bound, inclusive, of every bucket but the last.
+     */
+    private static final int[] LIMITS = {0, 30, 60, 90};
+
+    public static final int BUCKETS = LIMITS.length + 1;
+
+    /**
+     * Most days overdue of a bucket that is not the last.
+     */
+    public static int limit(int bucket) {
+        return LIMITS[bucket];
+    }
+
+    public static int bucketOf(long daysOverdue) {
+        var bucket = 0;
+        while (bucket < LIMITS.length && daysOverdue > LIMITS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    public static AgingBucketDTO of(int bucket, long count, long amountCents) {
+        return new AgingBucketDTO(bucket == 0 ? null : LIMITS[bucket - 1] + 1,
+                bucket < LIMITS.length ? LIMITS[bucket] : null, count, Money.ofCents(amountCents));
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.bmstech.payment.domain.dto;
+
+import br.com.bmstech.payment.domain.values.Money;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Bills whose amount falls in {@code [valor_de, valor_ate)}. The last bucket has no upper bound and the first one
+ * also holds the amounts below zero.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record AmountBucketDTO(
+        @JsonProperty("valor_de") Money from,
+        @JsonProperty("valor_ate") Money to,
+        @JsonProperty("quantidade") long count,
+        @JsonProperty("valor") Money amount
+) {
+
+    public static int bucketOf(long cents, long widthCents, int buckets) {
+        return (int) Math.min(Math.max(cents, 0) / widthCents, buckets - 1);
+    }
+
+    public static AmountBucketDTO of(int bucket, long widthCents, int buckets, long count, long amountCents) {
+        return new AmountBucketDTO(Money.ofCents(bucket * widthCents),
+                bucket < buckets - 1 ? Money.ofCents((bucket + 1) * widthCents) : null, count, Money.ofCents(amountCents));
+    }
+}
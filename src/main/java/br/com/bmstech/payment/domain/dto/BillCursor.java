@@ -0,0 +1,43 @@
+package br.com.bmstech.payment.domain.dto;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last bill of a page in the {@code (due_date, id)} order. Clients only see it as an opaque token.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record BillCursor(LocalDate dueDate, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static BillCursor of(Bill bill) {
+        return new BillCursor(bill.getDueDate(), bill.getId());
+    }
+
+    /**
+     * @throws BusinessException when the token was not produced by {@link #encode()}
+     */
+    public static BillCursor decode(String token) {
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = value.indexOf(SEPARATOR);
+            return new BillCursor(LocalDate.parse(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException exception) {
+            throw new BusinessException("The cursor is invalid.");
+        }
+    }
+
+    public String encode() {
+        var value = dueDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.bmstech.payment.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record BillIdsDTO(
+        @NotEmpty(message = "Ids cannot be empty")
+        @JsonProperty("ids")
+        List<@NotNull(message = "Id cannot be null") UUID> ids
+) { }
@@ -0,0 +1,78 @@
+package br.com.bmstech.payment.domain.dto;
+
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+import br.com.bmstech.payment.domain.values.Money;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of {@code PATCH /bills/{id}}: only the properties present in the JSON are changed. A property sent as
+ * {@code null} is cleared, which only the payment date allows. When {@code versao} is sent, the change only applies
+ * to that version of the bill.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public class BillPatchDTO {
+
+    private final Map<String, Object> changes = new LinkedHashMap<>();
+    private final List<String> nulls = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @JsonProperty("versao")
+    private Long version;
+
+    @JsonProperty("data_pagamento")
+    public void setPaymentDate(LocalDate paymentDate) {
+        changes.put("paymentDate", paymentDate);
+    }
+
+    @JsonProperty("data_vencimento")
+    public void setDueDate(LocalDate dueDate) {
+        put("dueDate", "data_vencimento", dueDate);
+    }
+
+    @JsonProperty("valor")
+    public void setAmount(Money amount) {
+        put("amount", "valor", amount);
+    }
+
+    @JsonProperty("descricao")
+    public void setDescription(String description) {
+        put("description", "descricao", description);
+    }
+
+    @JsonProperty("situacao")
+    public void setSituation(Situation situation) {
+        put("situation", "situacao", situation);
+    }
+
+    /**
+     * The supplied values keyed by {@link br.com.bmstech.payment.domain.entity.Bill} attribute.
+     *
+     * @throws BusinessException when a property that cannot be cleared was sent as {@code null}
+     */
+    public Map<String, Object> changes() {
+        if (!nulls.isEmpty()) {
+            throw new BusinessException(String.format("The properties %s cannot be null.", nulls));
+        }
+        return Collections.unmodifiableMap(changes);
+    }
+
+    private void put(String attribute, String property, Object value) {
+        if (value == null) {
+            nulls.add(property);
+        }
+        changes.put(attribute, value);
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.bmstech.payment.domain.dto;
 
 import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonValue;
 import jakarta.validation.constraints.NotBlank;
@@ -10,7 +11,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -32,7 +32,7 @@ public class BillRequetDTO {
 
     @NotNull(message = "Amount cannot be null")
     @JsonProperty("valor")
-    private BigDecimal amount;
+    private Money amount;
 
     @NotBlank(message = "Description cannot be null")
     @JsonProperty("descricao")
@@ -41,4 +41,7 @@ public class BillRequetDTO {
     @NotNull(message = "Situation cannot be null")
     @JsonProperty("situacao")
     private Situation situation;
+
+    @JsonProperty("versao")
+    private Long version;
 }
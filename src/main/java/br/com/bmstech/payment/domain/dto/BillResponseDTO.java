@@ -1,12 +1,12 @@
 package br.com.bmstech.payment.domain.dto;
 
 import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -20,7 +20,8 @@ public record BillResponseDTO(
         UUID id,
         @JsonProperty("data_pagamento") LocalDate paymentDate,
         @JsonProperty("data_vencimento") LocalDate dueDate,
-        @JsonProperty("valor") BigDecimal amount,
+        @JsonProperty("valor") Money amount,
         @JsonProperty("descricao") String description,
-        @JsonProperty("situacao") Situation situation
+        @JsonProperty("situacao") Situation situation,
+        @JsonProperty("versao") Long version
 ) { }
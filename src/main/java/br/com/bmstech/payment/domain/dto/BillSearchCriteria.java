@@ -0,0 +1,34 @@
+package br.com.bmstech.payment.domain.dto;
+
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.bind.annotation.BindParam;
+
+import java.time.LocalDate;
+
+/**
+ * Criteria of the bill search. Every one is optional and ranges are inclusive; an empty criteria matches all bills.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record BillSearchCriteria(
+        @BindParam("data_vencimento_de") LocalDate dueDateFrom,
+        @BindParam("data_vencimento_ate") LocalDate dueDateTo,
+        @BindParam("data_pagamento_de") LocalDate paymentDateFrom,
+        @BindParam("data_pagamento_ate") LocalDate paymentDateTo,
+        @BindParam("valor_min") Money amountMin,
+        @BindParam("valor_max") Money amountMax,
+        @BindParam("situacao") Situation situation,
+        @BindParam("descricao") String description
+) {
+
+    /**
+     * Whether no criterion was supplied.
+     */
+    public boolean isEmpty() {
+        return dueDateFrom == null && dueDateTo == null && paymentDateFrom == null && paymentDateTo == null
+                && amountMin == null && amountMax == null && situation == null && StringUtils.isBlank(description);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.bmstech.payment.domain.dto;
+
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Number and sum of the bills in one situation over a period of due dates.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record BillTotalDTO(
+        @JsonProperty("situacao") Situation situation,
+        @JsonProperty("quantidade") long count,
+        @JsonProperty("valor") Money amount
+) { }
@@ -0,0 +1,25 @@
+package br.com.bmstech.payment.domain.dto;
+
+import br.com.bmstech.payment.domain.enums.BulkOutcome;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a bulk mutation: the number of bills changed and, when requested, the outcome for each id.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@JsonInclude(Include.NON_NULL)
+public record BulkResultDTO(long affected, List<Outcome> outcomes) {
+
+    public static BulkResultDTO of(long affected) {
+        return new BulkResultDTO(affected, null);
+    }
+
+    public record Outcome(UUID id, BulkOutcome outcome) {
+    }
+}
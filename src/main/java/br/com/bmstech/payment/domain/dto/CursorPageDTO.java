@@ -0,0 +1,21 @@
+package br.com.bmstech.payment.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset pagination. {@code next} is the cursor of the following page and is absent on the last one.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@JsonInclude(Include.NON_NULL)
+public record CursorPageDTO<T>(List<T> content, String next) {
+
+    public <R> CursorPageDTO<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPageDTO<>(content.stream().<R>map(mapper).toList(), next);
+    }
+}
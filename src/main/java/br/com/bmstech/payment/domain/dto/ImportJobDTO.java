@@ -0,0 +1,52 @@
+package br.com.bmstech.payment.domain.dto;
+
+import br.com.bmstech.payment.domain.entity.ImportJob;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.domain.enums.ImportJobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@JsonInclude(Include.NON_NULL)
+public record ImportJobDTO(
+        UUID id,
+        String fileName,
+        ImportEngine engine,
+        ImportJobStatus status,
+        long rowsAccepted,
+        long rowsRejected,
+        double rowsPerSecond,
+        double progress,
+        Long etaSeconds,
+        String error,
+        OffsetDateTime createdAt,
+        OffsetDateTime startedAt,
+        OffsetDateTime finishedAt
+) {
+
+    /**
+     * Progress and ETA are estimated from the bytes of the upload consumed so far.
+     */
+    public static ImportJobDTO of(ImportJob job) {
+        var progress = job.getTotalBytes() > 0 ? Math.min(1d, (double) job.getProcessedBytes() / job.getTotalBytes()) : 0d;
+        if (job.getStatus() == ImportJobStatus.COMPLETED) {
+            progress = 1d;
+        }
+        Long etaSeconds = null;
+        if (job.getStatus() == ImportJobStatus.RUNNING && Objects.nonNull(job.getStartedAt()) && progress > 0) {
+            var elapsed = Duration.between(job.getStartedAt(), OffsetDateTime.now()).toMillis();
+            etaSeconds = Math.round(elapsed * (1 - progress) / progress / 1000);
+        }
+        return new ImportJobDTO(job.getId(), job.getFileName(), job.getEngine(), job.getStatus(),
+                job.getRowsAccepted(), job.getRowsRejected(), job.getRowsPerSecond(), progress, etaSeconds,
+                job.getError(), job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt());
+    }
+}
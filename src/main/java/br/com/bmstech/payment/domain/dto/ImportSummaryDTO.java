@@ -0,0 +1,16 @@
+package br.com.bmstech.payment.domain.dto;
+
+import java.time.Duration;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record ImportSummaryDTO(long accepted, long rejected, long elapsedMillis, double rowsPerSecond) {
+
+    public static ImportSummaryDTO of(long accepted, long rejected, Duration elapsed) {
+        var seconds = elapsed.toNanos() / 1_000_000_000d;
+        var rowsPerSecond = seconds > 0 ? (accepted + rejected) / seconds : 0d;
+        return new ImportSummaryDTO(accepted, rejected, elapsed.toMillis(), rowsPerSecond);
+    }
+}
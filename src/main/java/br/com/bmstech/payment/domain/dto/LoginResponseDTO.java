@@ -4,5 +4,5 @@ package br.com.bmstech.payment.domain.dto;
  * @author Angelo Brandão (angelobms@gmail.com)
  * @version 1.0
  */
-public record LoginResponseDTO(String name, String token) {
+public record LoginResponseDTO(String name, String token, String refreshToken) {
 }
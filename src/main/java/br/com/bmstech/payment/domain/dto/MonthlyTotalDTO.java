@@ -0,0 +1,20 @@
+package br.com.bmstech.payment.domain.dto;
+
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.YearMonth;
+
+/**
+ * Number and sum of the bills in one situation due in one month.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record MonthlyTotalDTO(
+        @JsonProperty("mes") YearMonth month,
+        @JsonProperty("situacao") Situation situation,
+        @JsonProperty("quantidade") long count,
+        @JsonProperty("valor") Money amount
+) { }
@@ -0,0 +1,23 @@
+package br.com.bmstech.payment.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of an overdue sweep. A sweep that found another one running, on this node or another, does nothing.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record OverdueSweepDTO(
+        @JsonProperty("data_referencia") LocalDate referenceDate,
+        @JsonProperty("executada") boolean ran,
+        @JsonProperty("quantidade") long marked,
+        @JsonProperty("lotes") long chunks
+) {
+
+    public static OverdueSweepDTO skipped(LocalDate referenceDate) {
+        return new OverdueSweepDTO(referenceDate, false, 0, 0);
+    }
+}
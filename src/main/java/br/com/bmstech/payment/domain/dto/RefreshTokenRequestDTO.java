@@ -0,0 +1,8 @@
+package br.com.bmstech.payment.domain.dto;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record RefreshTokenRequestDTO(String refreshToken) {
+}
@@ -0,0 +1,22 @@
+package br.com.bmstech.payment.domain.dto;
+
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+/**
+ * A day and situation whose rollup row disagrees with the bills themselves.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record RollupDriftDTO(
+        @JsonProperty("dia") LocalDate day,
+        @JsonProperty("situacao") Situation situation,
+        @JsonProperty("quantidade_registrada") long rollupCount,
+        @JsonProperty("quantidade_real") long actualCount,
+        @JsonProperty("valor_registrado") Money rollupAmount,
+        @JsonProperty("valor_real") Money actualAmount
+) { }
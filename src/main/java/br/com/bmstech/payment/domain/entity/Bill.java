@@ -1,15 +1,18 @@
 package br.com.bmstech.payment.domain.entity;
 
+import br.com.bmstech.payment.domain.converters.MoneyConverter;
+import br.com.bmstech.payment.domain.converters.SituationConverter;
 import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.ids.GeneratedUuidV7;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -18,7 +21,6 @@ import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -37,18 +39,25 @@ import java.util.UUID;
 public class Bill {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     private LocalDate paymentDate;
     private LocalDate dueDate;
-    private BigDecimal amount;
+    @Column(name = "amount_cents")
+    @Convert(converter = MoneyConverter.class)
+    private Money amount;
+
     private String description;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = SituationConverter.class)
     private Situation situation;
 
+    @Version
+    private Long version;
+
     public void pay() {
         setSituation(Situation.PAID);
+        setPaymentDate(LocalDate.now());
     }
 }
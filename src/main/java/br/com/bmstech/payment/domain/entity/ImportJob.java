@@ -0,0 +1,55 @@
+package br.com.bmstech.payment.domain.entity;
+
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.domain.enums.ImportJobStatus;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Entity
+@Table(name = "import_jobs", schema = "payment")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportJob {
+
+    @Id
+    private UUID id;
+
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    private ImportEngine engine;
+
+    private Boolean parallel;
+    private Boolean ordered;
+
+    @Enumerated(EnumType.STRING)
+    private ImportJobStatus status;
+
+    private long totalBytes;
+    private long processedBytes;
+    private long rowsAccepted;
+    private long rowsRejected;
+    private double rowsPerSecond;
+    private String error;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+}
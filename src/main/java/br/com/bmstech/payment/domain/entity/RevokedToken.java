@@ -0,0 +1,36 @@
+package br.com.bmstech.payment.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A token that can no longer be used, identified by its {@code jti} claim. The row is only needed until the token
+ * expires.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Entity
+@Table(name = "revoked_tokens", schema = "payment")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    private UUID jti;
+
+    private OffsetDateTime expiresAt;
+    private OffsetDateTime revokedAt;
+}
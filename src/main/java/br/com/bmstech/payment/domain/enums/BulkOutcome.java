@@ -0,0 +1,15 @@
+package br.com.bmstech.payment.domain.enums;
+
+/**
+ * What a bulk mutation did to each of the bills it was given.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public enum BulkOutcome {
+
+    PAID,
+    ALREADY_PAID,
+    DELETED,
+    NOT_FOUND
+}
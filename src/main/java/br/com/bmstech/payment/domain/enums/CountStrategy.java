@@ -0,0 +1,19 @@
+package br.com.bmstech.payment.domain.enums;
+
+/**
+ * How the total of a paged listing is obtained.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public enum CountStrategy {
+
+    /** {@code SELECT count(*)} of the query, as precise as it is expensive on large tables. */
+    EXACT,
+
+    /** Row estimate of the PostgreSQL planner, read from the statistics without scanning the table. */
+    APPROXIMATE,
+
+    /** No total at all: the page only tells whether there is a next one. */
+    NONE
+}
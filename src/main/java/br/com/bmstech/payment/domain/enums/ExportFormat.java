@@ -0,0 +1,27 @@
+package br.com.bmstech.payment.domain.enums;
+
+import lombok.Getter;
+
+/**
+ * Formats of the bill export.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Getter
+public enum ExportFormat {
+
+    /** Same layout the import endpoints read, with a header line. */
+    CSV("text/csv", "csv"),
+
+    /** One bill per line, as returned by the other endpoints. */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+}
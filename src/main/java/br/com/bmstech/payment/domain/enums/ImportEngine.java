@@ -0,0 +1,16 @@
+package br.com.bmstech.payment.domain.enums;
+
+/**
+ * Ingestion engines available to the import endpoints.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public enum ImportEngine {
+
+    /** Batched Hibernate inserts, portable across databases. */
+    JPA,
+
+    /** PostgreSQL {@code COPY ... FROM STDIN} through a staging table. */
+    COPY
+}
@@ -12,8 +12,26 @@ import lombok.Getter;
 @AllArgsConstructor
 public enum Situation {
 
-    @JsonProperty("PAGO") PAID("Pago"),
-    @JsonProperty("NAO_PAGO") UNPAID("Não pago");
+    @JsonProperty("PAGO") PAID("Pago", (short) 1),
+    @JsonProperty("NAO_PAGO") UNPAID("Não pago", (short) 2),
+    /**
+     * Unpaid past its due date. Set by the overdue sweep; pays like {@link #UNPAID}.
+     */
+    @JsonProperty("VENCIDO") OVERDUE("Vencido", (short) 3);
 
     private final String description;
+
+    /**
+     * Value stored in {@code payment.bills.situation}. Codes are never reused or renumbered.
+     */
+    private final short code;
+
+    public static Situation fromCode(short code) {
+        for (Situation situation : values()) {
+            if (situation.code == code) {
+                return situation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown situation code: " + code);
+    }
 }
@@ -0,0 +1,40 @@
+package br.com.bmstech.payment.domain.events;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published after bills are created, changed or deleted, so that what was derived from them can be refreshed.
+ * Listeners act after the transaction commits.
+ *
+ * @param ids       bills whose content changed
+ * @param dueDates  due dates whose set of bills changed: a bill was created or deleted there, or moved from or to it
+ * @param all       the affected bills are not known, everything has to be refreshed
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record BillsChangedEvent(Set<UUID> ids, Set<LocalDate> dueDates, boolean all) {
+
+    public static BillsChangedEvent of(UUID id, LocalDate... dueDates) {
+        return new BillsChangedEvent(Set.of(id), Set.copyOf(List.of(dueDates)), false);
+    }
+
+    public static BillsChangedEvent of(Collection<UUID> ids, Collection<LocalDate> dueDates) {
+        return new BillsChangedEvent(Set.copyOf(ids), Set.copyOf(dueDates), false);
+    }
+
+    public static BillsChangedEvent ofIds(Collection<UUID> ids) {
+        return new BillsChangedEvent(Set.copyOf(ids), Set.of(), false);
+    }
+
+    public static BillsChangedEvent ofDueDates(Collection<LocalDate> dueDates) {
+        return new BillsChangedEvent(Set.of(), Set.copyOf(dueDates), false);
+    }
+
+    public static BillsChangedEvent everything() {
+        return new BillsChangedEvent(Set.of(), Set.of(), true);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.bmstech.payment.domain.exceptions;
+
+import java.util.UUID;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public class BillAlreadyPaidException extends BusinessException {
+
+    private static final String BILL_ALREADY_PAID_MSG = "The bill with the code %s has already been paid.";
+
+    public BillAlreadyPaidException(String message) {
+        super(message);
+    }
+
+    public BillAlreadyPaidException(UUID billId) {
+        this(String.format(BILL_ALREADY_PAID_MSG, billId));
+    }
+}
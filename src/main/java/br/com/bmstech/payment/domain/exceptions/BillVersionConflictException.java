@@ -0,0 +1,21 @@
+package br.com.bmstech.payment.domain.exceptions;
+
+import java.util.UUID;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public class BillVersionConflictException extends VersionConflictException {
+
+    private static final String BILL_VERSION_CONFLICT_MSG =
+            "The bill with the code %s is no longer at version %d. Read it again and retry the change.";
+
+    public BillVersionConflictException(String message) {
+        super(message);
+    }
+
+    public BillVersionConflictException(UUID billId, Long version) {
+        this(String.format(BILL_VERSION_CONFLICT_MSG, billId, version));
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.bmstech.payment.domain.exceptions;
+
+import java.util.UUID;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public class ImportJobNotFoundException extends EntityNotFoundException {
+
+    private static final String IMPORT_JOB_NOT_FOUND_MSG = "There is no import job register with the code %s.";
+
+    public ImportJobNotFoundException(UUID jobId) {
+        super(String.format(IMPORT_JOB_NOT_FOUND_MSG, jobId));
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.bmstech.payment.domain.exceptions;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public class TooManyRequestsException extends BusinessException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,21 @@
 package br.com.bmstech.payment.domain.repositories;
 
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
 import br.com.bmstech.payment.domain.entity.Bill;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -14,6 +23,136 @@ import java.util.UUID;
  * @version 1.0
  */
 @Repository
-public interface BillRepository extends JpaRepository<Bill, UUID> {
-    Page<Bill> findByDueDateEqualsAndDescriptionContainsIgnoreCase(LocalDate dueDate, String description, Pageable pageable);
+public interface BillRepository extends JpaRepository<Bill, UUID>, JpaSpecificationExecutor<Bill>, BillRepositoryCustom {
+
+    /**
+     * Select clause of the read-only listings: the columns go straight into {@link BillResponseDTO} through a
+     * constructor expression, so no {@link Bill} is instantiated, registered in the persistence context or
+     * snapshotted for dirty checking, and there is nothing left to map.
+     */
+    String SELECT_RESPONSE = """
+            select new br.com.bmstech.payment.domain.dto.BillResponseDTO(
+            b.id, b.paymentDate, b.dueDate, b.amount, b.description, b.situation, b.version)
+            """;
+
+    @ReadOnlyQuery
+    @Query(value = SELECT_RESPONSE + "from Bill b", countQuery = "select count(b) from Bill b")
+    Page<BillResponseDTO> findResponses(Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "from Bill b")
+    Slice<BillResponseDTO> findResponseSlice(Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "from Bill b where b.id = :id")
+    Optional<BillResponseDTO> findResponseById(@Param("id") UUID id);
+
+    @ReadOnlyQuery
+    @Query(value = SELECT_RESPONSE + """
+            from Bill b
+            where b.dueDate = :dueDate and b.description ilike :pattern escape '\\'
+            """, countQuery = """
+            select count(b) from Bill b
+            where b.dueDate = :dueDate and b.description ilike :pattern escape '\\'
+            """)
+    Page<BillResponseDTO> findResponsesByFilter(@Param("dueDate") LocalDate dueDate, @Param("pattern") String pattern,
+                                                Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + """
+            from Bill b
+            where b.dueDate = :dueDate and b.description ilike :pattern escape '\\'
+            """)
+    Slice<BillResponseDTO> findResponseSliceByFilter(@Param("dueDate") LocalDate dueDate, @Param("pattern") String pattern,
+                                                     Pageable pageable);
+
+    /**
+     * {@code pattern} is a LIKE pattern escaped with {@code \}. The description is compared with {@code ilike} on
+     * the bare column, which PostgreSQL serves from {@code idx_bills_description_trgm}; a {@code lower()} or
+     * {@code upper()} around the column would rule the index out.
+     */
+    @Query("""
+            select b from Bill b
+            where b.dueDate = :dueDate and b.description ilike :pattern escape '\\'
+            """)
+    Page<Bill> findByFilter(@Param("dueDate") LocalDate dueDate, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Same queries as the paged ones without the {@code count(*)}: one row more than the page is read to tell
+     * whether there is a next one.
+     */
+    Slice<Bill> findSliceBy(Pageable pageable);
+
+    @Query("""
+            select b from Bill b
+            where b.dueDate = :dueDate and b.description ilike :pattern escape '\\'
+            """)
+    Slice<Bill> findSliceByFilter(@Param("dueDate") LocalDate dueDate, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Substring search ranked by trigram similarity to the term. PostgreSQL with {@code pg_trgm} only.
+     */
+    @Query(value = """
+            SELECT * FROM payment.bills
+            WHERE description ILIKE :pattern
+            ORDER BY public.similarity(description, :term) DESC, id
+            """, nativeQuery = true)
+    Slice<Bill> searchByDescription(@Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Portable fallback of {@link #searchByDescription} for databases without {@code pg_trgm}, such as H2: same
+     * matches, ordered by description.
+     */
+    @Query("""
+            select b from Bill b
+            where b.description ilike :pattern escape '\\'
+            order by b.description, b.id
+            """)
+    Slice<Bill> searchByDescriptionLike(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Seek method: pages are read in {@code (due_date, id)} order starting right after the last row of the previous
+     * page, so each one is a range scan on {@code idx_bills_due_date_id} instead of an OFFSET that reads and
+     * discards every row before it.
+     */
+    @Query("select b from Bill b order by b.dueDate, b.id")
+    List<Bill> findFirstPage(Limit limit);
+
+    @Query("""
+            select b from Bill b
+            where (b.dueDate, b.id) > (:dueDate, :id)
+            order by b.dueDate, b.id
+            """)
+    List<Bill> findPageAfter(@Param("dueDate") LocalDate dueDate, @Param("id") UUID id, Limit limit);
+
+    @Query("""
+            select b from Bill b
+            where b.dueDate = :dueDate and b.description ilike :pattern escape '\\'
+            order by b.dueDate, b.id
+            """)
+    List<Bill> findFirstPageByFilter(@Param("dueDate") LocalDate dueDate, @Param("pattern") String pattern, Limit limit);
+
+    @Query("""
+            select b from Bill b
+            where b.dueDate = :dueDate and b.description ilike :pattern escape '\\'
+            and (b.dueDate, b.id) > (:afterDueDate, :afterId)
+            order by b.dueDate, b.id
+            """)
+    List<Bill> findPageAfterByFilter(@Param("dueDate") LocalDate dueDate, @Param("pattern") String pattern,
+                                     @Param("afterDueDate") LocalDate afterDueDate, @Param("afterId") UUID afterId,
+                                     Limit limit);
+
+    /**
+     * Pays the bill in one conditional statement: only a bill not paid yet, overdue, unpaid or without a situation,
+     * matches, so of two concurrent payments the second one updates nothing. Returns {@code 0} when the bill does not exist or was
+     * already paid.
+     */
+    @Modifying
+    @Query("""
+            update Bill b set b.situation = br.com.bmstech.payment.domain.enums.Situation.PAID,
+            b.paymentDate = :paymentDate, b.version = b.version + 1
+            where b.id = :id
+            and (b.situation <> br.com.bmstech.payment.domain.enums.Situation.PAID or b.situation is null)
+            """)
+    int pay(@Param("id") UUID id, @Param("paymentDate") LocalDate paymentDate);
 }
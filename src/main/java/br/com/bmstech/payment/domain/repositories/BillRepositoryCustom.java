@@ -0,0 +1,146 @@
+package br.com.bmstech.payment.domain.repositories;
+
+import br.com.bmstech.payment.domain.dto.BillCursor;
+import br.com.bmstech.payment.domain.dto.BillTotalDTO;
+import br.com.bmstech.payment.domain.dto.RollupDriftDTO;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.Situation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Queries of {@link BillRepository} that Spring Data cannot derive.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillRepositoryCustom {
+
+    /**
+     * Number of bills according to the table statistics, empty when the table was never analyzed.
+     */
+    OptionalLong estimateCount();
+
+    /**
+     * Number of bills the planner expects the filter to return, empty when no estimate is available.
+     */
+    OptionalLong estimateCountByFilter(LocalDate dueDate, String pattern);
+
+    /**
+     * Whether the database has {@code pg_trgm}, which {@link BillRepository#searchByDescription} needs.
+     */
+    boolean supportsTrigramSearch();
+
+    /**
+     * Counterpart of {@code findAll(Specification, Pageable)} without the {@code count(*)}: one row more than the
+     * page is read to tell whether there is a next one.
+     */
+    Slice<Bill> findSlice(Specification<Bill> specification, Pageable pageable);
+
+    /**
+     * Bills matching the specification in {@code (due_date, id)} order, read through a cursor {@code fetchSize} rows
+     * at a time. Each bill is detached before it is handed over, so the persistence context does not grow while the
+     * stream is consumed. Must be called in a transaction and closed after use.
+     */
+    Stream<Bill> streamMatching(Specification<Bill> specification, int fetchSize);
+
+    /**
+     * Sets the given attributes and increments the version in a single {@code UPDATE ... RETURNING}, without loading
+     * the bill first. With a {@code version}, only that version of the bill is updated.
+     *
+     * @param changes new values keyed by {@link Bill} attribute: {@code paymentDate}, {@code dueDate}, {@code amount},
+     *                {@code description} or {@code situation}
+     * @return the updated bill, empty when there is no bill with that id and version
+     */
+    Optional<UpdatedBill> updateReturning(UUID id, Long version, Map<String, Object> changes);
+
+    /**
+     * Pays the unpaid bills among {@code ids} with a single {@code UPDATE ... WHERE id = ANY(?)}. The ids are bound
+     * as one array parameter, so the statement text is the same whatever the number of ids.
+     *
+     * @return number of bills paid
+     */
+    int payAll(List<UUID> ids, LocalDate paymentDate);
+
+    /**
+     * {@link #payAll} returning the ids of the bills it paid.
+     */
+    List<UUID> payAllReturningIds(List<UUID> ids, LocalDate paymentDate);
+
+    /**
+     * Pays the unpaid bills matching the specification with a single {@code UPDATE}.
+     *
+     * @return number of bills paid
+     */
+    int payMatching(Specification<Bill> specification, LocalDate paymentDate);
+
+    /**
+     * Deletes the bills among {@code ids} with a single {@code DELETE ... WHERE id = ANY(?) RETURNING}.
+     *
+     * @return the due date of each bill deleted, by id
+     */
+    Map<UUID, LocalDate> deleteByIds(List<UUID> ids);
+
+    /**
+     * The ids among {@code ids} that belong to a bill.
+     */
+    List<UUID> findExistingIds(List<UUID> ids);
+
+    /**
+     * Totals per situation of the bills due between {@code from} and {@code to} (both inclusive and optional), read
+     * from {@code payment.bill_daily_rollup}: one row per day and situation, whatever the number of bills.
+     *
+     * @param situation only this situation, or all when {@code null}
+     */
+    List<BillTotalDTO> sumDailyRollup(LocalDate from, LocalDate to, Situation situation);
+
+    /**
+     * Rollup rows that differ from an aggregate of the bills, read in a single snapshot. Scans every bill.
+     */
+    List<RollupDriftDTO> findRollupDrift();
+
+    /**
+     * Brings the rollup rows of {@code days} that drifted back to the aggregate of the bills. Only the bills of those
+     * days are read, and writes on the bills are not blocked: the correction is added as a delta in the same snapshot
+     * it is computed in, so a concurrent write is neither counted twice nor missed.
+     *
+     * @return the rows that were corrected, with their values before the repair
+     */
+    List<RollupDriftDTO> repairRollup(Collection<LocalDate> days);
+
+    /**
+     * Marks as overdue, with a single {@code UPDATE}, the first {@code limit} unpaid bills due before
+     * {@code dueBefore} that come after {@code after} in {@code (due_date, id)} order, and adds the late fee to
+     * their amount. Bills locked by another transaction, such as one paying them, are skipped and left to a later
+     * sweep instead of holding up the chunk.
+     *
+     * @param after          last bill of the previous chunk, {@code null} for the first one
+     * @param lateFeePercent percentage of the amount added to it, rounded to the cent; {@code 0} for none
+     * @return the ids of the bills marked and where the chunk ended, empty when no unpaid bill was left to mark
+     */
+    Optional<OverdueChunk> markOverdue(LocalDate dueBefore, BillCursor after, int limit, BigDecimal lateFeePercent);
+
+    /**
+     * A bill as written by {@link #updateReturning}, with the due date it had before.
+     */
+    record UpdatedBill(Bill bill, LocalDate previousDueDate) {
+    }
+
+    /**
+     * A chunk written by {@link #markOverdue}: the bills marked, and the last bill the chunk reached, marked or
+     * skipped.
+     */
+    record OverdueChunk(List<UUID> marked, BillCursor last) {
+    }
+}
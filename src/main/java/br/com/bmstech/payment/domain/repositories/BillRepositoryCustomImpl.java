@@ -0,0 +1,420 @@
+package br.com.bmstech.payment.domain.repositories;
+
+import br.com.bmstech.payment.domain.dto.BillCursor;
+import br.com.bmstech.payment.domain.dto.BillTotalDTO;
+import br.com.bmstech.payment.domain.dto.RollupDriftDTO;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Estimates come from the PostgreSQL statistics, so they cost a catalog lookup or a planning round instead of a
+ * scan. On other databases, or when the statistics are missing, no estimate is returned.
+ * <p>
+ * Bulk mutations by id bind the ids as a single {@code uuid[]}. Payments only return the ids ({@code RETURNING id})
+ * when the caller needs to know which rows were touched; deletes always return id and due date, which is what the
+ * bill cache needs to invalidate. Every update increments the version of the rows it changes.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@RequiredArgsConstructor
+public class BillRepositoryCustomImpl implements BillRepositoryCustom {
+
+    private static final String ESTIMATE_COUNT =
+            "SELECT reltuples::bigint FROM pg_class WHERE oid = 'payment.bills'::regclass";
+
+    private static final String EXPLAIN_FILTER = """
+            EXPLAIN (FORMAT JSON) SELECT 1 FROM payment.bills
+            WHERE due_date = ? AND description ILIKE ?
+            """;
+
+    private static final String TRIGRAM_INSTALLED = "SELECT count(*) FROM pg_extension WHERE extname = 'pg_trgm'";
+
+    private static final List<Column> UPDATABLE_COLUMNS = List.of(
+            new Column("paymentDate", "payment_date"),
+            new Column("dueDate", "due_date"),
+            new Column("amount", "amount_cents"),
+            new Column("description", "description"),
+            new Column("situation", "situation"));
+
+    private static final String RETURNING_UPDATED_BILL = """
+            RETURNING b.id, b.payment_date, b.due_date, b.amount_cents, b.description, b.situation, b.version,
+            previous.due_date AS previous_due_date
+            """;
+
+    private static final RowMapper<Bill> BILL_ROW_MAPPER = (resultSet, row) -> Bill.builder()
+            .id(resultSet.getObject("id", UUID.class))
+            .paymentDate(resultSet.getObject("payment_date", LocalDate.class))
+            .dueDate(resultSet.getObject("due_date", LocalDate.class))
+            .amount(Money.ofCents(resultSet.getLong("amount_cents")))
+            .description(resultSet.getString("description"))
+            .situation(situation(resultSet.getShort("situation"), resultSet.wasNull()))
+            .version(resultSet.getLong("version"))
+            .build();
+
+    private static final String PAY_BY_IDS = """
+            UPDATE payment.bills SET situation = ?, payment_date = ?, version = version + 1
+            WHERE id = ANY(?) AND situation IS DISTINCT FROM ?
+            """;
+
+    private static final String DELETE_BY_IDS = """
+            DELETE FROM payment.bills
+            WHERE id = ANY(?)
+            """;
+
+    private static final String FIND_EXISTING_IDS = """
+            SELECT id FROM payment.bills
+            WHERE id = ANY(?)
+            """;
+
+    private static final String RETURNING_ID = "RETURNING id";
+
+    /**
+     * {@code %1$s} and {@code %2$s} restrict the rollup rows and the bills to some days, or are blank for all.
+     */
+    private static final String ROLLUP_DRIFT = """
+            SELECT coalesce(r.day, b.day) AS day, coalesce(r.situation, b.situation) AS situation,
+            coalesce(r.bill_count, 0) AS rollup_count, coalesce(b.bill_count, 0) AS actual_count,
+            coalesce(r.amount_cents, 0) AS rollup_amount_cents, coalesce(b.amount_cents, 0) AS actual_amount_cents
+            FROM (SELECT * FROM payment.bill_daily_rollup%1$s) r
+            FULL JOIN (SELECT due_date AS day, situation, count(*) AS bill_count, sum(amount_cents) AS amount_cents
+                       FROM payment.bills WHERE situation IS NOT NULL%2$s GROUP BY due_date, situation) b
+            ON b.day = r.day AND b.situation = r.situation
+            WHERE coalesce(r.bill_count, 0) <> coalesce(b.bill_count, 0)
+            OR coalesce(r.amount_cents, 0) <> coalesce(b.amount_cents, 0)
+            """;
+
+    /**
+     * The drift of the days is read and corrected in one statement, so in one snapshot, and the correction is added
+     * as a delta, the way the triggers apply changes. A write committed after the snapshot, or still holding a rollup
+     * row, is neither counted twice nor lost, so the bills need no lock: the upserts only wait for the writers holding
+     * the rollup rows they change, in the key order the triggers use.
+     */
+    private static final String REPAIR_ROLLUP = """
+            WITH drift AS (%s), repaired AS (
+                INSERT INTO payment.bill_daily_rollup AS r (day, situation, bill_count, amount_cents)
+                SELECT day, situation, actual_count - rollup_count, actual_amount_cents - rollup_amount_cents
+                FROM drift
+                ORDER BY day, situation
+                ON CONFLICT (day, situation) DO UPDATE
+                SET bill_count = r.bill_count + EXCLUDED.bill_count, amount_cents = r.amount_cents + EXCLUDED.amount_cents
+            )
+            SELECT * FROM drift ORDER BY 1, 2
+            """.formatted(ROLLUP_DRIFT.formatted(" WHERE day = ANY(?)", " AND due_date = ANY(?)"));
+
+    /**
+     * The chunk is materialized once and read twice: by the update, and for its last position, which is where the
+     * next chunk starts even when some of its bills were skipped. The situations are written into the statement so
+     * the chunk is a range scan on {@code idx_bills_unpaid_due_date_id}.
+     */
+    private static final String MARK_OVERDUE = """
+            WITH chunk AS (
+                SELECT id, due_date FROM payment.bills
+                WHERE situation = %1$d AND due_date < ?%3$s
+                ORDER BY due_date, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), marked AS (
+                UPDATE payment.bills b
+                SET situation = %2$d, amount_cents = b.amount_cents + round(b.amount_cents * ? / 100), version = b.version + 1
+                FROM chunk
+                WHERE b.id = chunk.id
+                RETURNING b.id, b.due_date
+            )
+            SELECT id, due_date, true FROM marked
+            UNION ALL
+            (SELECT id, due_date, false FROM chunk ORDER BY due_date DESC, id DESC LIMIT 1)
+            """;
+
+    private static final String AFTER_CURSOR = " AND (due_date, id) > (?, ?)";
+
+    private static final RowMapper<RollupDriftDTO> DRIFT_ROW_MAPPER = (resultSet, row) -> new RollupDriftDTO(
+            resultSet.getObject("day", LocalDate.class),
+            Situation.fromCode(resultSet.getShort("situation")),
+            resultSet.getLong("rollup_count"),
+            resultSet.getLong("actual_count"),
+            Money.ofCents(resultSet.getLong("rollup_amount_cents")),
+            Money.ofCents(resultSet.getLong("actual_amount_cents")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    private volatile Boolean trigramSearch;
+
+    @Override
+    public OptionalLong estimateCount() {
+        try {
+            var estimate = jdbcTemplate.queryForObject(ESTIMATE_COUNT, Long.class);
+            return estimate != null && estimate >= 0 ? OptionalLong.of(estimate) : OptionalLong.empty();
+        } catch (DataAccessException exception) {
+            return OptionalLong.empty();
+        }
+    }
+
+    @Override
+    public OptionalLong estimateCountByFilter(LocalDate dueDate, String pattern) {
+        try {
+            var plan = jdbcTemplate.queryForObject(EXPLAIN_FILTER, String.class, dueDate, pattern);
+            var rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? OptionalLong.of(rows.asLong()) : OptionalLong.empty();
+        } catch (DataAccessException | JsonProcessingException exception) {
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Checked once; the query fails on databases without {@code pg_extension}, which also means no trigram search.
+     */
+    @Override
+    public boolean supportsTrigramSearch() {
+        if (trigramSearch == null) {
+            try {
+                var installed = jdbcTemplate.queryForObject(TRIGRAM_INSTALLED, Long.class);
+                trigramSearch = installed != null && installed > 0;
+            } catch (DataAccessException exception) {
+                trigramSearch = false;
+            }
+        }
+        return trigramSearch;
+    }
+
+    @Override
+    public Slice<Bill> findSlice(Specification<Bill> specification, Pageable pageable) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(Bill.class);
+        var root = query.from(Bill.class);
+        var predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        var content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        var hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Stream<Bill> streamMatching(Specification<Bill> specification, int fetchSize) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(Bill.class);
+        var root = query.from(Bill.class);
+        var predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(builder.asc(root.get("dueDate")), builder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(bill -> {
+                    entityManager.detach(bill);
+                    return bill;
+                });
+    }
+
+    /**
+     * The columns are always set in the same order, so each combination of attributes has a single statement text.
+     * The previous due date comes from a locking read of the same row in the same statement.
+     */
+    @Override
+    public Optional<UpdatedBill> updateReturning(UUID id, Long version, Map<String, Object> changes) {
+        var sql = new StringBuilder("""
+                WITH previous AS (SELECT id, due_date FROM payment.bills WHERE id = ? FOR UPDATE)
+                UPDATE payment.bills b SET\s""");
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(id);
+        for (var column : UPDATABLE_COLUMNS) {
+            if (changes.containsKey(column.attribute())) {
+                var value = changes.get(column.attribute());
+                sql.append(column.name()).append(" = ?, ");
+                arguments.add(columnValue(value));
+            }
+        }
+        if (arguments.size() != changes.size() + 1) {
+            throw new IllegalArgumentException("Bill attributes that cannot be updated: " + changes.keySet());
+        }
+        sql.append("version = b.version + 1 FROM previous WHERE b.id = previous.id");
+        if (version != null) {
+            sql.append(" AND b.version = ?");
+            arguments.add(version);
+        }
+        sql.append('\n').append(RETURNING_UPDATED_BILL);
+        return jdbcTemplate.query(sql.toString(),
+                (resultSet, row) -> new UpdatedBill(BILL_ROW_MAPPER.mapRow(resultSet, row),
+                        resultSet.getObject("previous_due_date", LocalDate.class)),
+                arguments.toArray()).stream().findFirst();
+    }
+
+    @Override
+    public int payAll(List<UUID> ids, LocalDate paymentDate) {
+        return jdbcTemplate.update(PAY_BY_IDS, statement -> setPayByIds(statement, ids, paymentDate));
+    }
+
+    @Override
+    public List<UUID> payAllReturningIds(List<UUID> ids, LocalDate paymentDate) {
+        return jdbcTemplate.query(PAY_BY_IDS + RETURNING_ID, statement -> setPayByIds(statement, ids, paymentDate),
+                (resultSet, row) -> resultSet.getObject(1, UUID.class));
+    }
+
+    /**
+     * Bypasses the persistence context like any bulk update: the service running it loads no bill beforehand.
+     */
+    @Override
+    public int payMatching(Specification<Bill> specification, LocalDate paymentDate) {
+        var builder = entityManager.getCriteriaBuilder();
+        var update = builder.createCriteriaUpdate(Bill.class);
+        var root = update.from(Bill.class);
+        update.set(root.<Situation>get("situation"), Situation.PAID);
+        update.set(root.<LocalDate>get("paymentDate"), paymentDate);
+        update.set(root.<Long>get("version"), builder.sum(root.get("version"), 1L));
+        var unpaid = specification.and(BillSpecifications.notPaid());
+        update.where(unpaid.toPredicate(root, null, builder));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public Map<UUID, LocalDate> deleteByIds(List<UUID> ids) {
+        Map<UUID, LocalDate> deleted = new LinkedHashMap<>();
+        jdbcTemplate.query(DELETE_BY_IDS + "RETURNING id, due_date", statement -> statement.setArray(1, uuidArray(statement, ids)),
+                resultSet -> {
+                    deleted.put(resultSet.getObject(1, UUID.class), resultSet.getObject(2, LocalDate.class));
+                });
+        return deleted;
+    }
+
+    @Override
+    public List<UUID> findExistingIds(List<UUID> ids) {
+        return jdbcTemplate.query(FIND_EXISTING_IDS, statement -> statement.setArray(1, uuidArray(statement, ids)),
+                (resultSet, row) -> resultSet.getObject(1, UUID.class));
+    }
+
+    /**
+     * The conditions are only added for the bounds that are set, so the day range can use the primary key.
+     */
+    @Override
+    public List<BillTotalDTO> sumDailyRollup(LocalDate from, LocalDate to, Situation situation) {
+        var sql = new StringBuilder("SELECT situation, sum(bill_count), sum(amount_cents) FROM payment.bill_daily_rollup WHERE true");
+        List<Object> arguments = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND day >= ?");
+            arguments.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND day <= ?");
+            arguments.add(to);
+        }
+        if (situation != null) {
+            sql.append(" AND situation = ?");
+            arguments.add(situation.getCode());
+        }
+        sql.append(" GROUP BY situation HAVING sum(bill_count) <> 0 ORDER BY situation");
+        return jdbcTemplate.query(sql.toString(), (resultSet, row) -> new BillTotalDTO(
+                Situation.fromCode(resultSet.getShort(1)), resultSet.getLong(2), Money.ofCents(resultSet.getLong(3))),
+                arguments.toArray());
+    }
+
+    @Override
+    public List<RollupDriftDTO> findRollupDrift() {
+        return jdbcTemplate.query(ROLLUP_DRIFT.formatted("", "") + " ORDER BY 1, 2", DRIFT_ROW_MAPPER);
+    }
+
+    @Override
+    public List<RollupDriftDTO> repairRollup(Collection<LocalDate> days) {
+        return jdbcTemplate.query(REPAIR_ROLLUP, statement -> {
+            var array = statement.getConnection().createArrayOf("date", days.toArray());
+            statement.setArray(1, array);
+            statement.setArray(2, array);
+        }, DRIFT_ROW_MAPPER);
+    }
+
+    @Override
+    public Optional<OverdueChunk> markOverdue(LocalDate dueBefore, BillCursor after, int limit, BigDecimal lateFeePercent) {
+        var sql = MARK_OVERDUE.formatted(Situation.UNPAID.getCode(), Situation.OVERDUE.getCode(),
+                after != null ? AFTER_CURSOR : "");
+        List<Object> arguments = new ArrayList<>(List.of(dueBefore));
+        if (after != null) {
+            arguments.add(after.dueDate());
+            arguments.add(after.id());
+        }
+        arguments.add(limit);
+        arguments.add(lateFeePercent);
+        List<UUID> marked = new ArrayList<>();
+        List<BillCursor> last = new ArrayList<>(1);
+        jdbcTemplate.query(sql, resultSet -> {
+            var id = resultSet.getObject(1, UUID.class);
+            if (resultSet.getBoolean(3)) {
+                marked.add(id);
+            } else {
+                last.add(new BillCursor(resultSet.getObject(2, LocalDate.class), id));
+            }
+        }, arguments.toArray());
+        return last.isEmpty() ? Optional.empty() : Optional.of(new OverdueChunk(marked, last.get(0)));
+    }
+
+    private static void setPayByIds(PreparedStatement statement, List<UUID> ids, LocalDate paymentDate) throws SQLException {
+        statement.setShort(1, Situation.PAID.getCode());
+        statement.setObject(2, paymentDate);
+        statement.setArray(3, uuidArray(statement, ids));
+        statement.setShort(4, Situation.PAID.getCode());
+    }
+
+    /**
+     * Value bound for an attribute in native SQL, in the representation the entity converters store.
+     */
+    private static Object columnValue(Object value) {
+        if (value instanceof Money money) {
+            return money.cents();
+        }
+        if (value instanceof Situation situation) {
+            return situation.getCode();
+        }
+        return value;
+    }
+
+    private static Situation situation(short code, boolean isNull) {
+        return isNull ? null : Situation.fromCode(code);
+    }
+
+    private static Array uuidArray(PreparedStatement statement, List<UUID> ids) throws SQLException {
+        return statement.getConnection().createArrayOf("uuid", ids.toArray());
+    }
+
+    private record Column(String attribute, String name) {
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.bmstech.payment.domain.repositories;
+
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.Situation;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Predicates of the bill search. A criterion that was not supplied yields no predicate at all, instead of a
+ * comparison with {@code null}, so each combination of criteria becomes its own query shape that the planner can
+ * match to the right index: {@code idx_bills_due_date_id}, {@code idx_bills_payment_date}, {@code idx_bills_amount},
+ * {@code idx_bills_situation_due_date} and {@code idx_bills_description_trgm}.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public final class BillSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private BillSpecifications() {
+    }
+
+    public static Specification<Bill> matching(BillSearchCriteria criteria) {
+        return Specification.allOf(
+                between("dueDate", criteria.dueDateFrom(), criteria.dueDateTo()),
+                between("paymentDate", criteria.paymentDateFrom(), criteria.paymentDateTo()),
+                between("amount", criteria.amountMin(), criteria.amountMax()),
+                situation(criteria.situation()),
+                descriptionContains(criteria.description()));
+    }
+
+    public static <T extends Comparable<? super T>> Specification<Bill> between(String attribute, T from, T to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, builder) -> {
+            if (from == null) {
+                return builder.lessThanOrEqualTo(root.get(attribute), to);
+            }
+            if (to == null) {
+                return builder.greaterThanOrEqualTo(root.get(attribute), from);
+            }
+            return builder.between(root.get(attribute), from, to);
+        };
+    }
+
+    public static Specification<Bill> situation(Situation situation) {
+        if (situation == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.equal(root.get("situation"), situation);
+    }
+
+    /**
+     * Bills that can still be paid: unpaid, overdue or without a situation.
+     */
+    public static Specification<Bill> notPaid() {
+        return (root, query, builder) -> builder.or(
+                builder.notEqual(root.get("situation"), Situation.PAID), builder.isNull(root.get("situation")));
+    }
+
+    /**
+     * {@code ilike} on the bare column, which the trigram index serves; blank terms are ignored.
+     */
+    public static Specification<Bill> descriptionContains(String term) {
+        if (StringUtils.isBlank(term)) {
+            return null;
+        }
+        var pattern = containsPattern(term.trim());
+        return (root, query, builder) -> ((HibernateCriteriaBuilder) builder).ilike(root.get("description"), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * LIKE pattern matching the term anywhere, with its own wildcards escaped.
+     */
+    public static String containsPattern(String term) {
+        if (term == null) {
+            return null;
+        }
+        return "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
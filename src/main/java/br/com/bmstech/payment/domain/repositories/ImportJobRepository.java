@@ -0,0 +1,69 @@
+package br.com.bmstech.payment.domain.repositories;
+
+import br.com.bmstech.payment.domain.entity.ImportJob;
+import br.com.bmstech.payment.domain.enums.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress is written with conditional updates: a job that was cancelled in the meantime no longer matches and
+ * the returned row count tells the worker to stop.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+
+    List<ImportJob> findByStatusInOrderByCreatedAt(Collection<ImportJobStatus> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update ImportJob j set j.status = br.com.bmstech.payment.domain.enums.ImportJobStatus.RUNNING,
+            j.startedAt = :startedAt
+            where j.id = :id and j.status = br.com.bmstech.payment.domain.enums.ImportJobStatus.QUEUED
+            """)
+    int start(@Param("id") UUID id, @Param("startedAt") OffsetDateTime startedAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update ImportJob j set j.processedBytes = :processedBytes, j.rowsAccepted = :rowsAccepted,
+            j.rowsRejected = :rowsRejected, j.rowsPerSecond = :rowsPerSecond
+            where j.id = :id and j.status = br.com.bmstech.payment.domain.enums.ImportJobStatus.RUNNING
+            """)
+    int updateProgress(@Param("id") UUID id, @Param("processedBytes") long processedBytes,
+                       @Param("rowsAccepted") long rowsAccepted, @Param("rowsRejected") long rowsRejected,
+                       @Param("rowsPerSecond") double rowsPerSecond);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update ImportJob j set j.processedBytes = :processedBytes, j.rowsAccepted = :rowsAccepted,
+            j.rowsRejected = :rowsRejected, j.rowsPerSecond = :rowsPerSecond
+            where j.id = :id
+            """)
+    int updateTotals(@Param("id") UUID id, @Param("processedBytes") long processedBytes,
+                     @Param("rowsAccepted") long rowsAccepted, @Param("rowsRejected") long rowsRejected,
+                     @Param("rowsPerSecond") double rowsPerSecond);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update ImportJob j set j.status = :status, j.error = :error, j.finishedAt = :finishedAt
+            where j.id = :id and j.status in (br.com.bmstech.payment.domain.enums.ImportJobStatus.QUEUED,
+            br.com.bmstech.payment.domain.enums.ImportJobStatus.RUNNING)
+            """)
+    int finish(@Param("id") UUID id, @Param("status") ImportJobStatus status, @Param("error") String error,
+               @Param("finishedAt") OffsetDateTime finishedAt);
+}
@@ -0,0 +1,58 @@
+package br.com.bmstech.payment.domain.repositories;
+
+import br.com.bmstech.payment.domain.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The id queries only return tokens expiring within the given bounds: the in-memory filter holds the access tokens,
+ * which all expire within one token lifetime, and not the longer-lived refresh tokens.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    @Query("""
+            select r.jti from RevokedToken r
+            where r.expiresAt > :now and r.expiresAt <= :until
+            """)
+    List<UUID> findJtisExpiringBetween(@Param("now") OffsetDateTime now, @Param("until") OffsetDateTime until);
+
+    @Query("""
+            select r.jti from RevokedToken r
+            where r.revokedAt > :since and r.expiresAt > :now and r.expiresAt <= :until
+            """)
+    List<UUID> findJtisRevokedSince(@Param("since") OffsetDateTime since, @Param("now") OffsetDateTime now,
+                                    @Param("until") OffsetDateTime until);
+
+    /**
+     * @return {@code 1} when the token was revoked by this call, {@code 0} when it already was
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO payment.revoked_tokens (jti, expires_at, revoked_at)
+            VALUES (:jti, :expiresAt, :revokedAt)
+            ON CONFLICT (jti) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("jti") UUID jti, @Param("expiresAt") OffsetDateTime expiresAt,
+                       @Param("revokedAt") OffsetDateTime revokedAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            delete from RevokedToken r
+            where r.expiresAt <= :now
+            """)
+    int deleteExpired(@Param("now") OffsetDateTime now);
+}
@@ -0,0 +1,165 @@
+package br.com.bmstech.payment.domain.values;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * An amount of money as a whole number of cents, the way {@code payment.bills.amount_cents} stores it. Plain
+ * decimals ({@code 284.25}) are parsed and printed straight from and to characters, without a {@link BigDecimal};
+ * only other notations ({@code 2.8425E2}) go through one. Amounts with more than two significant decimal places are
+ * rejected rather than rounded.
+ * <p>
+ * In JSON an amount is a number, as before: {@code "valor": 284.25}.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Schema(type = "number", example = "284.25")
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public record Money(long cents) implements Comparable<Money> {
+
+    private static final int SCALE = 2;
+    private static final long MAX_UNITS = (Long.MAX_VALUE - 99) / 100;
+
+    public static Money ofCents(long cents) {
+        return new Money(cents);
+    }
+
+    /**
+     * Also used by Spring to bind request parameters.
+     *
+     * @throws NumberFormatException when the text is not an amount with at most two decimal places
+     */
+    public static Money valueOf(String text) {
+        return parse(text.toCharArray(), 0, text.length());
+    }
+
+    /**
+     * Parses the characters between {@code start} (inclusive) and {@code end} (exclusive).
+     *
+     * @throws NumberFormatException when they are not an amount with at most two decimal places
+     */
+    public static Money parse(char[] chars, int start, int end) {
+        var i = start;
+        var negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long units = 0;
+        long fraction = 0;
+        int decimals = -1;
+        int digits = 0;
+        for (; i < end; i++) {
+            var c = chars[i];
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (decimals < 0) {
+                    if (units >= MAX_UNITS / 10 && units > (MAX_UNITS - (c - '0')) / 10) {
+                        throw new NumberFormatException("Amount out of range");
+                    }
+                    units = units * 10 + (c - '0');
+                } else if (++decimals <= SCALE) {
+                    fraction = fraction * 10 + (c - '0');
+                } else if (c != '0') {
+                    return parseOther(chars, start, end);
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                return parseOther(chars, start, end);
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Invalid amount");
+        }
+        for (int scale = Math.max(decimals, 0); scale < SCALE; scale++) {
+            fraction *= 10;
+        }
+        var cents = units * 100 + fraction;
+        return new Money(negative ? -cents : cents);
+    }
+
+    private static Money parseOther(char[] chars, int start, int end) {
+        try {
+            return new Money(new BigDecimal(chars, start, end - start).movePointRight(SCALE).longValueExact());
+        } catch (ArithmeticException exception) {
+            throw new NumberFormatException("Amounts have at most two decimal places");
+        }
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    /**
+     * Plain decimal with two places, {@code 284.25} or {@code -0.05}.
+     */
+    @Override
+    public String toString() {
+        if (cents == Long.MIN_VALUE) {
+            return toBigDecimal().toPlainString();
+        }
+        var chars = new char[22];
+        var position = chars.length;
+        var remaining = Math.abs(cents);
+        for (int i = 0; i < SCALE; i++) {
+            chars[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        chars[--position] = '.';
+        do {
+            chars[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        if (cents < 0) {
+            chars[--position] = '-';
+        }
+        return new String(chars, position, chars.length - position);
+    }
+
+    public static class Serializer extends JsonSerializer<Money> {
+
+        @Override
+        public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.toString());
+        }
+    }
+
+    /**
+     * Reads the number from the parser's own character buffer, so no {@link BigDecimal} or {@code double} is made.
+     */
+    public static class Deserializer extends JsonDeserializer<Money> {
+
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            var token = parser.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_STRING) {
+                return (Money) context.handleUnexpectedToken(Money.class, parser);
+            }
+            var offset = parser.getTextOffset();
+            try {
+                return parse(parser.getTextCharacters(), offset, offset + parser.getTextLength());
+            } catch (NumberFormatException exception) {
+                throw context.weirdStringException(parser.getText(), Money.class, exception.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.bmstech.payment.infra.analytics;
+
+import br.com.bmstech.payment.domain.dto.AgingBucketDTO;
+import br.com.bmstech.payment.domain.dto.AmountBucketDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.dto.MonthlyTotalDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregations of the bills for the dashboards. Every one applies the same {@link BillSearchCriteria} as the search
+ * and leaves out the bills without a situation.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillAnalytics {
+
+    /**
+     * The bills not paid by {@code referenceDate}, in every bucket of {@link AgingBucketDTO}, empty ones included.
+     */
+    List<AgingBucketDTO> aging(BillSearchCriteria criteria, LocalDate referenceDate);
+
+    /**
+     * Histogram of the amounts in {@code buckets} buckets of {@code widthCents} each, empty ones included.
+     */
+    List<AmountBucketDTO> amounts(BillSearchCriteria criteria, long widthCents, int buckets);
+
+    /**
+     * Totals per month of the due date and situation, in that order, for the pairs that have bills.
+     */
+    List<MonthlyTotalDTO> months(BillSearchCriteria criteria);
+}
@@ -0,0 +1,378 @@
+package br.com.bmstech.payment.infra.analytics;
+
+import br.com.bmstech.payment.domain.enums.Situation;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntPredicate;
+
+/**
+ * The bills as columns of primitives, in fixed-size partitions: amount in cents ({@code long}), due and payment
+ * dates as epoch days ({@code int}, {@link #NULL_DAY} for no payment), situation code ({@code byte}) and description
+ * as a code into a dictionary of the distinct descriptions ({@code int}). The ids are kept in two {@code long}
+ * columns with an open addressing index over them, so a changed bill is found without a map of boxed keys, and the
+ * rows of each due day are listed so the bills due on a day are found without a pass over every row.
+ * <p>
+ * Rows are appended; a bill that is removed keeps its row with the situation {@link #REMOVED}, which no filter
+ * matches, until the columns are rebuilt. Not thread safe: the caller excludes writes while it reads. The day lists
+ * are only used by the writer, so {@link #rowsDueOn} may run while others read.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public final class BillColumns {
+
+    public static final int NULL_DAY = Integer.MIN_VALUE;
+
+    /**
+     * Situation code of a removed row. No {@link Situation} uses it.
+     */
+    static final byte REMOVED = 0;
+
+    /**
+     * Situation codes range over {@code [0, CODES)}.
+     */
+    static final int CODES = Arrays.stream(Situation.values()).mapToInt(Situation::getCode).max().orElse(0) + 1;
+
+    private final int shift;
+    private final List<Partition> partitions = new ArrayList<>();
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final Map<Integer, DayRows> rowsByDay = new HashMap<>();
+    private int[] index = new int[1 << 10];
+    private int rows;
+    private int removed;
+    private int firstDay = Integer.MAX_VALUE;
+    private int lastDay = Integer.MIN_VALUE;
+
+    public BillColumns(int partitionSize) {
+        this.shift = 32 - Integer.numberOfLeadingZeros(Math.max(partitionSize, 2) - 1);
+    }
+
+    /**
+     * Adds the bill, or overwrites its row when it is already there.
+     */
+    public void put(BillRow bill) {
+        var row = find(bill.idHigh(), bill.idLow());
+        if (row < 0) {
+            row = append(bill.idHigh(), bill.idLow());
+        }
+        var partition = partitions.get(row >>> shift);
+        var offset = row & (partitionSize() - 1);
+        if (partition.situation[offset] == REMOVED || partition.dueDay[offset] != bill.dueDay()) {
+            rowsByDay.computeIfAbsent(bill.dueDay(), day -> new DayRows()).add(row);
+        }
+        if (partition.situation[offset] == REMOVED && bill.situation() != REMOVED) {
+            removed--;
+        }
+        partition.cents[offset] = bill.cents();
+        partition.dueDay[offset] = bill.dueDay();
+        partition.paymentDay[offset] = bill.paymentDay();
+        partition.situation[offset] = bill.situation();
+        partition.description[offset] = encode(bill.description());
+        firstDay = Math.min(firstDay, bill.dueDay());
+        lastDay = Math.max(lastDay, bill.dueDay());
+    }
+
+    public void remove(UUID id) {
+        var row = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (row >= 0) {
+            markRemoved(partitions.get(row >>> shift), row & (partitionSize() - 1));
+        }
+    }
+
+    /**
+     * The rows of the bills due on one of {@code dueDays} whose id is not in {@code kept}, for
+     * {@link #removeRows}. Only the lists of those days are read; the rows that left them since are dropped from them
+     * on the way.
+     */
+    public int[] rowsDueOn(int[] dueDays, Set<UUID> kept) {
+        var found = new DayRows();
+        for (var dueDay : dueDays) {
+            var dayRows = rowsByDay.get(dueDay);
+            if (dayRows == null) {
+                continue;
+            }
+            dayRows.retain(row -> {
+                var partition = partitions.get(row >>> shift);
+                var offset = row & (partitionSize() - 1);
+                return partition.situation[offset] != REMOVED && partition.dueDay[offset] == dueDay;
+            });
+            if (dayRows.size == 0) {
+                rowsByDay.remove(dueDay);
+            }
+            for (int i = 0; i < dayRows.size; i++) {
+                var row = dayRows.rows[i];
+                var partition = partitions.get(row >>> shift);
+                var offset = row & (partitionSize() - 1);
+                if (!kept.contains(new UUID(partition.idHigh[offset], partition.idLow[offset]))) {
+                    found.add(row);
+                }
+            }
+        }
+        return Arrays.copyOf(found.rows, found.size);
+    }
+
+    public void removeRows(int[] rows) {
+        for (var row : rows) {
+            markRemoved(partitions.get(row >>> shift), row & (partitionSize() - 1));
+        }
+    }
+
+    public int size() {
+        return rows - removed;
+    }
+
+    public int removed() {
+        return removed;
+    }
+
+    public int firstDay() {
+        return firstDay;
+    }
+
+    public int lastDay() {
+        return lastDay;
+    }
+
+    /**
+     * Which dictionary codes are descriptions containing {@code term}, ignoring case. Each distinct description is
+     * matched once, however many bills have it.
+     */
+    public boolean[] descriptionsContaining(String term) {
+        var matches = new boolean[dictionary.size()];
+        for (int code = 0; code < matches.length; code++) {
+            matches[code] = StringUtils.containsIgnoreCase(dictionary.get(code), term);
+        }
+        return matches;
+    }
+
+    /**
+     * Counts and sums the rows matching the scan, one task per partition on {@code pool}.
+     *
+     * @return the counts then the sums of the amounts, each indexed by
+     * {@code (dayGroup * amountBuckets + amountBucket) * CODES + situation code}
+     */
+    public long[] aggregate(Scan scan, ForkJoinPool pool) {
+        var slots = scan.groups() * scan.amountBuckets() * CODES;
+        List<ForkJoinTask<long[]>> tasks = new ArrayList<>(partitions.size());
+        for (var partition : partitions) {
+            var size = partition.size;
+            tasks.add(pool.submit(() -> aggregate(partition, size, scan, slots)));
+        }
+        var totals = new long[2 * slots];
+        for (var task : tasks) {
+            var partial = task.join();
+            for (int slot = 0; slot < totals.length; slot++) {
+                totals[slot] += partial[slot];
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * The loop every query runs. It has no branch that depends on the data: each filter gives 0 or 1, their product
+     * says whether the row matches, and a row that does not adds zero to a slot instead of being skipped. On bills
+     * in random order a skip would be mispredicted about as often as a filter splits them, which cost three times the
+     * scan itself. The values it reads are locals, so the JIT keeps them in registers.
+     */
+    private static long[] aggregate(Partition partition, int size, Scan scan, int slots) {
+        var totals = new long[2 * slots];
+        var situations = scan.situations();
+        var firstDay = scan.firstDay();
+        var dayGroups = scan.dayGroups();
+        var paymentFrom = scan.paymentFrom();
+        var paymentTo = scan.paymentTo();
+        var amountMin = scan.amountMin();
+        var amountMax = scan.amountMax();
+        var descriptions = scan.descriptions();
+        var widthCents = scan.widthCents();
+        var amountBuckets = scan.amountBuckets();
+        var cents = partition.cents;
+        var dueDay = partition.dueDay;
+        var paymentDay = partition.paymentDay;
+        var situation = partition.situation;
+        var description = partition.description;
+        for (int row = 0; row < size; row++) {
+            int code = situation[row];
+            var group = dayGroups[dueDay[row] - firstDay];
+            var paid = paymentDay[row];
+            var amount = cents[row];
+            var match = (situations >>> code & 1) & (~group >>> 31)
+                    & (paid >= paymentFrom ? 1 : 0) & (paid <= paymentTo ? 1 : 0)
+                    & (amount >= amountMin ? 1 : 0) & (amount <= amountMax ? 1 : 0);
+            if (descriptions != null) {
+                match &= descriptions[description[row]] ? 1 : 0;
+            }
+            group = Math.max(group, 0);
+            if (amountBuckets > 1) {
+                group = group * amountBuckets + (int) Math.min(Math.max(amount, 0) / widthCents, amountBuckets - 1);
+            }
+            var slot = group * CODES + code;
+            totals[slot] += match;
+            totals[slots + slot] += amount & -(long) match;
+        }
+        return totals;
+    }
+
+    private int partitionSize() {
+        return 1 << shift;
+    }
+
+    private void markRemoved(Partition partition, int offset) {
+        if (partition.situation[offset] != REMOVED) {
+            partition.situation[offset] = REMOVED;
+            removed++;
+        }
+    }
+
+    private int encode(String description) {
+        var code = codes.get(description);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(description);
+            codes.put(description, code);
+        }
+        return code;
+    }
+
+    private int append(long idHigh, long idLow) {
+        if (rows == partitions.size() << shift) {
+            partitions.add(new Partition(partitionSize()));
+        }
+        var row = rows++;
+        var partition = partitions.get(row >>> shift);
+        var offset = row & (partitionSize() - 1);
+        partition.idHigh[offset] = idHigh;
+        partition.idLow[offset] = idLow;
+        partition.situation[offset] = REMOVED;
+        partition.size = offset + 1;
+        removed++;
+        if (2 * rows > index.length) {
+            index = new int[2 * index.length];
+            for (int existing = 0; existing < rows; existing++) {
+                var existingPartition = partitions.get(existing >>> shift);
+                var existingOffset = existing & (partitionSize() - 1);
+                insert(existingPartition.idHigh[existingOffset], existingPartition.idLow[existingOffset], existing);
+            }
+        } else {
+            insert(idHigh, idLow, row);
+        }
+        return row;
+    }
+
+    /**
+     * Slots hold the row plus one, so zero is a free slot. Rows are never removed from the index.
+     */
+    private void insert(long idHigh, long idLow, int row) {
+        var mask = index.length - 1;
+        var slot = hash(idHigh, idLow) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = row + 1;
+    }
+
+    private int find(long idHigh, long idLow) {
+        var mask = index.length - 1;
+        for (var slot = hash(idHigh, idLow) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            var row = index[slot] - 1;
+            var partition = partitions.get(row >>> shift);
+            var offset = row & (partitionSize() - 1);
+            if (partition.idHigh[offset] == idHigh && partition.idLow[offset] == idLow) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private static int hash(long idHigh, long idLow) {
+        var hash = (idHigh ^ Long.rotateLeft(idLow, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    /**
+     * A bill as stored in the columns.
+     */
+    public record BillRow(long idHigh, long idLow, int dueDay, int paymentDay, long cents, byte situation,
+                          String description) {
+    }
+
+    /**
+     * What one query counts and sums.
+     *
+     * @param firstDay      epoch day of {@code dayGroups[0]}, at most {@link #firstDay()}
+     * @param dayGroups     group of each due day from {@code firstDay} to at least {@link #lastDay()}, negative for the
+     *                      days left out
+     * @param groups        number of day groups
+     * @param widthCents    width of an amount bucket
+     * @param amountBuckets amount buckets per day group, {@code 1} to not split by amount
+     * @param situations    bit mask of the situation codes included
+     * @param paymentFrom   smallest payment day included; {@link #NULL_DAY} includes the unpaid bills
+     * @param paymentTo     largest payment day included
+     * @param amountMin     smallest amount in cents included
+     * @param amountMax     largest amount in cents included
+     * @param descriptions  dictionary codes included, {@code null} for all
+     */
+    public record Scan(int firstDay, int[] dayGroups, int groups, long widthCents, int amountBuckets, int situations,
+                       int paymentFrom, int paymentTo, long amountMin, long amountMax, boolean[] descriptions) {
+    }
+
+    /**
+     * Rows of one due day, each once. A row whose bill moved to another day or was removed stays until the day is
+     * read again.
+     */
+    private static final class DayRows {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        private void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, 2 * size);
+            }
+            rows[size++] = row;
+        }
+
+        private void retain(IntPredicate kept) {
+            Arrays.sort(rows, 0, size);
+            var retained = 0;
+            for (int i = 0; i < size; i++) {
+                if ((retained == 0 || rows[retained - 1] != rows[i]) && kept.test(rows[i])) {
+                    rows[retained++] = rows[i];
+                }
+            }
+            size = retained;
+        }
+    }
+
+    private static final class Partition {
+
+        private final long[] idHigh;
+        private final long[] idLow;
+        private final long[] cents;
+        private final int[] dueDay;
+        private final int[] paymentDay;
+        private final byte[] situation;
+        private final int[] description;
+        private int size;
+
+        private Partition(int capacity) {
+            idHigh = new long[capacity];
+            idLow = new long[capacity];
+            cents = new long[capacity];
+            dueDay = new int[capacity];
+            paymentDay = new int[capacity];
+            situation = new byte[capacity];
+            description = new int[capacity];
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package br.com.bmstech.payment.infra.analytics;
+
+import br.com.bmstech.payment.application.configs.BillAnalyticsProperties;
+import br.com.bmstech.payment.domain.dto.AgingBucketDTO;
+import br.com.bmstech.payment.domain.dto.AmountBucketDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.dto.MonthlyTotalDTO;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.events.BillsChangedEvent;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.analytics.BillColumns.BillRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * {@link BillAnalytics} over an in-memory {@link BillColumns} copy of the bills, scanned one partition per task on
+ * a pool of {@code threads}. A query reads primitive columns only, so it costs a pass over a few bytes per bill
+ * instead of over the table's rows and tuple headers, and runs without touching the database.
+ * <p>
+ * A single refresher thread loads every bill when the application starts, then keeps the copy current from the
+ * {@link BillsChangedEvent}s published after each commit: it reads the bills with the changed ids and due dates
+ * again and applies them, batching the events that arrived meanwhile. The copy trails the database by that
+ * refresh, usually milliseconds. It is loaded again when an event does not say what changed, or once a quarter of
+ * its rows are removed ones. Until it is loaded, and after a refresh fails until the reload that follows succeeds,
+ * {@link #isReady()} is false and the queries belong in the database.
+ * <p>
+ * Published meter: {@code bills.analytics.rows}, the bills in the copy.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+public class ColumnarBillAnalytics implements BillAnalytics {
+
+    private static final String SELECT_BILLS = """
+            SELECT id, due_date, payment_date, amount_cents, description, situation FROM payment.bills""";
+
+    private static final String SELECT_CHANGED_BILLS = SELECT_BILLS + " WHERE id = ANY(?) OR due_date = ANY(?)";
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BillAnalyticsProperties properties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LinkedBlockingQueue<BillsChangedEvent> changes = new LinkedBlockingQueue<>();
+    private final AtomicLong pendingChanges = new AtomicLong();
+    private final ForkJoinPool pool;
+    private final Thread refresher;
+    private volatile BillColumns columns;
+    private volatile boolean running = true;
+
+    public ColumnarBillAnalytics(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                 BillAnalyticsProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = properties;
+        Gauge.builder("bills.analytics.rows", this, analytics -> analytics.columns != null ? analytics.columns.size() : 0)
+                .register(meterRegistry);
+        if (properties.enabled()) {
+            var threads = properties.threads() > 0 ? properties.threads() : Runtime.getRuntime().availableProcessors();
+            this.pool = new ForkJoinPool(threads);
+            this.refresher = Thread.ofPlatform().name("bill-analytics").daemon().start(this::run);
+        } else {
+            this.pool = null;
+            this.refresher = null;
+        }
+    }
+
+    /**
+     * Whether the copy is loaded and the queries can be answered from it.
+     */
+    public boolean isReady() {
+        return columns != null;
+    }
+
+    /**
+     * Whether the copy is loaded and every change published so far was applied to it.
+     */
+    public boolean isCurrent() {
+        return isReady() && pendingChanges.get() == 0;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillsChanged(BillsChangedEvent event) {
+        if (refresher != null) {
+            pendingChanges.incrementAndGet();
+            changes.add(event);
+        }
+    }
+
+    @Override
+    public List<AgingBucketDTO> aging(BillSearchCriteria criteria, LocalDate referenceDate) {
+        var referenceDay = referenceDate.toEpochDay();
+        var situations = situations(criteria) & ~(1 << Situation.PAID.getCode());
+        var totals = aggregate(criteria, situations, day -> AgingBucketDTO.bucketOf(referenceDay - day),
+                AgingBucketDTO.BUCKETS, 1, 1);
+        List<AgingBucketDTO> aging = new ArrayList<>();
+        for (int bucket = 0; bucket < AgingBucketDTO.BUCKETS; bucket++) {
+            aging.add(AgingBucketDTO.of(bucket, totals.count(bucket), totals.amount(bucket)));
+        }
+        return aging;
+    }
+
+    @Override
+    public List<AmountBucketDTO> amounts(BillSearchCriteria criteria, long widthCents, int buckets) {
+        var totals = aggregate(criteria, situations(criteria), day -> 0, 1, widthCents, buckets);
+        List<AmountBucketDTO> amounts = new ArrayList<>();
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            amounts.add(AmountBucketDTO.of(bucket, widthCents, buckets, totals.count(bucket), totals.amount(bucket)));
+        }
+        return amounts;
+    }
+
+    /**
+     * The months are counted from the first due day of the copy, so the read lock is held from then on for the copy
+     * not to be swapped before the scan.
+     */
+    @Override
+    public List<MonthlyTotalDTO> months(BillSearchCriteria criteria) {
+        Totals totals;
+        YearMonth firstMonth;
+        int months;
+        lock.readLock().lock();
+        try {
+            var snapshot = requireColumns();
+            if (snapshot.firstDay() > snapshot.lastDay()) {
+                return List.of();
+            }
+            var first = YearMonth.from(LocalDate.ofEpochDay(snapshot.firstDay()));
+            firstMonth = first;
+            months = (int) first.until(YearMonth.from(LocalDate.ofEpochDay(snapshot.lastDay())), ChronoUnit.MONTHS) + 1;
+            totals = aggregate(criteria, situations(criteria),
+                    day -> (int) first.until(YearMonth.from(LocalDate.ofEpochDay(day)), ChronoUnit.MONTHS), months, 1, 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<MonthlyTotalDTO> totalsByMonth = new ArrayList<>();
+        for (int month = 0; month < months; month++) {
+            for (var situation : Situation.values()) {
+                var count = totals.count(month, situation.getCode());
+                if (count != 0) {
+                    totalsByMonth.add(new MonthlyTotalDTO(firstMonth.plusMonths(month), situation, count,
+                            Money.ofCents(totals.amount(month, situation.getCode()))));
+                }
+            }
+        }
+        return totalsByMonth;
+    }
+
+    /**
+     * Builds the scan for the criteria and runs it. The due day filter and the grouping by day are one lookup table
+     * over every day the copy spans, filled by {@code dayGroup} for the days in the criteria and negative elsewhere.
+     */
+    private Totals aggregate(BillSearchCriteria criteria, int situations, IntUnaryOperator dayGroup, int groups,
+                             long widthCents, int amountBuckets) {
+        lock.readLock().lock();
+        try {
+            var snapshot = requireColumns();
+            var firstDay = snapshot.firstDay();
+            var from = criteria.dueDateFrom() != null ? criteria.dueDateFrom().toEpochDay() : Long.MIN_VALUE;
+            var to = criteria.dueDateTo() != null ? criteria.dueDateTo().toEpochDay() : Long.MAX_VALUE;
+            var dayGroups = new int[(int) Math.max((long) snapshot.lastDay() - firstDay + 1, 0)];
+            for (int day = 0; day < dayGroups.length; day++) {
+                var epochDay = firstDay + day;
+                dayGroups[day] = epochDay >= from && epochDay <= to ? dayGroup.applyAsInt(epochDay) : -1;
+            }
+            var scan = new BillColumns.Scan(firstDay, dayGroups, groups, widthCents, amountBuckets, situations,
+                    paymentDay(criteria.paymentDateFrom(), criteria.paymentDateTo() != null ? BillColumns.NULL_DAY + 1 : BillColumns.NULL_DAY),
+                    paymentDay(criteria.paymentDateTo(), Integer.MAX_VALUE),
+                    criteria.amountMin() != null ? criteria.amountMin().cents() : Long.MIN_VALUE,
+                    criteria.amountMax() != null ? criteria.amountMax().cents() : Long.MAX_VALUE,
+                    StringUtils.isNotBlank(criteria.description()) ? snapshot.descriptionsContaining(criteria.description().trim()) : null);
+            return new Totals(groups * amountBuckets, snapshot.aggregate(scan, pool));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BillColumns requireColumns() {
+        var snapshot = columns;
+        if (snapshot == null) {
+            throw new IllegalStateException("The analytics copy of the bills is not loaded");
+        }
+        return snapshot;
+    }
+
+    /**
+     * A payment date bound that is set also leaves out the bills without a payment date.
+     */
+    private static int paymentDay(LocalDate date, int unbounded) {
+        return date != null ? (int) date.toEpochDay() : unbounded;
+    }
+
+    private static int situations(BillSearchCriteria criteria) {
+        if (criteria.situation() != null) {
+            return 1 << criteria.situation().getCode();
+        }
+        var situations = 0;
+        for (var situation : Situation.values()) {
+            situations |= 1 << situation.getCode();
+        }
+        return situations;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (columns == null) {
+                    reload();
+                    continue;
+                }
+                List<BillsChangedEvent> batch = new ArrayList<>();
+                batch.add(changes.take());
+                changes.drainTo(batch);
+                try {
+                    apply(batch);
+                } finally {
+                    pendingChanges.addAndGet(-batch.size());
+                }
+            } catch (InterruptedException exception) {
+                return;
+            } catch (RuntimeException exception) {
+                columns = null;
+                try {
+                    TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads every bill into new columns and swaps them in. The changes queued before the load starts were committed
+     * before it, so it reads them and they are dropped; the ones queued during the load are applied after it.
+     */
+    public void reload() {
+        List<BillsChangedEvent> covered = new ArrayList<>();
+        changes.drainTo(covered);
+        var reloaded = new BillColumns(properties.partitionSize());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query(SELECT_BILLS, resultSet -> {
+                    reloaded.put(readRow(resultSet));
+                }));
+        lock.writeLock().lock();
+        try {
+            columns = reloaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        pendingChanges.addAndGet(-covered.size());
+    }
+
+    /**
+     * The bills with the changed ids and due dates are read, and the rows left on those dates found, outside the
+     * lock; writes to the columns only wait for the queries running at that moment. The refresher is the only writer,
+     * so the rows found are still the ones to remove once it holds the lock: the rows it puts are all kept.
+     */
+    private void apply(List<BillsChangedEvent> batch) {
+        Set<UUID> ids = new HashSet<>();
+        Set<LocalDate> dueDates = new HashSet<>();
+        for (var event : batch) {
+            if (event.all()) {
+                reload();
+                return;
+            }
+            ids.addAll(event.ids());
+            dueDates.addAll(event.dueDates());
+        }
+        var snapshot = columns;
+        if (snapshot.removed() > snapshot.size() / 4 + properties.partitionSize()) {
+            reload();
+            return;
+        }
+        List<BillRow> rows = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT_CHANGED_BILLS, statement -> {
+            statement.setArray(1, statement.getConnection().createArrayOf("uuid", ids.toArray()));
+            statement.setArray(2, statement.getConnection().createArrayOf("date", dueDates.toArray()));
+        }, resultSet -> {
+            rows.add(readRow(resultSet));
+        }));
+
+        Set<UUID> found = new HashSet<>();
+        for (var row : rows) {
+            found.add(new UUID(row.idHigh(), row.idLow()));
+        }
+        var dueDays = dueDates.stream().mapToInt(date -> (int) date.toEpochDay()).toArray();
+        var left = snapshot.rowsDueOn(dueDays, found);
+        lock.writeLock().lock();
+        try {
+            rows.forEach(snapshot::put);
+            for (var id : ids) {
+                if (!found.contains(id)) {
+                    snapshot.remove(id);
+                }
+            }
+            snapshot.removeRows(left);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bills without a situation are stored as removed, since no query includes them.
+     */
+    private static BillRow readRow(ResultSet resultSet) throws SQLException {
+        var id = resultSet.getObject(1, UUID.class);
+        var paymentDate = resultSet.getObject(3, LocalDate.class);
+        var situation = (byte) resultSet.getShort(6);
+        if (resultSet.wasNull()) {
+            situation = BillColumns.REMOVED;
+        }
+        return new BillRow(id.getMostSignificantBits(), id.getLeastSignificantBits(),
+                (int) resultSet.getObject(2, LocalDate.class).toEpochDay(),
+                paymentDate != null ? (int) paymentDate.toEpochDay() : BillColumns.NULL_DAY,
+                resultSet.getLong(4), situation, resultSet.getString(5));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (refresher == null) {
+            return;
+        }
+        running = false;
+        refresher.interrupt();
+        refresher.join(TimeUnit.SECONDS.toMillis(10));
+        pool.shutdownNow();
+    }
+
+    /**
+     * Counts and sums per group, added up over the situations or for one of them.
+     */
+    private record Totals(int groups, long[] values) {
+
+        long count(int group) {
+            var count = 0L;
+            for (int code = 0; code < BillColumns.CODES; code++) {
+                count += count(group, code);
+            }
+            return count;
+        }
+
+        long amount(int group) {
+            var amount = 0L;
+            for (int code = 0; code < BillColumns.CODES; code++) {
+                amount += amount(group, code);
+            }
+            return amount;
+        }
+
+        long count(int group, int code) {
+            return values[group * BillColumns.CODES + code];
+        }
+
+        long amount(int group, int code) {
+            return values[(groups + group) * BillColumns.CODES + code];
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.bmstech.payment.infra.analytics;
+
+import br.com.bmstech.payment.domain.dto.AgingBucketDTO;
+import br.com.bmstech.payment.domain.dto.AmountBucketDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.dto.MonthlyTotalDTO;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.repositories.BillSpecifications;
+import br.com.bmstech.payment.domain.values.Money;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link BillAnalytics} as {@code GROUP BY} queries over {@code payment.bills}. The conditions are only added for the
+ * criteria that are set, so the planner can use the indexes on the due date and the description.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlBillAnalytics implements BillAnalytics {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<AgingBucketDTO> aging(BillSearchCriteria criteria, LocalDate referenceDate) {
+        List<Object> arguments = new ArrayList<>();
+        var sql = new StringBuilder("SELECT CASE");
+        for (int bucket = 0; bucket < AgingBucketDTO.BUCKETS - 1; bucket++) {
+            sql.append(" WHEN due_date >= ? THEN ").append(bucket);
+            arguments.add(referenceDate.minusDays(AgingBucketDTO.limit(bucket)));
+        }
+        sql.append(" ELSE ").append(AgingBucketDTO.BUCKETS - 1).append(" END, count(*), sum(amount_cents)")
+                .append(" FROM payment.bills WHERE situation <> ?");
+        arguments.add(Situation.PAID.getCode());
+        appendCriteria(sql, arguments, criteria);
+        sql.append(" GROUP BY 1");
+
+        var counts = new long[AgingBucketDTO.BUCKETS];
+        var sums = new long[AgingBucketDTO.BUCKETS];
+        jdbcTemplate.query(sql.toString(), resultSet -> {
+            counts[resultSet.getInt(1)] = resultSet.getLong(2);
+            sums[resultSet.getInt(1)] = resultSet.getLong(3);
+        }, arguments.toArray());
+        List<AgingBucketDTO> aging = new ArrayList<>();
+        for (int bucket = 0; bucket < AgingBucketDTO.BUCKETS; bucket++) {
+            aging.add(AgingBucketDTO.of(bucket, counts[bucket], sums[bucket]));
+        }
+        return aging;
+    }
+
+    @Override
+    public List<AmountBucketDTO> amounts(BillSearchCriteria criteria, long widthCents, int buckets) {
+        List<Object> arguments = new ArrayList<>(List.of(widthCents, buckets - 1));
+        var sql = new StringBuilder("""
+                SELECT LEAST(GREATEST(amount_cents, 0) / ?, ?), count(*), sum(amount_cents)
+                FROM payment.bills WHERE situation IS NOT NULL""");
+        appendCriteria(sql, arguments, criteria);
+        sql.append(" GROUP BY 1");
+
+        var counts = new long[buckets];
+        var sums = new long[buckets];
+        jdbcTemplate.query(sql.toString(), resultSet -> {
+            counts[resultSet.getInt(1)] = resultSet.getLong(2);
+            sums[resultSet.getInt(1)] = resultSet.getLong(3);
+        }, arguments.toArray());
+        List<AmountBucketDTO> amounts = new ArrayList<>();
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            amounts.add(AmountBucketDTO.of(bucket, widthCents, buckets, counts[bucket], sums[bucket]));
+        }
+        return amounts;
+    }
+
+    @Override
+    public List<MonthlyTotalDTO> months(BillSearchCriteria criteria) {
+        List<Object> arguments = new ArrayList<>();
+        var sql = new StringBuilder("""
+                SELECT date_trunc('month', due_date)::date, situation, count(*), sum(amount_cents)
+                FROM payment.bills WHERE situation IS NOT NULL""");
+        appendCriteria(sql, arguments, criteria);
+        sql.append(" GROUP BY 1, 2 ORDER BY 1, 2");
+        return jdbcTemplate.query(sql.toString(), (resultSet, row) -> new MonthlyTotalDTO(
+                YearMonth.from(resultSet.getObject(1, LocalDate.class)), Situation.fromCode(resultSet.getShort(2)),
+                resultSet.getLong(3), Money.ofCents(resultSet.getLong(4))), arguments.toArray());
+    }
+
+    private static void appendCriteria(StringBuilder sql, List<Object> arguments, BillSearchCriteria criteria) {
+        appendRange(sql, arguments, "due_date", criteria.dueDateFrom(), criteria.dueDateTo());
+        appendRange(sql, arguments, "payment_date", criteria.paymentDateFrom(), criteria.paymentDateTo());
+        appendRange(sql, arguments, "amount_cents",
+                criteria.amountMin() != null ? criteria.amountMin().cents() : null,
+                criteria.amountMax() != null ? criteria.amountMax().cents() : null);
+        if (criteria.situation() != null) {
+            sql.append(" AND situation = ?");
+            arguments.add(criteria.situation().getCode());
+        }
+        if (StringUtils.isNotBlank(criteria.description())) {
+            sql.append(" AND description ILIKE ? ESCAPE '\\'");
+            arguments.add(BillSpecifications.containsPattern(criteria.description().trim()));
+        }
+    }
+
+    private static void appendRange(StringBuilder sql, List<Object> arguments, String column, Object from, Object to) {
+        if (from != null) {
+            sql.append(" AND ").append(column).append(" >= ?");
+            arguments.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND ").append(column).append(" <= ?");
+            arguments.add(to);
+        }
+    }
+}
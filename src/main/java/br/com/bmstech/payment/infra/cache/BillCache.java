@@ -0,0 +1,189 @@
+package br.com.bmstech.payment.infra.cache;
+
+import br.com.bmstech.payment.application.configs.BillCacheProperties;
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.enums.CountStrategy;
+import br.com.bmstech.payment.domain.events.BillsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of the hot bill reads: bills by id and pages of the due date filter. Both are Caffeine
+ * caches, evicting by W-TinyLFU past their maximum size and expiring entries after a fixed time, with hit, miss and
+ * eviction counts published as the {@code cache.*} meters of the {@code bills.by-id} and {@code bills.filter-pages}
+ * caches.
+ * <p>
+ * Entries are invalidated once the change that affects them is committed, as described by {@link BillsChangedEvent}:
+ * the bills by id, the filter pages that show one of them, and the filter pages of the due dates whose set of bills
+ * changed. The filter pages are indexed by due date and by the ids they show, so a change only touches the pages it
+ * affects; each page is indexed and unindexed under the lock of its own entry, so the index always matches what is
+ * cached.
+ * <p>
+ * A read that started before a commit may have read what the commit changed. Every change counts a generation, and a
+ * read during which the generation moved is returned but not kept.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+public class BillCache {
+
+    private final boolean enabled;
+    private final Cache<UUID, BillResponseDTO> byId;
+    private final Cache<FilterKey, Slice<BillResponseDTO>> filterPages;
+    private final Map<LocalDate, Set<FilterKey>> pagesByDueDate = new ConcurrentHashMap<>();
+    private final Set<FilterKey> pagesAcrossDueDates = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Set<FilterKey>> pagesById = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public BillCache(BillCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.byId = builder(properties.byId()).build();
+        this.filterPages = builder(properties.filterPages())
+                .<FilterKey, Slice<BillResponseDTO>>evictionListener((key, page, cause) -> unindex(key, page))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "bills.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, filterPages, "bills.filter-pages");
+    }
+
+    /**
+     * The bill from the cache, or from the loader when absent. Concurrent misses on the same id load it once; a
+     * loader that throws caches nothing.
+     */
+    public BillResponseDTO findById(UUID id, Function<UUID, BillResponseDTO> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        var started = generation.get();
+        var bill = byId.get(id, loader);
+        if (generation.get() != started) {
+            byId.asMap().remove(id, bill);
+        }
+        return bill;
+    }
+
+    public Slice<BillResponseDTO> findByFilter(FilterKey key, Supplier<Slice<BillResponseDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        var started = generation.get();
+        var page = filterPages.get(key, ignored -> {
+            var loaded = loader.get();
+            index(key, loaded);
+            return loaded;
+        });
+        if (generation.get() != started) {
+            filterPages.asMap().computeIfPresent(key, (ignored, cached) -> cached == page ? remove(key, cached) : cached);
+        }
+        return page;
+    }
+
+    /**
+     * The generation moves before anything is invalidated, so a read either sees it moved or was indexed before the
+     * pages to invalidate are looked up.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillsChanged(BillsChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.all()) {
+            byId.invalidateAll();
+            invalidate(List.copyOf(filterPages.asMap().keySet()));
+            return;
+        }
+        byId.invalidateAll(event.ids());
+        Set<FilterKey> pages = new HashSet<>();
+        for (var id : event.ids()) {
+            pages.addAll(pagesById.getOrDefault(id, Set.of()));
+        }
+        for (var dueDate : event.dueDates()) {
+            pages.addAll(pagesByDueDate.getOrDefault(dueDate, Set.of()));
+        }
+        if (!event.dueDates().isEmpty()) {
+            pages.addAll(pagesAcrossDueDates);
+        }
+        invalidate(pages);
+    }
+
+    private void invalidate(Iterable<FilterKey> pages) {
+        for (var key : pages) {
+            filterPages.asMap().computeIfPresent(key, this::remove);
+        }
+    }
+
+    private Slice<BillResponseDTO> remove(FilterKey key, Slice<BillResponseDTO> page) {
+        unindex(key, page);
+        return null;
+    }
+
+    /**
+     * A page without a due date filters across all of them, so any change in the set of bills of a date reaches it.
+     */
+    private void index(FilterKey key, Slice<BillResponseDTO> page) {
+        if (key.dueDate() == null) {
+            pagesAcrossDueDates.add(key);
+        } else {
+            addTo(pagesByDueDate, key.dueDate(), key);
+        }
+        for (var bill : page) {
+            addTo(pagesById, bill.id(), key);
+        }
+    }
+
+    private void unindex(FilterKey key, Slice<BillResponseDTO> page) {
+        if (key.dueDate() == null) {
+            pagesAcrossDueDates.remove(key);
+        } else {
+            removeFrom(pagesByDueDate, key.dueDate(), key);
+        }
+        for (var bill : page) {
+            removeFrom(pagesById, bill.id(), key);
+        }
+    }
+
+    /**
+     * The sets are changed inside the map's compute, so a key is never added to a set that was just dropped empty.
+     */
+    private static <K> void addTo(Map<K, Set<FilterKey>> index, K indexKey, FilterKey key) {
+        index.compute(indexKey, (ignored, keys) -> {
+            var updated = keys != null ? keys : ConcurrentHashMap.<FilterKey>newKeySet();
+            updated.add(key);
+            return updated;
+        });
+    }
+
+    private static <K> void removeFrom(Map<K, Set<FilterKey>> index, K indexKey, FilterKey key) {
+        index.computeIfPresent(indexKey, (ignored, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static Caffeine<Object, Object> builder(BillCacheProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .expireAfterWrite(spec.expireAfterWrite())
+                .recordStats();
+    }
+
+    /**
+     * Parameters of a filter page, with the count strategy already resolved.
+     */
+    public record FilterKey(LocalDate dueDate, String description, int page, int size, CountStrategy countStrategy) {
+    }
+}
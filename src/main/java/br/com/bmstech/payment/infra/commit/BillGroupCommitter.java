@@ -0,0 +1,250 @@
+package br.com.bmstech.payment.infra.commit;
+
+import br.com.bmstech.payment.application.configs.BillGroupCommitProperties;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.events.BillsChangedEvent;
+import br.com.bmstech.payment.domain.exceptions.TooManyRequestsException;
+import br.com.bmstech.payment.infra.ids.UuidV7;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Group commit of created bills. Callers put their bill on a lock-free queue and wait; a single writer thread takes
+ * the oldest one and keeps draining the queue until the batch is full or the oldest bill has waited
+ * {@code max-delay}, then inserts the whole batch with one statement in one transaction: one round trip and one
+ * commit for all of them. While a batch is being written the next one builds up, so batches grow with the load and
+ * an idle service only adds {@code max-delay} to a creation.
+ * <p>
+ * If the batch insert fails, every bill is retried alone, so each caller gets its own result or its own error. The
+ * queue holds at most {@code max-pending} bills: beyond that creations are refused with
+ * {@link TooManyRequestsException} rather than queued with no bound on their latency, and a caller waits at most
+ * {@code commit-timeout} for its batch.
+ * <p>
+ * Published meters: {@code bills.group-commit.batch.size} and {@code bills.group-commit.latency}, from queuing to
+ * commit; and {@code bills.group-commit.event.failures}, the committed batches whose {@link BillsChangedEvent} a
+ * listener failed on.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+public class BillGroupCommitter {
+
+    private static final String INSERT = """
+            INSERT INTO payment.bills (id, payment_date, due_date, amount_cents, description, situation)
+            SELECT * FROM unnest(?::uuid[], ?::date[], ?::date[], ?::bigint[], ?::varchar[], ?::smallint[])
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BillGroupCommitProperties properties;
+    private final ConcurrentLinkedQueue<PendingBill> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final DistributionSummary batchSize;
+    private final Timer latency;
+    private final Counter eventFailures;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public BillGroupCommitter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher, BillGroupCommitProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.batchSize = DistributionSummary.builder("bills.group-commit.batch.size").register(meterRegistry);
+        this.latency = Timer.builder("bills.group-commit.latency").publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.eventFailures = Counter.builder("bills.group-commit.event.failures").register(meterRegistry);
+        this.writer = properties.enabled() ? Thread.ofPlatform().name("bill-group-commit").daemon().start(this::run) : null;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Queues the bill for the next batch and waits for it to be committed, with its id set. A bill queued as the
+     * committer shuts down, or still queued after {@code commit-timeout}, is taken back off the queue and never
+     * written.
+     *
+     * @throws TooManyRequestsException when {@code max-pending} bills are already queued, or the bill was not taken
+     *                                  into a batch within {@code commit-timeout}
+     * @throws IllegalStateException    when the committer is not running, or the bill was taken into a batch that did
+     *                                  not finish within {@code commit-timeout}
+     */
+    public Bill insert(Bill bill) {
+        if (writer == null || !running) {
+            throw new IllegalStateException("Group commit is not running.");
+        }
+        if (pending.incrementAndGet() > properties.maxPending()) {
+            pending.decrementAndGet();
+            throw new TooManyRequestsException("There are too many bills being created. Please try again in a moment.");
+        }
+        bill.setId(UuidV7.next());
+        var pendingBill = new PendingBill(bill, System.nanoTime(), new CompletableFuture<>());
+        queue.offer(pendingBill);
+        if (!running && withdraw(pendingBill)) {
+            throw new IllegalStateException("Group commit is not running.");
+        }
+        LockSupport.unpark(writer);
+        try {
+            return pendingBill.result().orTimeout(properties.commitTimeout().toNanos(), TimeUnit.NANOSECONDS).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof TimeoutException) {
+                if (withdraw(pendingBill)) {
+                    throw new TooManyRequestsException("There are too many bills being created. Please try again in a moment.");
+                }
+                throw new IllegalStateException("The bill was not committed in time; it may still be created.");
+            }
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Takes the bill back if neither the writer nor the shutdown has taken it off the queue; whichever did completes
+     * its result.
+     */
+    private boolean withdraw(PendingBill pendingBill) {
+        if (!queue.remove(pendingBill)) {
+            return false;
+        }
+        pending.decrementAndGet();
+        return true;
+    }
+
+    private void run() {
+        var maxDelay = properties.maxDelay().toNanos();
+        List<PendingBill> batch = new ArrayList<>(properties.maxBatchSize());
+        while (running) {
+            var oldest = queue.poll();
+            if (oldest == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            batch.add(oldest);
+            var deadline = oldest.queuedAt() + maxDelay;
+            while (batch.size() < properties.maxBatchSize()) {
+                var next = queue.poll();
+                if (next != null) {
+                    batch.add(next);
+                    continue;
+                }
+                var remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            pending.addAndGet(-batch.size());
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Only a failed insert retries the bills one by one: once the batch is committed, retrying any of them would
+     * fail on its primary key.
+     */
+    private void write(List<PendingBill> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertAll(batch));
+        } catch (RuntimeException exception) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(exception);
+                return;
+            }
+            for (var pendingBill : batch) {
+                write(List.of(pendingBill));
+            }
+            return;
+        }
+        batchSize.record(batch.size());
+        complete(batch);
+    }
+
+    private void insertAll(List<PendingBill> batch) {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            var size = batch.size();
+            var ids = new Object[size];
+            var paymentDates = new Object[size];
+            var dueDates = new Object[size];
+            var amounts = new Object[size];
+            var descriptions = new Object[size];
+            var situations = new Object[size];
+            for (int i = 0; i < size; i++) {
+                var bill = batch.get(i).bill();
+                ids[i] = bill.getId();
+                paymentDates[i] = bill.getPaymentDate();
+                dueDates[i] = bill.getDueDate();
+                amounts[i] = bill.getAmount() != null ? bill.getAmount().cents() : null;
+                descriptions[i] = bill.getDescription();
+                situations[i] = bill.getSituation() != null ? bill.getSituation().getCode() : null;
+            }
+            try (var statement = connection.prepareStatement(INSERT)) {
+                statement.setArray(1, connection.createArrayOf("uuid", ids));
+                statement.setArray(2, connection.createArrayOf("date", paymentDates));
+                statement.setArray(3, connection.createArrayOf("date", dueDates));
+                statement.setArray(4, connection.createArrayOf("bigint", amounts));
+                statement.setArray(5, connection.createArrayOf("varchar", descriptions));
+                statement.setArray(6, connection.createArrayOf("smallint", situations));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    private void complete(List<PendingBill> batch) {
+        var now = System.nanoTime();
+        for (var pendingBill : batch) {
+            pendingBill.bill().setVersion(0L);
+            latency.record(now - pendingBill.queuedAt(), TimeUnit.NANOSECONDS);
+            pendingBill.result().complete(pendingBill.bill());
+        }
+        try {
+            eventPublisher.publishEvent(BillsChangedEvent.of(
+                    batch.stream().map(pendingBill -> pendingBill.bill().getId()).toList(),
+                    batch.stream().map(pendingBill -> pendingBill.bill().getDueDate()).toList()));
+        } catch (RuntimeException exception) {
+            eventFailures.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        PendingBill pendingBill;
+        while ((pendingBill = queue.poll()) != null) {
+            pendingBill.result().completeExceptionally(new IllegalStateException("The application is shutting down."));
+        }
+    }
+
+    private record PendingBill(Bill bill, long queuedAt, CompletableFuture<Bill> result) {
+    }
+}
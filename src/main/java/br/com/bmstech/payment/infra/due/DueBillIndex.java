@@ -0,0 +1,281 @@
+package br.com.bmstech.payment.infra.due;
+
+import br.com.bmstech.payment.application.configs.BillDueIndexProperties;
+import br.com.bmstech.payment.domain.dto.BillCursor;
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.events.BillsChangedEvent;
+import br.com.bmstech.payment.domain.values.Money;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link DueBills} over an in-memory skip list of the unpaid and overdue bills, ordered by {@code (due_date, id)} as
+ * the database orders them. A page is a seek to its first bill and a walk over the ones it returns, O(log n + k) for
+ * {@code n} unpaid bills and a page of {@code k}, however many bills are due before or paid.
+ * <p>
+ * A single refresher thread loads the unpaid bills when the application starts, then keeps the index current from
+ * the {@link BillsChangedEvent}s published after each commit: it reads the unpaid bills with the changed ids and due
+ * dates again and applies them, batching the events that arrived meanwhile. Readers never wait for it; a bill that
+ * changes while a page is read may be missing from that page. Until the index is loaded, and after a refresh fails
+ * until the reload that follows succeeds, {@link #isReady()} is false and the listings belong in the database.
+ * <p>
+ * Published meter: {@code bills.due.index.size}, the unpaid bills in the index.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+public class DueBillIndex implements DueBills {
+
+    private static final String SELECT_UNPAID_BILLS = """
+            SELECT id, payment_date, due_date, amount_cents, description, situation, version
+            FROM payment.bills WHERE situation IN (%d, %d)"""
+            .formatted(Situation.UNPAID.getCode(), Situation.OVERDUE.getCode());
+
+    private static final String SELECT_CHANGED_BILLS = SELECT_UNPAID_BILLS + " AND (id = ANY(?) OR due_date = ANY(?))";
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    private static final UUID LAST_ID = new UUID(-1, -1);
+
+    /**
+     * PostgreSQL compares uuids byte by byte, that is as two unsigned longs, so a cursor means the same position
+     * here and in {@link SqlDueBills}.
+     */
+    private static final Comparator<BillCursor> ORDER = Comparator.comparing(BillCursor::dueDate)
+            .thenComparing(BillCursor::id, DueBillIndex::compareUnsigned);
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LinkedBlockingQueue<BillsChangedEvent> changes = new LinkedBlockingQueue<>();
+    private final AtomicLong pendingChanges = new AtomicLong();
+    private final Thread refresher;
+    private volatile Entries entries;
+    private volatile boolean running = true;
+
+    public DueBillIndex(DataSource dataSource, PlatformTransactionManager transactionManager,
+                        BillDueIndexProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        Gauge.builder("bills.due.index.size", this, index -> index.entries != null ? index.entries.bills.size() : 0)
+                .register(meterRegistry);
+        this.refresher = properties.enabled()
+                ? Thread.ofPlatform().name("bill-due-index").daemon().start(this::run)
+                : null;
+    }
+
+    /**
+     * Whether the index is loaded and the listings can be answered from it.
+     */
+    public boolean isReady() {
+        return entries != null;
+    }
+
+    /**
+     * Whether the index is loaded and every change published so far was applied to it.
+     */
+    public boolean isCurrent() {
+        return isReady() && pendingChanges.get() == 0;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillsChanged(BillsChangedEvent event) {
+        if (refresher != null) {
+            pendingChanges.incrementAndGet();
+            changes.add(event);
+        }
+    }
+
+    @Override
+    public List<BillResponseDTO> findUnpaid(LocalDate from, LocalDate to, BillCursor after, int limit) {
+        var snapshot = entries;
+        if (snapshot == null) {
+            throw new IllegalStateException("The due date index of the bills is not loaded");
+        }
+        var last = new BillCursor(to, LAST_ID);
+        var first = from != null ? new BillCursor(from, FIRST_ID) : null;
+        var inclusive = true;
+        if (after != null && (first == null || ORDER.compare(after, first) >= 0)) {
+            first = after;
+            inclusive = false;
+        }
+        if (first != null && ORDER.compare(first, last) > 0) {
+            return List.of();
+        }
+        var range = first != null
+                ? snapshot.bills.subMap(first, inclusive, last, true)
+                : snapshot.bills.headMap(last, true);
+        List<BillResponseDTO> page = new ArrayList<>();
+        for (var bill : range.values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(bill);
+        }
+        return page;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (entries == null) {
+                    reload();
+                    continue;
+                }
+                List<BillsChangedEvent> batch = new ArrayList<>();
+                batch.add(changes.take());
+                changes.drainTo(batch);
+                try {
+                    apply(batch);
+                } finally {
+                    pendingChanges.addAndGet(-batch.size());
+                }
+            } catch (InterruptedException exception) {
+                return;
+            } catch (RuntimeException exception) {
+                entries = null;
+                try {
+                    TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads every unpaid bill into a new index and swaps it in. The changes queued before the load starts were
+     * committed before it, so it reads them and they are dropped; the ones queued during the load are applied after
+     * it.
+     */
+    public void reload() {
+        List<BillsChangedEvent> covered = new ArrayList<>();
+        changes.drainTo(covered);
+        var reloaded = new Entries();
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query(SELECT_UNPAID_BILLS + " ORDER BY due_date, id", resultSet -> {
+                    reloaded.put(readBill(resultSet));
+                }));
+        entries = reloaded;
+        pendingChanges.addAndGet(-covered.size());
+    }
+
+    /**
+     * A changed bill that is no longer read as unpaid was paid or deleted, and so was a bill on a changed due date
+     * that is not read there any more.
+     */
+    private void apply(List<BillsChangedEvent> batch) {
+        Set<UUID> ids = new HashSet<>();
+        Set<LocalDate> dueDates = new HashSet<>();
+        for (var event : batch) {
+            if (event.all()) {
+                reload();
+                return;
+            }
+            ids.addAll(event.ids());
+            dueDates.addAll(event.dueDates());
+        }
+        List<BillResponseDTO> bills = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT_CHANGED_BILLS, statement -> {
+            statement.setArray(1, statement.getConnection().createArrayOf("uuid", ids.toArray()));
+            statement.setArray(2, statement.getConnection().createArrayOf("date", dueDates.toArray()));
+        }, resultSet -> {
+            bills.add(readBill(resultSet));
+        }));
+
+        Set<UUID> found = new HashSet<>();
+        for (var bill : bills) {
+            found.add(bill.id());
+        }
+        var snapshot = entries;
+        for (var id : ids) {
+            if (!found.contains(id)) {
+                snapshot.remove(id);
+            }
+        }
+        for (var dueDate : dueDates) {
+            for (var key : snapshot.bills.subMap(new BillCursor(dueDate, FIRST_ID), true, new BillCursor(dueDate, LAST_ID), true).keySet()) {
+                if (!found.contains(key.id())) {
+                    snapshot.remove(key.id());
+                }
+            }
+        }
+        bills.forEach(snapshot::put);
+    }
+
+    private static BillResponseDTO readBill(ResultSet resultSet) throws SQLException {
+        return new BillResponseDTO(resultSet.getObject(1, UUID.class), resultSet.getObject(2, LocalDate.class),
+                resultSet.getObject(3, LocalDate.class), Money.ofCents(resultSet.getLong(4)), resultSet.getString(5),
+                Situation.fromCode(resultSet.getShort(6)), resultSet.getLong(7));
+    }
+
+    private static int compareUnsigned(UUID first, UUID second) {
+        var high = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (refresher == null) {
+            return;
+        }
+        running = false;
+        refresher.interrupt();
+        refresher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * The unpaid bills by position, and the due date of each one so that its position is found from its id. Only
+     * the refresher writes; the skip list is what the readers see.
+     */
+    private static final class Entries {
+
+        private final ConcurrentSkipListMap<BillCursor, BillResponseDTO> bills = new ConcurrentSkipListMap<>(ORDER);
+        private final Map<UUID, LocalDate> dueDates = new HashMap<>();
+
+        /**
+         * A bill that keeps its due date is replaced in place, so readers see either version of it.
+         */
+        void put(BillResponseDTO bill) {
+            var previousDueDate = dueDates.put(bill.id(), bill.dueDate());
+            if (previousDueDate != null && !previousDueDate.equals(bill.dueDate())) {
+                bills.remove(new BillCursor(previousDueDate, bill.id()));
+            }
+            bills.put(new BillCursor(bill.dueDate(), bill.id()), bill);
+        }
+
+        void remove(UUID id) {
+            var dueDate = dueDates.remove(id);
+            if (dueDate != null) {
+                bills.remove(new BillCursor(dueDate, id));
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.bmstech.payment.infra.due;
+
+import br.com.bmstech.payment.domain.dto.BillCursor;
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The unpaid bills, overdue or not, in {@code (due_date, id)} order, read a page at a time.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface DueBills {
+
+    /**
+     * Up to {@code limit} unpaid bills due from {@code from} to {@code to}, both inclusive, that come after
+     * {@code after}.
+     *
+     * @param from  earliest due date, {@code null} for no lower bound
+     * @param after last bill of the previous page, {@code null} for the first page
+     */
+    List<BillResponseDTO> findUnpaid(LocalDate from, LocalDate to, BillCursor after, int limit);
+}
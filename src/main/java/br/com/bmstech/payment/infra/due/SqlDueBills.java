@@ -0,0 +1,55 @@
+package br.com.bmstech.payment.infra.due;
+
+import br.com.bmstech.payment.domain.dto.BillCursor;
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link DueBills} as a range scan on {@code idx_bills_open_due_date_id}, which only holds the unpaid and overdue
+ * bills. The situations are written into the statement instead of bound, so the planner matches the predicate of
+ * that partial index under a generic plan as well.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlDueBills implements DueBills {
+
+    private static final String SELECT_UNPAID = """
+            SELECT id, payment_date, due_date, amount_cents, description, situation, version
+            FROM payment.bills WHERE situation IN (%d, %d) AND due_date <= ?"""
+            .formatted(Situation.UNPAID.getCode(), Situation.OVERDUE.getCode());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<BillResponseDTO> findUnpaid(LocalDate from, LocalDate to, BillCursor after, int limit) {
+        List<Object> arguments = new ArrayList<>(List.of(to));
+        var sql = new StringBuilder(SELECT_UNPAID);
+        if (from != null) {
+            sql.append(" AND due_date >= ?");
+            arguments.add(from);
+        }
+        if (after != null) {
+            sql.append(" AND (due_date, id) > (?, ?)");
+            arguments.add(after.dueDate());
+            arguments.add(after.id());
+        }
+        sql.append(" ORDER BY due_date, id LIMIT ?");
+        arguments.add(limit);
+        return jdbcTemplate.query(sql.toString(), (resultSet, row) -> new BillResponseDTO(
+                resultSet.getObject(1, UUID.class), resultSet.getObject(2, LocalDate.class),
+                resultSet.getObject(3, LocalDate.class), Money.ofCents(resultSet.getLong(4)), resultSet.getString(5),
+                Situation.fromCode(resultSet.getShort(6)), resultSet.getLong(7)), arguments.toArray());
+    }
+}
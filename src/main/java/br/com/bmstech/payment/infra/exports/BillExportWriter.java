@@ -0,0 +1,21 @@
+package br.com.bmstech.payment.infra.exports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+
+import java.io.IOException;
+
+/**
+ * Writes exported bills one at a time to a buffered output.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillExportWriter {
+
+    void write(Bill bill) throws IOException;
+
+    /**
+     * Flushes what is still buffered; the underlying output is left open.
+     */
+    void finish() throws IOException;
+}
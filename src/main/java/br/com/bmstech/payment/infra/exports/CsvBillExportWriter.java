@@ -0,0 +1,65 @@
+package br.com.bmstech.payment.infra.exports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.infra.imports.BillCsv;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Writes the columns of {@link BillCsv} in the same order, so an export can be imported back. Descriptions are
+ * always quoted, with embedded quotes doubled as in RFC 4180.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public class CsvBillExportWriter implements BillExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+
+    public CsvBillExportWriter(OutputStream output) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(String.join(",", BillCsv.COLUMNS));
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(Bill bill) throws IOException {
+        writer.write(bill.getDueDate().toString());
+        writer.write(',');
+        if (Objects.nonNull(bill.getPaymentDate())) {
+            writer.write(bill.getPaymentDate().toString());
+        }
+        writer.write(',');
+        writer.write(bill.getAmount().toString());
+        writer.write(',');
+        writeQuoted(bill.getDescription());
+        writer.write(',');
+        if (Objects.nonNull(bill.getSituation())) {
+            writer.write(bill.getSituation().name());
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeQuoted(String value) throws IOException {
+        writer.write('"');
+        if (value.indexOf('"') < 0) {
+            writer.write(value);
+        } else {
+            writer.write(value.replace("\"", "\"\""));
+        }
+        writer.write('"');
+    }
+}
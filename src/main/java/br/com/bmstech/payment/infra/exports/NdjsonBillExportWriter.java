@@ -0,0 +1,54 @@
+package br.com.bmstech.payment.infra.exports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.mappers.BillMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes each bill as the JSON object the other endpoints return, one per line.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public class NdjsonBillExportWriter implements BillExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream output;
+    private final SequenceWriter writer;
+    private final BillMapper billMapper;
+    private boolean empty = true;
+
+    public NdjsonBillExportWriter(OutputStream output, ObjectMapper objectMapper, BillMapper billMapper) throws IOException {
+        this.output = new BufferedOutputStream(output, BUFFER_SIZE);
+        this.writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(this.output);
+        this.billMapper = billMapper;
+    }
+
+    @Override
+    public void write(Bill bill) throws IOException {
+        writer.write(billMapper.mapEntityToDto(bill));
+        empty = false;
+    }
+
+    /**
+     * The separator only goes between values, so the last line is terminated here.
+     */
+    @Override
+    public void finish() throws IOException {
+        writer.close();
+        if (!empty) {
+            output.write('\n');
+        }
+        output.flush();
+    }
+}
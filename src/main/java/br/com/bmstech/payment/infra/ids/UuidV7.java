@@ -0,0 +1,67 @@
+package br.com.bmstech.payment.infra.ids;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs, version 7 (RFC 9562): 48 bits of Unix time in milliseconds, a 12 bit counter in
+ * {@code rand_a} and 62 random bits. Values generated in this JVM are strictly increasing, so inserts append to the
+ * right edge of a primary key index instead of landing on random pages.
+ * <p>
+ * The timestamp and the counter are kept together in one {@link AtomicLong} and advanced with a compare-and-set:
+ * the next value is the current millisecond with a zero counter, or the previous value plus one when the clock has
+ * not moved (or went back). When the counter overflows it carries into the timestamp, which runs slightly ahead of
+ * the clock until it catches up. No lock is taken.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        return of(nextTick(System.currentTimeMillis()), ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * The timestamp of a version 7 UUID, in milliseconds since the epoch.
+     */
+    public static long timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    /**
+     * Millisecond and counter of the next UUID, packed as {@code millis << 12 | counter}.
+     */
+    static long nextTick(long millis) {
+        var candidate = millis << COUNTER_BITS;
+        while (true) {
+            var last = LAST.get();
+            var next = candidate > last ? candidate : last + 1;
+            if (LAST.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    static UUID of(long tick, long random) {
+        var millis = tick >>> COUNTER_BITS;
+        var counter = tick & ((1L << COUNTER_BITS) - 1);
+        var mostSignificantBits = millis << 16 | VERSION | counter;
+        var leastSignificantBits = random & RANDOM_MASK | VARIANT;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
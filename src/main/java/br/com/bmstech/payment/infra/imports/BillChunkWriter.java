@@ -0,0 +1,22 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+
+import java.util.List;
+
+/**
+ * Persists one chunk of imported bills in its own transaction.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillChunkWriter {
+
+    ImportEngine engine();
+
+    /**
+     * Writes and commits the chunk, returning the number of rows stored.
+     */
+    int write(List<Bill> bills);
+}
@@ -0,0 +1,32 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+
+import java.util.List;
+
+/**
+ * Layout of the bill CSV file accepted by the import endpoints. Files are read by {@link BillCsvParser}.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public final class BillCsv {
+
+    public static final String DUE_DATE = "data_vencimento";
+    public static final String PAYMENT_DATE = "data_pagamento";
+    public static final String AMOUNT = "valor";
+    public static final String DESCRIPTION = "descricao";
+    public static final String SITUATION = "situacao";
+
+    public static final List<String> COLUMNS = List.of(DUE_DATE, PAYMENT_DATE, AMOUNT, DESCRIPTION, SITUATION);
+
+    private BillCsv() {
+    }
+
+    public static void checkHeader(List<String> header) {
+        var missing = COLUMNS.stream().filter(column -> !header.contains(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessException(String.format("The file does not have the column(s) %s.", String.join(", ", missing)));
+        }
+    }
+}
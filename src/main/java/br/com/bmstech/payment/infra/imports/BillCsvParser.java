@@ -0,0 +1,322 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parser dedicated to the bill CSV layout (RFC 4180 quoting). Records are scanned in a reusable char buffer and
+ * the values are converted straight from the char ranges: dates, amounts ({@link Money#parse}) and situations
+ * never go through an intermediate {@link String}, and the column positions are resolved once from the header
+ * instead of looking each cell up by name. The description is the only value copied out of the buffer.
+ * <p>
+ * Rows with invalid values are skipped and counted in {@link #rejected()}. Blank lines are ignored.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public final class BillCsvParser implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Situation[] SITUATIONS = Situation.values();
+    private static final char[][] SITUATION_NAMES = Arrays.stream(SITUATIONS)
+            .map(situation -> situation.name().toCharArray())
+            .toArray(char[][]::new);
+
+    private final Reader reader;
+    private Layout layout;
+
+    private char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private int fieldCount;
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private boolean[] escaped = new boolean[8];
+    private boolean malformed;
+
+    private long rejected;
+
+    /**
+     * Parses a slice of the file without a header line, using the column positions of the file header.
+     */
+    public BillCsvParser(Reader reader, Layout layout) {
+        this.reader = reader;
+        this.layout = layout;
+    }
+
+    /**
+     * Reads the header line and resolves the column positions from it.
+     *
+     * @throws br.com.bmstech.payment.domain.exceptions.BusinessException when a column is missing
+     */
+    public static BillCsvParser open(Reader reader) throws IOException {
+        var parser = new BillCsvParser(reader, null);
+        List<String> header = new ArrayList<>();
+        if (parser.nextRecord()) {
+            for (int field = 0; field < parser.fieldCount; field++) {
+                header.add(parser.text(field));
+            }
+        }
+        parser.layout = Layout.of(header);
+        return parser;
+    }
+
+    public Layout layout() {
+        return layout;
+    }
+
+    /**
+     * Rows skipped so far because a value could not be converted.
+     */
+    public long rejected() {
+        return rejected;
+    }
+
+    /**
+     * @return the next valid bill, or {@code null} at the end of the input
+     */
+    public Bill next() throws IOException {
+        while (nextRecord()) {
+            if (fieldCount == 1 && starts[0] == ends[0] && !malformed) {
+                continue;
+            }
+            if (malformed || fieldCount < layout.width()) {
+                rejected++;
+                continue;
+            }
+            try {
+                return toBill();
+            } catch (IllegalArgumentException | DateTimeException exception) {
+                rejected++;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Bill toBill() {
+        var paymentDate = layout.paymentDate();
+        var situation = layout.situation();
+
+        Bill bill = new Bill();
+        bill.setDueDate(parseDate(starts[layout.dueDate()], ends[layout.dueDate()]));
+        bill.setPaymentDate(starts[paymentDate] < ends[paymentDate] ? parseDate(starts[paymentDate], ends[paymentDate]) : null);
+        bill.setAmount(Money.parse(buffer, starts[layout.amount()], ends[layout.amount()]));
+        bill.setDescription(text(layout.description()));
+        bill.setSituation(starts[situation] < ends[situation] ? parseSituation(starts[situation], ends[situation]) : Situation.UNPAID);
+        return bill;
+    }
+
+    /**
+     * ISO local date, {@code yyyy-MM-dd}.
+     */
+    private LocalDate parseDate(int start, int end) {
+        if (end - start != 10 || buffer[start + 4] != '-' || buffer[start + 7] != '-') {
+            throw new DateTimeException("Invalid date");
+        }
+        return LocalDate.of(digits(start, start + 4), digits(start + 5, start + 7), digits(start + 8, start + 10));
+    }
+
+    private int digits(int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            var digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new DateTimeException("Invalid date");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private Situation parseSituation(int start, int end) {
+        for (int i = 0; i < SITUATION_NAMES.length; i++) {
+            if (Arrays.equals(buffer, start, end, SITUATION_NAMES[i], 0, SITUATION_NAMES[i].length)) {
+                return SITUATIONS[i];
+            }
+        }
+        throw new IllegalArgumentException("Invalid situation");
+    }
+
+    private String text(int field) {
+        var start = starts[field];
+        var end = ends[field];
+        if (!escaped[field]) {
+            return new String(buffer, start, end - start);
+        }
+        var text = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            text.append(buffer[i]);
+            if (buffer[i] == '"') {
+                i++;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Scans the next record, refilling the buffer when it ends in the middle of one.
+     */
+    private boolean nextRecord() throws IOException {
+        while (true) {
+            if (position == limit) {
+                if (eof) {
+                    return false;
+                }
+                fill();
+                continue;
+            }
+            var next = scan(position);
+            if (next >= 0) {
+                position = next;
+                return true;
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Keeps the unread part of the buffer, growing it when a single record fills it, and reads more input.
+     */
+    private void fill() throws IOException {
+        var remaining = limit - position;
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        } else if (remaining == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        position = 0;
+        limit = remaining;
+        var read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    /**
+     * Records the trimmed bounds of every field of the record starting at {@code from}.
+     *
+     * @return the position after the line break, or {@code -1} when the buffer ends before the record does
+     */
+    private int scan(int from) {
+        var chars = buffer;
+        var end = limit;
+        var i = from;
+        fieldCount = 0;
+        malformed = false;
+        while (true) {
+            if (i < end && chars[i] == '"') {
+                var start = ++i;
+                var quotes = false;
+                while (true) {
+                    if (i >= end) {
+                        if (!eof) {
+                            return -1;
+                        }
+                        malformed = true;
+                        addField(start, end, quotes);
+                        return end;
+                    }
+                    if (chars[i] == '"') {
+                        if (i + 1 >= end && !eof) {
+                            return -1;
+                        }
+                        if (i + 1 < end && chars[i + 1] == '"') {
+                            quotes = true;
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                addField(start, i++, quotes);
+                while (i < end && chars[i] != ',' && chars[i] != '\n' && chars[i] != '\r') {
+                    malformed = true;
+                    i++;
+                }
+            } else {
+                var start = i;
+                while (i < end && chars[i] != ',' && chars[i] != '\n' && chars[i] != '\r') {
+                    i++;
+                }
+                addField(start, i, false);
+            }
+            if (i >= end) {
+                return eof ? end : -1;
+            }
+            if (chars[i] == ',') {
+                i++;
+                continue;
+            }
+            if (chars[i] == '\r') {
+                if (i + 1 >= end && !eof) {
+                    return -1;
+                }
+                if (i + 1 < end && chars[i + 1] == '\n') {
+                    i++;
+                }
+            }
+            return i + 1;
+        }
+    }
+
+    private void addField(int start, int end, boolean quotes) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+            escaped = Arrays.copyOf(escaped, fieldCount * 2);
+        }
+        while (start < end && Character.isWhitespace(buffer[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(buffer[end - 1])) {
+            end--;
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        escaped[fieldCount] = quotes;
+        fieldCount++;
+    }
+
+    /**
+     * Position of each column in a record, resolved from the header.
+     *
+     * @param width number of fields a record needs to have every column
+     */
+    public record Layout(int dueDate, int paymentDate, int amount, int description, int situation, int width) {
+
+        /**
+         * @throws br.com.bmstech.payment.domain.exceptions.BusinessException when a column is missing
+         */
+        public static Layout of(List<String> header) {
+            BillCsv.checkHeader(header);
+            var dueDate = header.indexOf(BillCsv.DUE_DATE);
+            var paymentDate = header.indexOf(BillCsv.PAYMENT_DATE);
+            var amount = header.indexOf(BillCsv.AMOUNT);
+            var description = header.indexOf(BillCsv.DESCRIPTION);
+            var situation = header.indexOf(BillCsv.SITUATION);
+            var width = 1 + Math.max(Math.max(dueDate, paymentDate), Math.max(amount, Math.max(description, situation)));
+            return new Layout(dueDate, paymentDate, amount, description, situation, width);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Parse stage of the import pipeline: turns the uploaded file into chunks of bills.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillReader {
+
+    /**
+     * Hands the parsed bills over in chunks, stopping as soon as the consumer returns {@code false}.
+     */
+    void read(ChunkConsumer consumer) throws IOException;
+
+    @FunctionalInterface
+    interface ChunkConsumer {
+
+        /**
+         * @param bills    valid bills of the chunk; the list is only valid during the call
+         * @param rejected rows of the chunk that could not be converted
+         * @param bytesRead bytes of the file consumed so far
+         */
+        boolean accept(List<Bill> bills, int rejected, long bytesRead);
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.infra.ids.UuidV7;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes chunks with PostgreSQL's native bulk load. Rows are streamed with {@code COPY ... FROM STDIN} into a
+ * session-local staging table and then moved to {@code payment.bills} with a single {@code INSERT ... SELECT}, so
+ * a chunk the server refuses never reaches the target table. The staging rows are discarded at commit.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CopyBillChunkWriter implements BillChunkWriter {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMPORARY TABLE IF NOT EXISTS bills_staging
+            (LIKE payment.bills INCLUDING DEFAULTS) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String COPY_STAGING = """
+            COPY bills_staging (id, payment_date, due_date, amount_cents, description, situation)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String MOVE_STAGING = """
+            INSERT INTO payment.bills (id, payment_date, due_date, amount_cents, description, situation)
+            SELECT id, payment_date, due_date, amount_cents, description, situation FROM bills_staging
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public ImportEngine engine() {
+        return ImportEngine.COPY;
+    }
+
+    @Override
+    public int write(List<Bill> bills) {
+        Integer inserted = transactionTemplate.execute(status -> jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (var statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+            }
+            var pgConnection = connection.unwrap(PGConnection.class);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(pgConnection, COPY_STAGING, COPY_BUFFER_SIZE), StandardCharsets.UTF_8))) {
+                for (Bill bill : bills) {
+                    writeRow(writer, bill);
+                }
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            try (var statement = connection.createStatement()) {
+                return statement.executeUpdate(MOVE_STAGING);
+            }
+        }));
+        return Objects.requireNonNullElse(inserted, 0);
+    }
+
+    private static void writeRow(Writer writer, Bill bill) throws IOException {
+        if (Objects.isNull(bill.getId())) {
+            bill.setId(UuidV7.next());
+        }
+        writer.write(bill.getId().toString());
+        writer.write(',');
+        if (Objects.nonNull(bill.getPaymentDate())) {
+            writer.write(bill.getPaymentDate().toString());
+        }
+        writer.write(',');
+        writer.write(bill.getDueDate().toString());
+        writer.write(',');
+        writer.write(Long.toString(bill.getAmount().cents()));
+        writer.write(',');
+        writeQuoted(writer, bill.getDescription());
+        writer.write(',');
+        writer.write(Short.toString(bill.getSituation().getCode()));
+        writer.write('\n');
+    }
+
+    /**
+     * Quoted values are never read as NULL by {@code COPY}, and embedded quotes are doubled as in RFC 4180.
+     */
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.bmstech.payment.infra.imports;
+
+/**
+ * Receives the running totals of an import after every committed chunk.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ImportListener {
+
+    ImportListener NONE = (accepted, rejected, bytesRead, elapsedNanos) -> true;
+
+    /**
+     * @return {@code false} to stop the import after the chunk that was just committed
+     */
+    boolean onChunk(long accepted, long rejected, long bytesRead, long elapsedNanos);
+}
@@ -0,0 +1,19 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+
+/**
+ * Choices made by the caller of an import. A {@code null} component falls back to the configured default.
+ *
+ * @param engine   how the rows are written
+ * @param parallel parse the file on several cores
+ * @param ordered  keep the file order when parsing in parallel
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public record ImportOptions(ImportEngine engine, Boolean parallel, Boolean ordered) {
+
+    public static ImportOptions of(ImportEngine engine) {
+        return new ImportOptions(engine, null, null);
+    }
+}
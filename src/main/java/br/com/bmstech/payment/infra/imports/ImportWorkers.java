@@ -0,0 +1,57 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.application.configs.BillImportProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread pools of the import pipeline. They are kept out of the application context on purpose: an
+ * {@link java.util.concurrent.Executor} bean would replace Spring Boot's default task executor.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+public class ImportWorkers {
+
+    private final ThreadPoolExecutor jobs;
+    private final ForkJoinPool parsers;
+
+    /**
+     * Jobs run on virtual threads. The pool size caps how many imports hit the database at once and the bounded
+     * queue makes the submission fail fast instead of piling up uploads on disk.
+     */
+    public ImportWorkers(BillImportProperties properties) {
+        var settings = properties.jobs();
+        this.jobs = new ThreadPoolExecutor(settings.maxConcurrent(), settings.maxConcurrent(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.queueCapacity()),
+                Thread.ofVirtual().name("bill-import-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.parsers = new ForkJoinPool(properties.parallel().effectiveThreads());
+    }
+
+    /**
+     * @throws java.util.concurrent.RejectedExecutionException when the queue is full
+     */
+    public void submitJob(Runnable job) {
+        jobs.execute(job);
+    }
+
+    /**
+     * CPU-bound pool shared by the parallel parse stage of every import.
+     */
+    public ForkJoinPool parsers() {
+        return parsers;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.shutdownNow();
+        parsers.shutdownNow();
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Writes chunks through Hibernate. Bills are new entities with generated ids, so {@code persist} never selects
+ * before inserting and the inserts go out as JDBC batches ({@code hibernate.jdbc.batch_size}). The persistence
+ * context is cleared after every chunk to keep the heap flat.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class JpaBillChunkWriter implements BillChunkWriter {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public ImportEngine engine() {
+        return ImportEngine.JPA;
+    }
+
+    @Override
+    public int write(List<Bill> bills) {
+        transactionTemplate.executeWithoutResult(status -> {
+            bills.forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return bills.size();
+    }
+}
@@ -0,0 +1,303 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Parses a spooled upload on several cores. The file is memory-mapped and cut into byte ranges that end on a
+ * record boundary: a single sequential pass follows the quoting rules of {@link BillCsvParser}, so line breaks
+ * inside quoted values never split a record. Every range is parsed on the pool and its result goes through a bounded queue to the calling
+ * thread, which feeds the insert stage.
+ * <p>
+ * At most {@code maxInFlight} ranges are parsed or waiting at any time, which bounds the memory used no matter
+ * how large the file is. In ordered mode ranges are delivered in file order; otherwise as soon as they are parsed.
+ * When the read ends early, the ranges not parsed yet are dropped and the ones being parsed stop at the next record,
+ * so nothing keeps running on the shared pool once the read returns.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public class ParallelBillReader implements BillReader {
+
+    private static final long SCAN_WINDOW = 256L * 1024 * 1024;
+
+    private static final CompletableFuture<ParsedRange> END = CompletableFuture.completedFuture(null);
+
+    private final Path file;
+    private final int chunkSize;
+    private final ExecutorService pool;
+    private final long rangeSize;
+    private final int maxInFlight;
+    private final boolean ordered;
+
+    public ParallelBillReader(Path file, int chunkSize, ExecutorService pool, long rangeSize, int maxInFlight, boolean ordered) {
+        this.file = file;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+        this.rangeSize = rangeSize;
+        this.maxInFlight = maxInFlight;
+        this.ordered = ordered;
+    }
+
+    @Override
+    public void read(ChunkConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var size = channel.size();
+            var headerEnd = headerEnd(channel, size);
+            var layout = readLayout(channel, headerEnd);
+
+            var run = new Run(channel, layout);
+            var splitter = Thread.ofVirtual().name("bill-import-splitter").start(() -> run.split(headerEnd, size));
+            try {
+                var bytesRead = headerEnd;
+                while (true) {
+                    var next = run.queue.take();
+                    if (next == END) {
+                        return;
+                    }
+                    var range = join(next);
+                    run.permits.release();
+                    bytesRead += range.length();
+                    if (!deliver(range, bytesRead, consumer)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import interrupted");
+            } finally {
+                run.stop(splitter);
+            }
+        }
+    }
+
+    private boolean deliver(ParsedRange range, long bytesRead, ChunkConsumer consumer) {
+        var bills = range.bills();
+        if (bills.isEmpty()) {
+            return consumer.accept(bills, range.rejected(), bytesRead);
+        }
+        for (int from = 0; from < bills.size(); from += chunkSize) {
+            var chunk = bills.subList(from, Math.min(from + chunkSize, bills.size()));
+            if (!consumer.accept(chunk, from == 0 ? range.rejected() : 0, bytesRead)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Position right after the line break that ends the header record.
+     */
+    private static long headerEnd(FileChannel channel, long size) throws IOException {
+        var boundaries = new RecordBoundaries();
+        for (long windowStart = 0; windowStart < size; windowStart += SCAN_WINDOW) {
+            var window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(SCAN_WINDOW, size - windowStart));
+            for (int i = 0; i < window.limit(); i++) {
+                if (boundaries.endsRecord(window.get(i))) {
+                    return windowStart + i + 1;
+                }
+            }
+        }
+        return size;
+    }
+
+    private static BillCsvParser.Layout readLayout(FileChannel channel, long headerEnd) throws IOException {
+        var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerEnd);
+        try (BillCsvParser parser = BillCsvParser.open(reader(buffer))) {
+            return parser.layout();
+        }
+    }
+
+    private static Reader reader(MappedByteBuffer buffer) {
+        return new InputStreamReader(new ByteBufferInputStream(buffer), StandardCharsets.UTF_8);
+    }
+
+    private static ParsedRange join(CompletableFuture<ParsedRange> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            if (exception.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw exception;
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record ParsedRange(List<Bill> bills, int rejected, long length) {
+    }
+
+    /**
+     * Finds the line breaks that end a record, byte by byte, with the rules of {@link BillCsvParser}: only a quote
+     * that opens a field starts a quoted value, where two quotes are an escaped quote and a line break is part of the
+     * value. Any other quote is a literal character.
+     */
+    private static final class RecordBoundaries {
+
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED = 1;
+        private static final int QUOTED = 2;
+        private static final int QUOTE_IN_QUOTED = 3;
+
+        private int state = FIELD_START;
+
+        private boolean endsRecord(byte b) {
+            if (state == QUOTED) {
+                if (b == '"') {
+                    state = QUOTE_IN_QUOTED;
+                }
+                return false;
+            }
+            if (b == '\n' || b == '\r' || b == ',') {
+                state = FIELD_START;
+                return b == '\n';
+            }
+            if (b == '"' && (state == FIELD_START || state == QUOTE_IN_QUOTED)) {
+                state = QUOTED;
+            } else {
+                state = UNQUOTED;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * State shared by the splitter thread, the parse tasks and the consumer during one read.
+     */
+    private class Run {
+
+        private final FileChannel channel;
+        private final BillCsvParser.Layout layout;
+        private final BlockingQueue<CompletableFuture<ParsedRange>> queue = new ArrayBlockingQueue<>(maxInFlight + 1);
+        private final Semaphore permits = new Semaphore(maxInFlight);
+        private final Set<CompletableFuture<ParsedRange>> inFlight = ConcurrentHashMap.newKeySet();
+        private final ReentrantReadWriteLock parsing = new ReentrantReadWriteLock();
+        private volatile boolean stopped;
+
+        private Run(FileChannel channel, BillCsvParser.Layout layout) {
+            this.channel = channel;
+            this.layout = layout;
+        }
+
+        /**
+         * Scans the file once and submits a range every time at least {@code rangeSize} bytes were seen and a record
+         * ends.
+         */
+        private void split(long from, long size) {
+            try {
+                var start = from;
+                var boundaries = new RecordBoundaries();
+                for (long windowStart = from; windowStart < size && !stopped; windowStart += SCAN_WINDOW) {
+                    var window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(SCAN_WINDOW, size - windowStart));
+                    for (int i = 0; i < window.limit(); i++) {
+                        if (boundaries.endsRecord(window.get(i)) && windowStart + i + 1 - start >= rangeSize) {
+                            submit(start, windowStart + i + 1);
+                            start = windowStart + i + 1;
+                        }
+                    }
+                }
+                if (start < size && !stopped) {
+                    submit(start, size);
+                }
+                permits.acquire(maxInFlight);
+                queue.put(END);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException exception) {
+                queue.offer(CompletableFuture.failedFuture(exception));
+            }
+        }
+
+        private void submit(long start, long end) throws InterruptedException {
+            permits.acquire();
+            var future = CompletableFuture.supplyAsync(() -> parse(start, end), pool);
+            inFlight.add(future);
+            future.whenComplete((range, exception) -> {
+                inFlight.remove(future);
+                if (!ordered) {
+                    queue.add(future);
+                }
+            });
+            if (ordered) {
+                queue.put(future);
+            }
+        }
+
+        /**
+         * Parses under the read lock, so {@link #stop} can wait for the parses in progress by taking the write lock.
+         */
+        private ParsedRange parse(long start, long end) {
+            if (!parsing.readLock().tryLock()) {
+                throw new CancellationException("Import stopped");
+            }
+            try {
+                if (stopped) {
+                    throw new CancellationException("Import stopped");
+                }
+                return parseRange(start, end);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            } finally {
+                parsing.readLock().unlock();
+            }
+        }
+
+        private ParsedRange parseRange(long start, long end) throws IOException {
+            try (BillCsvParser parser = new BillCsvParser(reader(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start)), layout)) {
+                List<Bill> bills = new ArrayList<>();
+                Bill bill;
+                while (!stopped && (bill = parser.next()) != null) {
+                    bills.add(bill);
+                }
+                return new ParsedRange(bills, (int) parser.rejected(), end - start);
+            }
+        }
+
+        /**
+         * Stops the splitter, cancels the ranges whose parse has not started and waits for the ones being parsed.
+         */
+        private void stop(Thread splitter) {
+            stopped = true;
+            splitter.interrupt();
+            joinQuietly(splitter);
+            inFlight.forEach(future -> future.cancel(false));
+            parsing.writeLock().lock();
+            parsing.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads records one at a time on the calling thread.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@RequiredArgsConstructor
+public class SequentialBillReader implements BillReader {
+
+    private final InputStream input;
+    private final int chunkSize;
+
+    @Override
+    public void read(ChunkConsumer consumer) throws IOException {
+        var countingInput = new CountingInputStream(input);
+        try (BillCsvParser parser = BillCsvParser.open(new InputStreamReader(countingInput, StandardCharsets.UTF_8))) {
+            List<Bill> chunk = new ArrayList<>(chunkSize);
+            long reported = 0;
+            Bill bill;
+            while ((bill = parser.next()) != null) {
+                chunk.add(bill);
+                if (chunk.size() == chunkSize) {
+                    if (!consumer.accept(chunk, (int) (parser.rejected() - reported), countingInput.getCount())) {
+                        return;
+                    }
+                    reported = parser.rejected();
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty() || parser.rejected() > reported) {
+                consumer.accept(chunk, (int) (parser.rejected() - reported), countingInput.getCount());
+            }
+        }
+    }
+}
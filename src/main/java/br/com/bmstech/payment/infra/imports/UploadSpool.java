@@ -0,0 +1,84 @@
+package br.com.bmstech.payment.infra.imports;
+
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Copies uploads to temporary files, for imports that outlive the request or need random access to the content.
+ * Every spool lives in one directory, and the spool of an import job is named after the job, so a restart can find
+ * the uploads of the jobs still queued and delete what the previous run left behind.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public final class UploadSpool {
+
+    private static final Path DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "bill-imports");
+
+    private UploadSpool() {
+    }
+
+    public static Path spool(MultipartFile file) {
+        try {
+            return copy(file, Files.createTempFile(directory(), "bill-import-", ".csv"));
+        } catch (IOException exception) {
+            throw new BusinessException("The file could not be read.");
+        }
+    }
+
+    public static Path spool(MultipartFile file, UUID jobId) {
+        try {
+            return copy(file, directory().resolve(fileName(jobId)));
+        } catch (IOException exception) {
+            throw new BusinessException("The file could not be read.");
+        }
+    }
+
+    /**
+     * Where the upload of an import job is spooled.
+     */
+    public static Path of(UUID jobId) {
+        return DIRECTORY.resolve(fileName(jobId));
+    }
+
+    public static void delete(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException ignored) {
+            spool.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Deletes every spool but the given ones. What cannot be listed or deleted is left for the next restart.
+     */
+    public static void deleteAllExcept(Collection<Path> kept) {
+        try (var spools = Files.list(directory())) {
+            spools.filter(spool -> !kept.contains(spool)).forEach(UploadSpool::delete);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static Path copy(MultipartFile file, Path spool) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            Files.copy(input, spool, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return spool;
+    }
+
+    private static String fileName(UUID jobId) {
+        return "job-" + jobId + ".csv";
+    }
+
+    private static Path directory() throws IOException {
+        return Files.createDirectories(DIRECTORY);
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.bmstech.payment.infra.security;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of UUIDs: {@link #mightContain} never misses an added id and wrongly reports an absent one with the
+ * false positive rate it was sized for, as long as it holds no more ids than expected. The bit positions come from
+ * double hashing of the two halves of the id. Adding and reading are safe from any thread, without locking.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+        this.bits = (long) words.length() * 64;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Filter with the fewest bits that keeps the false positive rate for the expected number of ids.
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        var expected = Math.max(1, expectedInsertions);
+        var bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        var hashes = (int) Math.max(1, Math.round((double) bits / expected * Math.log(2)));
+        return new BloomFilter(Math.max(64, bits), hashes);
+    }
+
+    public void add(UUID id) {
+        var hash1 = mix(id.getMostSignificantBits());
+        var hash2 = mix(id.getLeastSignificantBits());
+        for (int i = 0; i < hashes; i++) {
+            var bit = Long.remainderUnsigned(hash1 + i * hash2, bits);
+            var mask = 1L << bit;
+            var word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, added) -> current | added);
+            }
+        }
+    }
+
+    public boolean mightContain(UUID id) {
+        var hash1 = mix(id.getMostSignificantBits());
+        var hash2 = mix(id.getLeastSignificantBits());
+        for (int i = 0; i < hashes; i++) {
+            var bit = Long.remainderUnsigned(hash1 + i * hash2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Size of the filter in bits.
+     */
+    public long bitSize() {
+        return bits;
+    }
+
+    /**
+     * Finalizer of MurmurHash3, so that ids differing in a few bits set very different positions.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.bmstech.payment.infra.security;
+
+import br.com.bmstech.payment.application.configs.PasswordHashingProperties;
+import br.com.bmstech.payment.domain.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks passwords on a dedicated pool, off the request threads. BCrypt is slow on purpose, so a burst of logins
+ * would otherwise hold every servlet thread and stall the other endpoints. The pool has one thread per processor by
+ * default, the work being CPU-bound, and a bounded queue: when it is full the login is refused at once with a
+ * {@link TooManyRequestsException} instead of waiting.
+ * <p>
+ * Published meters: {@code auth.password.hash} (time spent hashing), {@code auth.password.wait} (time queued),
+ * {@code auth.password.rejected} and the {@code executor.*} meters of the {@code auth.password} pool, among which
+ * {@code executor.queued} is the queue depth.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder, PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        var threads = properties.effectiveThreads();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashTimer = Timer.builder("auth.password.hash").register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.password.wait").register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected").register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "auth.password", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * @throws TooManyRequestsException when the queue is full
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        var submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+            }, executor);
+        } catch (RejectedExecutionException exception) {
+            rejected.increment();
+            throw new TooManyRequestsException("There are too many logins in progress. Please try again in a moment.");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.bmstech.payment.infra.security;
+
+import br.com.bmstech.payment.domain.dto.LoginResponseDTO;
+import br.com.bmstech.payment.domain.entity.User;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+import br.com.bmstech.payment.domain.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+/**
+ * Exchanges a refresh token for a new access token without checking the password again. Refresh tokens rotate:
+ * each one is revoked when used and a new one is returned with the access token, so a token that was already
+ * exchanged, by a concurrent request or by someone who copied it, is refused. The time taken is published as
+ * {@code auth.token.refresh}.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Service
+public class RefreshTokenService {
+
+    private final TokenService tokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserRepository userRepository;
+    private final Timer refreshTimer;
+
+    public RefreshTokenService(TokenService tokenService, TokenRevocationService tokenRevocationService,
+                               UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.tokenService = tokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userRepository = userRepository;
+        this.refreshTimer = Timer.builder("auth.token.refresh").register(meterRegistry);
+    }
+
+    /**
+     * Access and refresh tokens issued at login.
+     */
+    public LoginResponseDTO issue(User user) {
+        return new LoginResponseDTO(user.getName(), tokenService.generateToken(user), tokenService.generateRefreshToken(user));
+    }
+
+    /**
+     * @throws BusinessException when the refresh token is not valid, was already used or its user no longer exists
+     */
+    public LoginResponseDTO refresh(String refreshToken) {
+        return refreshTimer.record(() -> {
+            var decoded = tokenService.verifyRefreshToken(refreshToken);
+            if (Objects.isNull(decoded) || !tokenRevocationService.revoke(decoded)) {
+                throw new BusinessException("The refresh token is not valid.");
+            }
+            var user = userRepository.findByEmail(decoded.getSubject())
+                    .orElseThrow(() -> new BusinessException("The refresh token is not valid."));
+            return issue(user);
+        });
+    }
+
+    /**
+     * Revokes a refresh token, if it is valid, so that it cannot be exchanged any more.
+     */
+    public void revoke(String refreshToken) {
+        var decoded = tokenService.verifyRefreshToken(refreshToken);
+        if (Objects.nonNull(decoded)) {
+            tokenRevocationService.revoke(decoded);
+        }
+    }
+}
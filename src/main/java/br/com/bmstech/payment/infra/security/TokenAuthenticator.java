@@ -0,0 +1,153 @@
+package br.com.bmstech.payment.infra.security;
+
+import br.com.bmstech.payment.application.configs.TokenProperties;
+import br.com.bmstech.payment.domain.entity.User;
+import br.com.bmstech.payment.domain.repositories.UserRepository;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Resolves the user of a bearer token. A verified token is kept in a bounded cache, keyed by its SHA-256 digest so
+ * that no usable token stays in memory, until the configured time or its own expiration, whichever comes first:
+ * the following requests with it neither verify the signature again nor look the user up. Rejected tokens are not
+ * cached. The cache is published as the {@code cache.*} meters of {@code auth.tokens}.
+ * <p>
+ * The user comes from the {@code uid} and {@code name} claims when {@code api.security.token.principal-from-claims}
+ * is set, from the database otherwise. A user deleted or changed in the database is seen once the cached token
+ * expires.
+ * <p>
+ * Every request, cached or not, checks the {@code jti} of the token against {@link TokenRevocationService}, which
+ * answers from memory unless the token was likely revoked.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Component
+public class TokenAuthenticator {
+
+    private final TokenService tokenService;
+    private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean principalFromClaims;
+    private final boolean cacheEnabled;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public TokenAuthenticator(TokenService tokenService, UserRepository userRepository,
+                              TokenRevocationService tokenRevocationService, TokenProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.tokenService = tokenService;
+        this.userRepository = userRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.principalFromClaims = properties.principalFromClaims();
+        this.cacheEnabled = properties.cache().enabled();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.cache().maximumSize())
+                .expireAfter(new UntilExpiration(properties.cache().expireAfterWrite()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "auth.tokens");
+    }
+
+    /**
+     * @return the user of the token, or empty when the token is not valid, was revoked or its user does not exist
+     */
+    public Optional<User> authenticate(String token) {
+        if (Objects.isNull(token)) {
+            return Optional.empty();
+        }
+        if (!cacheEnabled) {
+            return Optional.ofNullable(verify(token))
+                    .filter(verified -> !tokenRevocationService.isRevoked(verified.jti()))
+                    .map(VerifiedToken::user);
+        }
+        var digest = digest(token);
+        var verified = verifiedTokens.getIfPresent(digest);
+        if (Objects.isNull(verified)) {
+            verified = verify(token);
+            if (Objects.isNull(verified)) {
+                return Optional.empty();
+            }
+            verifiedTokens.put(digest, verified);
+        }
+        if (tokenRevocationService.isRevoked(verified.jti())) {
+            verifiedTokens.invalidate(digest);
+            return Optional.empty();
+        }
+        return Optional.of(verified.user());
+    }
+
+    private VerifiedToken verify(String token) {
+        var decoded = tokenService.verify(token);
+        if (Objects.isNull(decoded)) {
+            return null;
+        }
+        var user = principalFromClaims ? fromClaims(decoded) : null;
+        if (Objects.isNull(user)) {
+            user = userRepository.findByEmail(decoded.getSubject()).orElse(null);
+        }
+        if (Objects.isNull(user)) {
+            return null;
+        }
+        return new VerifiedToken(user, decoded.getId(), decoded.getExpiresAtAsInstant());
+    }
+
+    private static User fromClaims(DecodedJWT decoded) {
+        var id = decoded.getClaim(TokenService.USER_ID_CLAIM).asString();
+        var name = decoded.getClaim(TokenService.NAME_CLAIM).asString();
+        if (Objects.isNull(id) || Objects.isNull(name)) {
+            return null;
+        }
+        return new User(id, name, decoded.getSubject(), null);
+    }
+
+    private static String digest(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private record VerifiedToken(User user, String jti, Instant expiresAt) {
+    }
+
+    /**
+     * Keeps a token for the configured time, but never past its own expiration. Reads and updates leave it as is.
+     */
+    private record UntilExpiration(Duration maximum) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken verified, long currentTime) {
+            if (Objects.isNull(verified.expiresAt())) {
+                return maximum.toNanos();
+            }
+            var remaining = Duration.between(Instant.now(), verified.expiresAt());
+            return Math.max(0, Math.min(remaining.toNanos(), maximum.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.bmstech.payment.infra.security;
+
+import br.com.bmstech.payment.application.configs.TokenProperties;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+import br.com.bmstech.payment.domain.repositories.RevokedTokenRepository;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Revoked tokens are recorded in {@code payment.revoked_tokens} and mirrored in a {@link BloomFilter}, so that checking
+ * a token that was not revoked, the common case, never leaves memory. Only when the filter reports the token does an
+ * exact lookup by primary key tell a revocation from a false positive.
+ * <p>
+ * Revocations made here are added to the filter at once; those made by other instances, or inserted in the table
+ * directly, are read every {@code refresh-interval}, looking a minute back so that rows committed late are not
+ * missed. A revocation only matters until the token expires: once per {@link TokenService#TOKEN_LIFETIME} the
+ * filter is rebuilt from the unexpired rows and the expired ones are deleted. The filter therefore holds at most
+ * two lifetimes of revocations, and is sized for that. The filter only reads rows expiring within one lifetime:
+ * revoked refresh tokens, which live longer and are never checked through it, stay out of it.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Duration LOOKBACK = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenService tokenService;
+    private final TaskScheduler taskScheduler;
+    private final TokenProperties.Revocation properties;
+
+    private volatile BloomFilter filter;
+    private Instant refreshedAt = Instant.EPOCH;
+    private Instant rebuiltAt = Instant.EPOCH;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, TokenService tokenService,
+                                  TaskScheduler taskScheduler, TokenProperties properties) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenService = tokenService;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties.revocation();
+        this.filter = newFilter(0);
+    }
+
+    @PostConstruct
+    void start() {
+        refresh();
+        taskScheduler.scheduleWithFixedDelay(this::refresh, properties.refreshInterval());
+    }
+
+    /**
+     * Revokes the access token until it expires.
+     *
+     * @throws BusinessException when the token is not valid or was issued without an id
+     */
+    public void revoke(String token) {
+        var decoded = tokenService.verify(token);
+        if (Objects.isNull(decoded)) {
+            throw new BusinessException("This token cannot be revoked.");
+        }
+        revoke(decoded);
+    }
+
+    /**
+     * Revokes a verified token, access or refresh, until it expires. Only one of concurrent calls for the same token
+     * revokes it, which makes this a safe way to let a token be used once.
+     *
+     * @return {@code false} when the token was already revoked
+     * @throws BusinessException when the token was issued without an id
+     */
+    public boolean revoke(DecodedJWT decoded) {
+        var jti = toUuid(decoded.getId());
+        if (Objects.isNull(jti)) {
+            throw new BusinessException("This token cannot be revoked.");
+        }
+        var expiresAt = decoded.getExpiresAtAsInstant();
+        var revoked = revokedTokenRepository.insertIfAbsent(jti, expiresAt.atOffset(ZoneOffset.UTC), OffsetDateTime.now()) == 1;
+        if (!expiresAt.isAfter(Instant.now().plus(TokenService.TOKEN_LIFETIME))) {
+            filter.add(jti);
+        }
+        return revoked;
+    }
+
+    /**
+     * @param jti the {@code jti} claim of a verified token, {@code null} for tokens issued without one
+     */
+    public boolean isRevoked(String jti) {
+        var id = toUuid(jti);
+        if (Objects.isNull(id) || !filter.mightContain(id)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(id);
+    }
+
+    /**
+     * Adds the revocations made since the last refresh, or rebuilds the filter when a token lifetime has passed
+     * since the last rebuild.
+     */
+    synchronized void refresh() {
+        var now = Instant.now();
+        var nowAtOffset = now.atOffset(ZoneOffset.UTC);
+        var until = now.plus(TokenService.TOKEN_LIFETIME).atOffset(ZoneOffset.UTC);
+        if (Duration.between(rebuiltAt, now).compareTo(TokenService.TOKEN_LIFETIME) >= 0) {
+            revokedTokenRepository.deleteExpired(nowAtOffset);
+            var jtis = revokedTokenRepository.findJtisExpiringBetween(nowAtOffset, until);
+            var rebuilt = newFilter(jtis.size());
+            jtis.forEach(rebuilt::add);
+            filter = rebuilt;
+            rebuiltAt = now;
+        } else {
+            var since = refreshedAt.minus(LOOKBACK).atOffset(ZoneOffset.UTC);
+            var current = filter;
+            revokedTokenRepository.findJtisRevokedSince(since, nowAtOffset, until).forEach(current::add);
+        }
+        refreshedAt = now;
+    }
+
+    /**
+     * Room for two lifetimes of revocations: the unexpired ones found at the rebuild and those of the next lifetime.
+     */
+    private BloomFilter newFilter(long unexpired) {
+        return BloomFilter.create(2 * Math.max(properties.expectedRevocations(), unexpired), properties.falsePositiveRate());
+    }
+
+    private static UUID toUuid(String jti) {
+        if (Objects.isNull(jti)) {
+            return null;
+        }
+        try {
+            return UUID.fromString(jti);
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+}
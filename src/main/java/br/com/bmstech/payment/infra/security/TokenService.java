@@ -1,18 +1,28 @@
 package br.com.bmstech.payment.infra.security;
 
+import br.com.bmstech.payment.application.configs.TokenProperties;
 import br.com.bmstech.payment.domain.entity.User;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
-import org.springframework.beans.factory.annotation.Value;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.UUID;
 
 /**
+ * The algorithm and the verifier are built once: both are immutable and safe to share between requests. Every token
+ * has a random {@code jti} claim, the id it can be revoked by.
+ * <p>
+ * Refresh tokens are signed the same way, with a {@code token_use} claim of {@code refresh} and a longer lifetime.
+ * They are only accepted by {@link #verifyRefreshToken}: {@link #verify} refuses them, so they never authenticate
+ * a request.
+ *
  * @author Angelo Brandão (angelobms@gmail.com)
  * @version 1.0
  */
@@ -21,15 +31,38 @@ public class TokenService {
 
     private static final String JWT_ISSUER = "payment-api-auth";
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    public static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String NAME_CLAIM = "name";
+    private static final String TOKEN_USE_CLAIM = "token_use";
+    private static final String REFRESH_TOKEN_USE = "refresh";
+
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final JWTVerifier refreshVerifier;
+    private final Duration refreshTokenLifetime;
+
+    public TokenService(TokenProperties properties) {
+        this.algorithm = Algorithm.HMAC256(properties.secret());
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(JWT_ISSUER)
+                .build();
+        this.refreshVerifier = JWT.require(algorithm)
+                .withIssuer(JWT_ISSUER)
+                .withClaim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE)
+                .build();
+        this.refreshTokenLifetime = properties.refreshTokenLifetime();
+    }
 
     public String generateToken(User user) {
         try {
-            var algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
                     .withIssuer(JWT_ISSUER)
                     .withSubject(user.getEmail())
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withClaim(USER_ID_CLAIM, user.getId())
+                    .withClaim(NAME_CLAIM, user.getName())
                     .withExpiresAt(this.generateExpirationDate())
                     .sign(algorithm);
         } catch (JWTCreationException exception) {
@@ -37,20 +70,57 @@ public class TokenService {
         }
     }
 
-    public String validateToken(String token) {
+    public String generateRefreshToken(User user) {
         try {
-            var algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
+            return JWT.create()
                     .withIssuer(JWT_ISSUER)
-                    .build()
-                    .verify(token)
-                    .getSubject();
+                    .withSubject(user.getEmail())
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withClaim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE)
+                    .withExpiresAt(Instant.now().plus(refreshTokenLifetime))
+                    .sign(algorithm);
+        } catch (JWTCreationException exception) {
+            throw new TokenException("Error while creating JWT", exception);
+        }
+    }
+
+    public String validateToken(String token) {
+        var decoded = verify(token);
+        return Objects.nonNull(decoded) ? decoded.getSubject() : null;
+    }
+
+    /**
+     * @return the decoded access token, or {@code null} when it is missing, not signed by this API, expired or a
+     * refresh token
+     */
+    public DecodedJWT verify(String token) {
+        var decoded = verify(verifier, token);
+        if (Objects.nonNull(decoded) && REFRESH_TOKEN_USE.equals(decoded.getClaim(TOKEN_USE_CLAIM).asString())) {
+            return null;
+        }
+        return decoded;
+    }
+
+    /**
+     * @return the decoded refresh token, or {@code null} when it is missing, not signed by this API, expired or an
+     * access token
+     */
+    public DecodedJWT verifyRefreshToken(String token) {
+        return verify(refreshVerifier, token);
+    }
+
+    private static DecodedJWT verify(JWTVerifier verifier, String token) {
+        if (Objects.isNull(token)) {
+            return null;
+        }
+        try {
+            return verifier.verify(token);
         } catch (JWTVerificationException exception) {
             return null;
         }
     }
 
     private Instant generateExpirationDate() {
-        return LocalDateTime.now().plusHours(1).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plus(TOKEN_LIFETIME);
     }
 }
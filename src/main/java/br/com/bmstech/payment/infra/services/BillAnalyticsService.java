@@ -0,0 +1,22 @@
+package br.com.bmstech.payment.infra.services;
+
+import br.com.bmstech.payment.domain.dto.AgingBucketDTO;
+import br.com.bmstech.payment.domain.dto.AmountBucketDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.dto.MonthlyTotalDTO;
+import br.com.bmstech.payment.domain.values.Money;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillAnalyticsService {
+
+    List<AgingBucketDTO> aging(BillSearchCriteria criteria, LocalDate referenceDate);
+    List<AmountBucketDTO> amounts(BillSearchCriteria criteria, Money width, int buckets);
+    List<MonthlyTotalDTO> months(BillSearchCriteria criteria);
+
+}
@@ -0,0 +1,17 @@
+package br.com.bmstech.payment.infra.services;
+
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.dto.CursorPageDTO;
+
+import java.time.LocalDate;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillDueService {
+
+    CursorPageDTO<BillResponseDTO> findDueSoon(int days, String cursor, int size);
+    CursorPageDTO<BillResponseDTO> findOverdue(LocalDate referenceDate, String cursor, int size);
+
+}
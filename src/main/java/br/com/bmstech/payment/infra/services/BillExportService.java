@@ -0,0 +1,17 @@
+package br.com.bmstech.payment.infra.services;
+
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillExportService {
+
+    long export(BillSearchCriteria criteria, ExportFormat format, OutputStream output) throws IOException;
+
+}
@@ -0,0 +1,23 @@
+package br.com.bmstech.payment.infra.services;
+
+import br.com.bmstech.payment.domain.entity.ImportJob;
+import br.com.bmstech.payment.infra.imports.ImportOptions;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillImportJobService {
+
+    ImportJob submit(MultipartFile file, ImportOptions options);
+    ImportJob findById(String id);
+    ImportJob cancel(String id);
+
+    /**
+     * Takes over the jobs a previous run of the application left queued or running. Runs on startup, before any
+     * import of this run is submitted.
+     */
+    void recover();
+
+}
@@ -0,0 +1,19 @@
+package br.com.bmstech.payment.infra.services;
+
+import br.com.bmstech.payment.domain.dto.ImportSummaryDTO;
+import br.com.bmstech.payment.infra.imports.ImportListener;
+import br.com.bmstech.payment.infra.imports.ImportOptions;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillImportService {
+
+    ImportSummaryDTO importBills(MultipartFile file, ImportOptions options);
+    ImportSummaryDTO importBills(Path file, ImportOptions options, ImportListener listener);
+
+}
@@ -0,0 +1,20 @@
+package br.com.bmstech.payment.infra.services;
+
+import br.com.bmstech.payment.domain.dto.OverdueSweepDTO;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillOverdueService {
+
+    OverdueSweepDTO sweep();
+
+    /**
+     * Starts a sweep in the background and returns at once.
+     *
+     * @return whether it started; {@code false} when one is already running on this node
+     */
+    boolean startSweep();
+
+}
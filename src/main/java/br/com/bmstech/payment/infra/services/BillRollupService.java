@@ -0,0 +1,16 @@
+package br.com.bmstech.payment.infra.services;
+
+import br.com.bmstech.payment.domain.dto.RollupDriftDTO;
+
+import java.util.List;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+public interface BillRollupService {
+
+    List<RollupDriftDTO> verify();
+    List<RollupDriftDTO> repair();
+
+}
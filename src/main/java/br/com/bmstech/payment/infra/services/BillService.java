@@ -1,11 +1,21 @@
 package br.com.bmstech.payment.infra.services;
 
+import br.com.bmstech.payment.domain.dto.BillPatchDTO;
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.dto.BillTotalDTO;
+import br.com.bmstech.payment.domain.dto.BulkResultDTO;
+import br.com.bmstech.payment.domain.dto.CursorPageDTO;
 import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.CountStrategy;
+import br.com.bmstech.payment.domain.enums.Situation;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * @author Angelo Brandão (angelobms@gmail.com)
@@ -15,11 +25,26 @@ public interface BillService {
 
     Bill create(Bill bill);
     Page<Bill> findAll(int page, int size);
+    Slice<Bill> findAll(int page, int size, CountStrategy countStrategy);
+    Slice<BillResponseDTO> findAllResponses(int page, int size, CountStrategy countStrategy);
+    CursorPageDTO<Bill> scroll(String cursor, int size);
     Bill findById(String id);
+    BillResponseDTO findResponseById(String id);
     Page<Bill> findByFilter(LocalDate dueDate, String description, int page, int size);
+    Slice<Bill> findByFilter(LocalDate dueDate, String description, int page, int size, CountStrategy countStrategy);
+    Slice<BillResponseDTO> findResponsesByFilter(LocalDate dueDate, String description, int page, int size, CountStrategy countStrategy);
+    CursorPageDTO<Bill> scrollByFilter(LocalDate dueDate, String description, String cursor, int size);
+    Slice<Bill> searchByDescription(String term, int page, int size);
+    Slice<Bill> findByCriteria(BillSearchCriteria criteria, String sort, int page, int size, CountStrategy countStrategy);
+    List<BillTotalDTO> findTotals(LocalDate from, LocalDate to, Situation situation);
     Bill update(String id, Bill bill);
+    Bill patch(String id, BillPatchDTO patch);
     void payBill(String id);
+    BulkResultDTO payAll(List<UUID> ids, boolean details);
+    BulkResultDTO payByCriteria(BillSearchCriteria criteria);
     void delete(String id);
+    BulkResultDTO deleteAll(List<UUID> ids, boolean details);
+    BulkResultDTO deleteByCriteria(BillSearchCriteria criteria);
     List<Bill> importBills(MultipartFile file);
 
 }
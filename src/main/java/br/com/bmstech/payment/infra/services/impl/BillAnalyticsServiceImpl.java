@@ -0,0 +1,64 @@
+package br.com.bmstech.payment.infra.services.impl;
+
+import br.com.bmstech.payment.domain.dto.AgingBucketDTO;
+import br.com.bmstech.payment.domain.dto.AmountBucketDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.dto.MonthlyTotalDTO;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.analytics.BillAnalytics;
+import br.com.bmstech.payment.infra.analytics.ColumnarBillAnalytics;
+import br.com.bmstech.payment.infra.analytics.SqlBillAnalytics;
+import br.com.bmstech.payment.infra.services.BillAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Answers from the columnar copy of the bills when {@code api.bills.analytics.enabled} and the copy is loaded, and
+ * with the equivalent SQL otherwise. Both give the same result for the same bills.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class BillAnalyticsServiceImpl implements BillAnalyticsService {
+
+    private final ColumnarBillAnalytics columnarBillAnalytics;
+    private final SqlBillAnalytics sqlBillAnalytics;
+
+    @Override
+    public List<AgingBucketDTO> aging(BillSearchCriteria criteria, LocalDate referenceDate) {
+        requirePeriod(criteria);
+        return analytics().aging(criteria, Objects.requireNonNullElseGet(referenceDate, LocalDate::now));
+    }
+
+    @Override
+    public List<AmountBucketDTO> amounts(BillSearchCriteria criteria, Money width, int buckets) {
+        requirePeriod(criteria);
+        if (width.cents() <= 0) {
+            throw new BusinessException("The width of a bucket must be greater than zero.");
+        }
+        return analytics().amounts(criteria, width.cents(), buckets);
+    }
+
+    @Override
+    public List<MonthlyTotalDTO> months(BillSearchCriteria criteria) {
+        requirePeriod(criteria);
+        return analytics().months(criteria);
+    }
+
+    private BillAnalytics analytics() {
+        return columnarBillAnalytics.isReady() ? columnarBillAnalytics : sqlBillAnalytics;
+    }
+
+    private static void requirePeriod(BillSearchCriteria criteria) {
+        if (criteria.dueDateFrom() != null && criteria.dueDateTo() != null && criteria.dueDateFrom().isAfter(criteria.dueDateTo())) {
+            throw new BusinessException("The start of the period cannot be after its end.");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.bmstech.payment.infra.services.impl;
+
+import br.com.bmstech.payment.domain.dto.BillCursor;
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.dto.CursorPageDTO;
+import br.com.bmstech.payment.infra.due.DueBillIndex;
+import br.com.bmstech.payment.infra.due.DueBills;
+import br.com.bmstech.payment.infra.due.SqlDueBills;
+import br.com.bmstech.payment.infra.services.BillDueService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lists the unpaid bills from the due date index when {@code api.bills.due-index.enabled} and the index is loaded,
+ * and from the partial index of the database otherwise. Both return the same pages and accept each other's cursors.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class BillDueServiceImpl implements BillDueService {
+
+    private final DueBillIndex dueBillIndex;
+    private final SqlDueBills sqlDueBills;
+
+    /**
+     * Bills due from today to {@code days} from now, both inclusive.
+     */
+    @Override
+    public CursorPageDTO<BillResponseDTO> findDueSoon(int days, String cursor, int size) {
+        var today = LocalDate.now();
+        return findUnpaid(today, today.plusDays(days), cursor, size);
+    }
+
+    /**
+     * Bills due before the reference date, today by default, oldest first.
+     */
+    @Override
+    public CursorPageDTO<BillResponseDTO> findOverdue(LocalDate referenceDate, String cursor, int size) {
+        var reference = Objects.requireNonNullElseGet(referenceDate, LocalDate::now);
+        return findUnpaid(null, reference.minusDays(1), cursor, size);
+    }
+
+    /**
+     * One bill more than the page is read to tell whether there is a next one.
+     */
+    private CursorPageDTO<BillResponseDTO> findUnpaid(LocalDate from, LocalDate to, String cursor, int size) {
+        var after = cursor != null ? BillCursor.decode(cursor) : null;
+        var bills = dueBills().findUnpaid(from, to, after, size + 1);
+        if (bills.size() <= size) {
+            return new CursorPageDTO<>(bills, null);
+        }
+        List<BillResponseDTO> content = bills.subList(0, size);
+        var last = content.get(size - 1);
+        return new CursorPageDTO<>(content, new BillCursor(last.dueDate(), last.id()).encode());
+    }
+
+    private DueBills dueBills() {
+        return dueBillIndex.isReady() ? dueBillIndex : sqlDueBills;
+    }
+}
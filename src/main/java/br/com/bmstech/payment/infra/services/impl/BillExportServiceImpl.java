@@ -0,0 +1,58 @@
+package br.com.bmstech.payment.infra.services.impl;
+
+import br.com.bmstech.payment.application.configs.BillExportProperties;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.ExportFormat;
+import br.com.bmstech.payment.domain.mappers.BillMapper;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.repositories.BillSpecifications;
+import br.com.bmstech.payment.infra.exports.BillExportWriter;
+import br.com.bmstech.payment.infra.exports.CsvBillExportWriter;
+import br.com.bmstech.payment.infra.exports.NdjsonBillExportWriter;
+import br.com.bmstech.payment.infra.services.BillExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Streaming export: bills are read through a server-side cursor, {@code fetchSize} rows per round trip, and each
+ * one is detached and written before the next is read, so the heap stays flat whatever the number of rows. The
+ * cursor needs the read-only transaction opened here, on the thread that writes the response.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class BillExportServiceImpl implements BillExportService {
+
+    private final BillRepository billRepository;
+    private final BillMapper billMapper;
+    private final ObjectMapper objectMapper;
+    private final BillExportProperties properties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(BillSearchCriteria criteria, ExportFormat format, OutputStream output) throws IOException {
+        BillExportWriter writer = switch (format) {
+            case CSV -> new CsvBillExportWriter(output);
+            case NDJSON -> new NdjsonBillExportWriter(output, objectMapper, billMapper);
+        };
+        long rows = 0;
+        try (Stream<Bill> bills = billRepository.streamMatching(BillSpecifications.matching(criteria), properties.fetchSize())) {
+            var iterator = bills.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                rows++;
+            }
+        }
+        writer.finish();
+        return rows;
+    }
+}
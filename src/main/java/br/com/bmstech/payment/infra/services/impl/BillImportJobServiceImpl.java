@@ -0,0 +1,151 @@
+package br.com.bmstech.payment.infra.services.impl;
+
+import br.com.bmstech.payment.application.configs.BillImportProperties;
+import br.com.bmstech.payment.domain.entity.ImportJob;
+import br.com.bmstech.payment.domain.enums.ImportJobStatus;
+import br.com.bmstech.payment.domain.exceptions.ImportJobNotFoundException;
+import br.com.bmstech.payment.domain.exceptions.TooManyRequestsException;
+import br.com.bmstech.payment.domain.repositories.ImportJobRepository;
+import br.com.bmstech.payment.infra.imports.ImportOptions;
+import br.com.bmstech.payment.infra.imports.ImportWorkers;
+import br.com.bmstech.payment.infra.imports.UploadSpool;
+import br.com.bmstech.payment.infra.services.BillImportJobService;
+import br.com.bmstech.payment.infra.services.BillImportService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs imports in the background. The upload is spooled to a temporary file before the request returns, because
+ * the multipart content is discarded once the request completes. Progress is written to {@code import_jobs}
+ * after every committed chunk; cancelling a job stops it after the chunk in flight, keeping the chunks already
+ * committed.
+ * <p>
+ * The queue lives in memory only, so on startup the jobs a previous run left behind are taken over: a queued job whose
+ * upload is still spooled is queued again, with the options it was submitted with; a job that was running is failed,
+ * since running it again would import its committed chunks twice; every other spool is deleted. This assumes one
+ * instance of the application per database.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class BillImportJobServiceImpl implements BillImportJobService {
+
+    private static final int ERROR_MAX_LENGTH = 1000;
+
+    private final ImportJobRepository importJobRepository;
+    private final BillImportService billImportService;
+    private final BillImportProperties properties;
+    private final ImportWorkers importWorkers;
+
+    @Override
+    public ImportJob submit(MultipartFile file, ImportOptions options) {
+        var jobId = UUID.randomUUID();
+        var spool = UploadSpool.spool(file, jobId);
+        var job = importJobRepository.save(ImportJob.builder()
+                .id(jobId)
+                .fileName(file.getOriginalFilename())
+                .engine(Objects.requireNonNullElse(options.engine(), properties.engine()))
+                .parallel(options.parallel())
+                .ordered(options.ordered())
+                .status(ImportJobStatus.QUEUED)
+                .totalBytes(file.getSize())
+                .createdAt(OffsetDateTime.now())
+                .build());
+        if (!enqueue(job, spool)) {
+            throw new TooManyRequestsException("There are too many import jobs in progress. Please try again later.");
+        }
+        return job;
+    }
+
+    @Override
+    public ImportJob findById(String id) {
+        var uuid = UUID.fromString(id);
+        return importJobRepository.findById(uuid)
+                .orElseThrow(() -> new ImportJobNotFoundException(uuid));
+    }
+
+    @Override
+    public ImportJob cancel(String id) {
+        var uuid = UUID.fromString(id);
+        importJobRepository.finish(uuid, ImportJobStatus.CANCELLED, null, OffsetDateTime.now());
+        return findById(id);
+    }
+
+    @PostConstruct
+    void start() {
+        recover();
+    }
+
+    @Override
+    public void recover() {
+        var resumed = new HashSet<Path>();
+        for (var job : importJobRepository.findByStatusInOrderByCreatedAt(List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING))) {
+            var spool = UploadSpool.of(job.getId());
+            if (job.getStatus() == ImportJobStatus.RUNNING) {
+                importJobRepository.finish(job.getId(), ImportJobStatus.FAILED,
+                        "Interrupted by a restart. The chunks already committed were kept.", OffsetDateTime.now());
+            } else if (!Files.exists(spool)) {
+                importJobRepository.finish(job.getId(), ImportJobStatus.FAILED,
+                        "Interrupted by a restart. The upload was lost.", OffsetDateTime.now());
+            } else if (enqueue(job, spool)) {
+                resumed.add(spool);
+            }
+        }
+        UploadSpool.deleteAllExcept(resumed);
+    }
+
+    /**
+     * @return {@code false} when the queue is full, after failing the job and deleting its spool
+     */
+    private boolean enqueue(ImportJob job, Path spool) {
+        try {
+            importWorkers.submitJob(() -> run(job, spool));
+            return true;
+        } catch (RejectedExecutionException exception) {
+            UploadSpool.delete(spool);
+            importJobRepository.finish(job.getId(), ImportJobStatus.FAILED, "Rejected: too many import jobs.", OffsetDateTime.now());
+            return false;
+        }
+    }
+
+    private void run(ImportJob job, Path spool) {
+        var jobId = job.getId();
+        try {
+            if (importJobRepository.start(jobId, OffsetDateTime.now()) == 0) {
+                return;
+            }
+            var processedBytes = new AtomicLong();
+            var cancelled = new AtomicBoolean();
+            var summary = billImportService.importBills(spool, new ImportOptions(job.getEngine(), job.getParallel(), job.getOrdered()), (accepted, rejected, bytesRead, elapsedNanos) -> {
+                processedBytes.set(bytesRead);
+                cancelled.set(importJobRepository.updateProgress(jobId, bytesRead, accepted, rejected,
+                        (accepted + rejected) / (elapsedNanos / 1_000_000_000d)) == 0);
+                return !cancelled.get();
+            });
+            importJobRepository.updateTotals(jobId, cancelled.get() ? processedBytes.get() : job.getTotalBytes(),
+                    summary.accepted(), summary.rejected(), summary.rowsPerSecond());
+            importJobRepository.finish(jobId, ImportJobStatus.COMPLETED, null, OffsetDateTime.now());
+        } catch (RuntimeException exception) {
+            importJobRepository.finish(jobId, ImportJobStatus.FAILED,
+                    StringUtils.abbreviate(exception.getMessage(), ERROR_MAX_LENGTH), OffsetDateTime.now());
+        } finally {
+            UploadSpool.delete(spool);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.bmstech.payment.infra.services.impl;
+
+import br.com.bmstech.payment.application.configs.BillImportProperties;
+import br.com.bmstech.payment.domain.dto.ImportSummaryDTO;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.domain.events.BillsChangedEvent;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+import br.com.bmstech.payment.infra.imports.BillChunkWriter;
+import br.com.bmstech.payment.infra.imports.BillReader;
+import br.com.bmstech.payment.infra.imports.ImportListener;
+import br.com.bmstech.payment.infra.imports.ImportOptions;
+import br.com.bmstech.payment.infra.imports.ImportWorkers;
+import br.com.bmstech.payment.infra.imports.ParallelBillReader;
+import br.com.bmstech.payment.infra.imports.SequentialBillReader;
+import br.com.bmstech.payment.infra.imports.UploadSpool;
+import br.com.bmstech.payment.infra.services.BillImportService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming import: records are read one at a time and written in fixed-size chunks, each one committed on its
+ * own, so neither the heap nor the transaction grows with the file.
+ * <p>
+ * In parallel mode the file is parsed by {@link ParallelBillReader} on the shared parser pool while the calling
+ * thread keeps writing chunks, so parsing and inserting overlap. Every committed chunk publishes a
+ * {@link BillsChangedEvent} for its due dates.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Service
+public class BillImportServiceImpl implements BillImportService {
+
+    private final Map<ImportEngine, BillChunkWriter> writers = new EnumMap<>(ImportEngine.class);
+    private final BillImportProperties properties;
+    private final ImportWorkers importWorkers;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BillImportServiceImpl(List<BillChunkWriter> writers, BillImportProperties properties, ImportWorkers importWorkers,
+                                 ApplicationEventPublisher eventPublisher) {
+        writers.forEach(writer -> this.writers.put(writer.engine(), writer));
+        this.properties = properties;
+        this.importWorkers = importWorkers;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ImportSummaryDTO importBills(MultipartFile file, ImportOptions options) {
+        if (isParallel(options)) {
+            var spool = UploadSpool.spool(file);
+            try {
+                return importBills(spool, options, ImportListener.NONE);
+            } finally {
+                UploadSpool.delete(spool);
+            }
+        }
+        try (InputStream input = file.getInputStream()) {
+            return run(new SequentialBillReader(input, properties.chunkSize()), options, ImportListener.NONE);
+        } catch (IOException exception) {
+            throw new BusinessException("The file could not be read.");
+        }
+    }
+
+    @Override
+    public ImportSummaryDTO importBills(Path file, ImportOptions options, ImportListener listener) {
+        if (isParallel(options)) {
+            var parallel = properties.parallel();
+            var reader = new ParallelBillReader(file, properties.chunkSize(), importWorkers.parsers(),
+                    parallel.rangeSize().toBytes(), parallel.effectiveMaxInFlight(),
+                    Objects.requireNonNullElse(options.ordered(), parallel.ordered()));
+            return run(reader, options, listener);
+        }
+        try (InputStream input = Files.newInputStream(file)) {
+            return run(new SequentialBillReader(input, properties.chunkSize()), options, listener);
+        } catch (IOException exception) {
+            throw new BusinessException("The file could not be read.");
+        }
+    }
+
+    private ImportSummaryDTO run(BillReader reader, ImportOptions options, ImportListener listener) {
+        var startedAt = System.nanoTime();
+        var billChunkWriter = writers.get(Objects.requireNonNullElse(options.engine(), properties.engine()));
+        var accepted = new AtomicLong();
+        var rejected = new AtomicLong();
+
+        try {
+            reader.read((bills, chunkRejected, bytesRead) -> {
+                if (!bills.isEmpty()) {
+                    accepted.addAndGet(billChunkWriter.write(bills));
+                    eventPublisher.publishEvent(BillsChangedEvent.ofDueDates(bills.stream().map(Bill::getDueDate).collect(Collectors.toSet())));
+                }
+                rejected.addAndGet(chunkRejected);
+                return listener.onChunk(accepted.get(), rejected.get(), bytesRead, System.nanoTime() - startedAt);
+            });
+        } catch (IOException exception) {
+            throw new BusinessException("The file could not be read.");
+        }
+
+        return ImportSummaryDTO.of(accepted.get(), rejected.get(), Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private boolean isParallel(ImportOptions options) {
+        return Objects.requireNonNullElse(options.parallel(), properties.parallel().enabled());
+    }
+}
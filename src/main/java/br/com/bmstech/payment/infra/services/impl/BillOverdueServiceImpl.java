@@ -0,0 +1,199 @@
+package br.com.bmstech.payment.infra.services.impl;
+
+import br.com.bmstech.payment.application.configs.BillOverdueProperties;
+import br.com.bmstech.payment.domain.dto.BillCursor;
+import br.com.bmstech.payment.domain.dto.OverdueSweepDTO;
+import br.com.bmstech.payment.domain.events.BillsChangedEvent;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.repositories.BillRepositoryCustom.OverdueChunk;
+import br.com.bmstech.payment.infra.services.BillOverdueService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Marks the unpaid bills due before today as overdue, on {@code sweep-cron}. The sweep runs on a thread of its own,
+ * {@code bill-overdue-sweep}: it takes minutes on a large table, and on the shared task scheduler it would hold back
+ * every other scheduled task for as long. The bills are walked in
+ * {@code (due_date, id)} order over {@code idx_bills_unpaid_due_date_id}, one chunk per statement and transaction,
+ * so no bill is loaded, locks are held for one chunk at a time and a sweep that stops halfway keeps what it
+ * committed. Each chunk publishes a {@link BillsChangedEvent} for its bills, and the daily rollup follows the change
+ * of situation through its triggers.
+ * <p>
+ * Only one sweep runs at a time across all nodes: it holds a PostgreSQL session advisory lock, which is released
+ * with the session if the node dies, and a sweep that cannot take it returns at once. Between chunks it waits
+ * {@code pause}.
+ * <p>
+ * Published meters: {@code bills.overdue.marked} and {@code bills.overdue.chunks}, counting the bills marked and the
+ * chunks committed; {@code bills.overdue.sweep.running}, 1 while this node sweeps; {@code bills.overdue.sweep}, the
+ * duration of each sweep; and {@code bills.overdue.sweep.skipped}, the sweeps that found another one running.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Service
+public class BillOverdueServiceImpl implements BillOverdueService {
+
+    /**
+     * Advisory lock key of the sweep, the same on every node.
+     */
+    public static final long SWEEP_LOCK_KEY = 0x6269_6c6c_6f76_6572L;
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(?)";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(?)";
+
+    private final BillRepository billRepository;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final BillOverdueProperties properties;
+    private final Counter markedCounter;
+    private final Counter chunkCounter;
+    private final Counter skippedCounter;
+    private final Timer sweepTimer;
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final ExecutorService sweeper =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("bill-overdue-sweep").daemon().factory());
+
+    public BillOverdueServiceImpl(BillRepository billRepository, DataSource dataSource,
+                                  TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                                  TaskScheduler taskScheduler, BillOverdueProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.billRepository = billRepository;
+        this.dataSource = dataSource;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.markedCounter = Counter.builder("bills.overdue.marked").register(meterRegistry);
+        this.chunkCounter = Counter.builder("bills.overdue.chunks").register(meterRegistry);
+        this.skippedCounter = Counter.builder("bills.overdue.sweep.skipped").register(meterRegistry);
+        this.sweepTimer = Timer.builder("bills.overdue.sweep").register(meterRegistry);
+        Gauge.builder("bills.overdue.sweep.running", running, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!Scheduled.CRON_DISABLED.equals(properties.sweepCron())) {
+            taskScheduler.schedule(this::startSweep, new CronTrigger(properties.sweepCron()));
+        }
+    }
+
+    @Override
+    public boolean startSweep() {
+        if (!started.compareAndSet(false, true)) {
+            return false;
+        }
+        sweeper.execute(() -> {
+            try {
+                sweep();
+            } finally {
+                started.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Interrupts the sweep running, which stops after its current chunk and releases the lock.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        sweeper.shutdownNow();
+        sweeper.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The lock is taken on a connection of its own, kept out of the pool until the sweep ends, since the chunks
+     * commit on whichever connections their transactions get.
+     */
+    @Override
+    public OverdueSweepDTO sweep() {
+        var today = LocalDate.now();
+        var connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            var lock = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            if (!Boolean.TRUE.equals(lock.queryForObject(TRY_LOCK, Boolean.class, SWEEP_LOCK_KEY))) {
+                skippedCounter.increment();
+                return OverdueSweepDTO.skipped(today);
+            }
+            try {
+                return sweepTimer.record(() -> sweep(today));
+            } finally {
+                lock.queryForObject(UNLOCK, Boolean.class, SWEEP_LOCK_KEY);
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Each chunk starts after the last bill of the previous one rather than at the first unpaid bill, so it does not
+     * walk again over the index entries of the bills already marked, which stay until the table is vacuumed. An
+     * interrupted sweep stops after its current chunk.
+     */
+    private OverdueSweepDTO sweep(LocalDate today) {
+        running.set(1);
+        try {
+            long marked = 0;
+            long chunks = 0;
+            BillCursor after = null;
+            while (true) {
+                var from = after;
+                Optional<OverdueChunk> chunk = transactionTemplate.execute(status -> {
+                    var written = billRepository.markOverdue(today, from, properties.chunkSize(), properties.lateFeePercent());
+                    written.filter(result -> !result.marked().isEmpty())
+                            .ifPresent(result -> eventPublisher.publishEvent(BillsChangedEvent.ofIds(result.marked())));
+                    return written;
+                });
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+                marked += chunk.get().marked().size();
+                chunks++;
+                markedCounter.increment(chunk.get().marked().size());
+                chunkCounter.increment();
+                after = chunk.get().last();
+                if (!pause()) {
+                    break;
+                }
+            }
+            return new OverdueSweepDTO(today, true, marked, chunks);
+        } finally {
+            running.set(0);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.pause());
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
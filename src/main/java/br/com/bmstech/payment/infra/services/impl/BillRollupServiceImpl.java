@@ -0,0 +1,86 @@
+package br.com.bmstech.payment.infra.services.impl;
+
+import br.com.bmstech.payment.application.configs.BillRollupProperties;
+import br.com.bmstech.payment.domain.dto.RollupDriftDTO;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.infra.services.BillRollupService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code payment.bill_daily_rollup} is kept up to date by triggers on {@code payment.bills}, in the transaction that
+ * changes the bills. This service finds and repairs the rows that drifted anyway, for instance after rows were
+ * changed with the triggers disabled. The check runs on {@code verify-cron}; the number of rows found drifted by the
+ * last one is published as {@code bills.rollup.drift}; the rows found are only repaired then when {@code repair} is
+ * set.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Service
+public class BillRollupServiceImpl implements BillRollupService {
+
+    private final BillRepository billRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final BillRollupProperties properties;
+    private final AtomicInteger lastDrift = new AtomicInteger();
+
+    public BillRollupServiceImpl(BillRepository billRepository, TransactionTemplate transactionTemplate,
+                                 TaskScheduler taskScheduler, BillRollupProperties properties, MeterRegistry meterRegistry) {
+        this.billRepository = billRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        Gauge.builder("bills.rollup.drift", lastDrift, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!Scheduled.CRON_DISABLED.equals(properties.verifyCron())) {
+            taskScheduler.schedule(this::check, new CronTrigger(properties.verifyCron()));
+        }
+    }
+
+    @Override
+    public List<RollupDriftDTO> verify() {
+        var drift = billRepository.findRollupDrift();
+        lastDrift.set(drift.size());
+        return drift;
+    }
+
+    /**
+     * Finds the days that drifted, then recomputes those days only.
+     */
+    @Override
+    public List<RollupDriftDTO> repair() {
+        return repair(billRepository.findRollupDrift());
+    }
+
+    private List<RollupDriftDTO> repair(List<RollupDriftDTO> drift) {
+        if (drift.isEmpty()) {
+            lastDrift.set(0);
+            return drift;
+        }
+        var days = drift.stream().map(RollupDriftDTO::day).distinct().toList();
+        var repaired = transactionTemplate.execute(status -> billRepository.repairRollup(days));
+        lastDrift.set(0);
+        return repaired;
+    }
+
+    private void check() {
+        var drift = verify();
+        if (!drift.isEmpty() && properties.repair()) {
+            repair(drift);
+        }
+    }
+}
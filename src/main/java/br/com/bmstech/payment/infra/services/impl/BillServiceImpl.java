@@ -1,32 +1,65 @@
 package br.com.bmstech.payment.infra.services.impl;
 
+import br.com.bmstech.payment.application.configs.BillBulkProperties;
+import br.com.bmstech.payment.application.configs.BillPaginationProperties;
+import br.com.bmstech.payment.application.configs.BillSearchProperties;
+import br.com.bmstech.payment.domain.dto.BillCursor;
+import br.com.bmstech.payment.domain.dto.BillPatchDTO;
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.dto.BillTotalDTO;
+import br.com.bmstech.payment.domain.dto.BulkResultDTO;
+import br.com.bmstech.payment.domain.dto.CursorPageDTO;
 import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.BulkOutcome;
+import br.com.bmstech.payment.domain.enums.CountStrategy;
 import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.events.BillsChangedEvent;
+import br.com.bmstech.payment.domain.exceptions.BillAlreadyPaidException;
 import br.com.bmstech.payment.domain.exceptions.BillNotFoundException;
+import br.com.bmstech.payment.domain.exceptions.BillVersionConflictException;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
 import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.repositories.BillSpecifications;
+import br.com.bmstech.payment.infra.cache.BillCache;
+import br.com.bmstech.payment.infra.commit.BillGroupCommitter;
+import br.com.bmstech.payment.infra.imports.BillCsvParser;
 import br.com.bmstech.payment.infra.services.BillService;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static br.com.bmstech.payment.domain.repositories.BillSpecifications.containsPattern;
 
 /**
+ * Every change to the bills publishes a {@link BillsChangedEvent}, which {@link BillCache} applies once the
+ * transaction commits.
+ *
  * @author Angelo Brandão (angelobms@gmail.com)
  * @version 1.0
  */
@@ -34,20 +67,79 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class BillServiceImpl implements BillService {
 
+    private static final Map<String, String> SORTABLE_PROPERTIES = Map.of(
+            "data_vencimento", "dueDate",
+            "data_pagamento", "paymentDate",
+            "valor", "amount");
+
     private final BillRepository billRepository;
+    private final BillPaginationProperties paginationProperties;
+    private final BillSearchProperties searchProperties;
+    private final BillBulkProperties bulkProperties;
+    private final BillCache billCache;
+    private final BillGroupCommitter billGroupCommitter;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional
+    /**
+     * Not transactional on purpose: with group commit the bill waits for its batch without holding a connection, and
+     * otherwise the save runs in its own transaction.
+     */
     public Bill create(Bill bill) {
         if (Objects.isNull(bill.getSituation())) {
             bill.setSituation(Situation.UNPAID);
         }
-        return billRepository.save(bill);
+        bill.setVersion(null);
+        if (billGroupCommitter.isEnabled()) {
+            return billGroupCommitter.insert(bill);
+        }
+        var saved = billRepository.save(bill);
+        eventPublisher.publishEvent(BillsChangedEvent.of(saved.getId(), saved.getDueDate()));
+        return saved;
     }
 
     public Page<Bill> findAll(int page, int size) {
         return billRepository.findAll(PageRequest.of(page, size));
     }
 
+    @Override
+    public Slice<Bill> findAll(int page, int size, CountStrategy countStrategy) {
+        var pageable = PageRequest.of(page, size);
+        return switch (Objects.requireNonNullElse(countStrategy, paginationProperties.countStrategy())) {
+            case EXACT -> billRepository.findAll(pageable);
+            case APPROXIMATE -> withEstimate(billRepository.estimateCount(), () -> billRepository.findSliceBy(pageable),
+                    () -> billRepository.findAll(pageable));
+            case NONE -> billRepository.findSliceBy(pageable);
+        };
+    }
+
+    /**
+     * Read-only counterpart of {@link #findAll(int, int, CountStrategy)} that selects the response directly.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BillResponseDTO> findAllResponses(int page, int size, CountStrategy countStrategy) {
+        var pageable = PageRequest.of(page, size);
+        return switch (Objects.requireNonNullElse(countStrategy, paginationProperties.countStrategy())) {
+            case EXACT -> billRepository.findResponses(pageable);
+            case APPROXIMATE -> withEstimate(billRepository.estimateCount(), () -> billRepository.findResponseSlice(pageable),
+                    () -> billRepository.findResponses(pageable));
+            case NONE -> billRepository.findResponseSlice(pageable);
+        };
+    }
+
+    /**
+     * Reads one row more than requested to know whether there is a next page without counting.
+     */
+    @Override
+    public CursorPageDTO<Bill> scroll(String cursor, int size) {
+        var limit = Limit.of(size + 1);
+        if (cursor == null) {
+            return toCursorPage(billRepository.findFirstPage(limit), size);
+        }
+        var after = BillCursor.decode(cursor);
+        return toCursorPage(billRepository.findPageAfter(after.dueDate(), after.id(), limit), size);
+    }
+
     @Override
     public Bill findById(String id) {
         var uuid = UUID.fromString(id);
@@ -55,62 +147,334 @@ public class BillServiceImpl implements BillService {
                 .orElseThrow(() -> new BillNotFoundException(uuid));
     }
 
+    /**
+     * Served from {@link BillCache} when the bill is there.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BillResponseDTO findResponseById(String id) {
+        return billCache.findById(UUID.fromString(id), uuid -> billRepository.findResponseById(uuid)
+                .orElseThrow(() -> new BillNotFoundException(uuid)));
+    }
+
     public Page<Bill> findByFilter(LocalDate dueDate, String description, int page, int size) {
-        return billRepository.findByDueDateEqualsAndDescriptionContainsIgnoreCase(dueDate, description, PageRequest.of(page, size));
+        return billRepository.findByFilter(dueDate, containsPattern(description), PageRequest.of(page, size));
+    }
+
+    @Override
+    public Slice<Bill> findByFilter(LocalDate dueDate, String description, int page, int size, CountStrategy countStrategy) {
+        var pageable = PageRequest.of(page, size);
+        var pattern = containsPattern(description);
+        return switch (Objects.requireNonNullElse(countStrategy, paginationProperties.countStrategy())) {
+            case EXACT -> billRepository.findByFilter(dueDate, pattern, pageable);
+            case APPROXIMATE -> withEstimate(billRepository.estimateCountByFilter(dueDate, pattern),
+                    () -> billRepository.findSliceByFilter(dueDate, pattern, pageable),
+                    () -> billRepository.findByFilter(dueDate, pattern, pageable));
+            case NONE -> billRepository.findSliceByFilter(dueDate, pattern, pageable);
+        };
+    }
+
+    /**
+     * Served from {@link BillCache} when the page is there.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BillResponseDTO> findResponsesByFilter(LocalDate dueDate, String description, int page, int size, CountStrategy countStrategy) {
+        var strategy = Objects.requireNonNullElse(countStrategy, paginationProperties.countStrategy());
+        var key = new BillCache.FilterKey(dueDate, description, page, size, strategy);
+        return billCache.findByFilter(key, () -> loadResponsesByFilter(key));
+    }
+
+    private Slice<BillResponseDTO> loadResponsesByFilter(BillCache.FilterKey key) {
+        var dueDate = key.dueDate();
+        var pageable = PageRequest.of(key.page(), key.size());
+        var pattern = containsPattern(key.description());
+        return switch (key.countStrategy()) {
+            case EXACT -> billRepository.findResponsesByFilter(dueDate, pattern, pageable);
+            case APPROXIMATE -> withEstimate(billRepository.estimateCountByFilter(dueDate, pattern),
+                    () -> billRepository.findResponseSliceByFilter(dueDate, pattern, pageable),
+                    () -> billRepository.findResponsesByFilter(dueDate, pattern, pageable));
+            case NONE -> billRepository.findResponseSliceByFilter(dueDate, pattern, pageable);
+        };
     }
 
+    @Override
+    public CursorPageDTO<Bill> scrollByFilter(LocalDate dueDate, String description, String cursor, int size) {
+        var limit = Limit.of(size + 1);
+        if (cursor == null) {
+            return toCursorPage(billRepository.findFirstPageByFilter(dueDate, containsPattern(description), limit), size);
+        }
+        var after = BillCursor.decode(cursor);
+        return toCursorPage(billRepository.findPageAfterByFilter(dueDate, containsPattern(description), after.dueDate(), after.id(), limit), size);
+    }
+
+    /**
+     * Ranked by trigram similarity when the database has {@code pg_trgm}, by description otherwise. Terms shorter
+     * than the configured minimum are refused: they have no trigram to look up and would scan the whole table.
+     */
+    @Override
+    public Slice<Bill> searchByDescription(String term, int page, int size) {
+        var trimmed = Objects.requireNonNullElse(term, "").trim();
+        if (trimmed.length() < searchProperties.minLength()) {
+            throw new BusinessException(String.format("The search term must have at least %d characters.", searchProperties.minLength()));
+        }
+        var pageable = PageRequest.of(page, size);
+        if (billRepository.supportsTrigramSearch()) {
+            return billRepository.searchByDescription(trimmed, containsPattern(trimmed), pageable);
+        }
+        return billRepository.searchByDescriptionLike(containsPattern(trimmed), pageable);
+    }
+
+    /**
+     * The count strategy applies as for the other listings, except that there is no planner estimate for a dynamic
+     * query: {@code APPROXIMATE} counts exactly.
+     */
+    @Override
+    public Slice<Bill> findByCriteria(BillSearchCriteria criteria, String sort, int page, int size, CountStrategy countStrategy) {
+        var pageable = PageRequest.of(page, size, toSort(sort));
+        var specification = BillSpecifications.matching(criteria);
+        return switch (Objects.requireNonNullElse(countStrategy, paginationProperties.countStrategy())) {
+            case EXACT, APPROXIMATE -> billRepository.findAll(specification, pageable);
+            case NONE -> billRepository.findSlice(specification, pageable);
+        };
+    }
+
+    /**
+     * Answered from the daily rollup, so the cost grows with the number of days in the range, not of bills.
+     */
+    @Override
+    public List<BillTotalDTO> findTotals(LocalDate from, LocalDate to, Situation situation) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException("The start of the period cannot be after its end.");
+        }
+        return billRepository.sumDailyRollup(from, to, situation);
+    }
+
+    /**
+     * Replaces every field of the bill, only at the version it carries when it has one.
+     */
     @Transactional
     public Bill update(String id, Bill bill) {
         var uuid = UUID.fromString(id);
-        if (!billRepository.existsById(uuid)) throw new BillNotFoundException(uuid);
-        bill.setId(uuid);
-        return billRepository.save(bill);
+        if (bill == null) {
+            return update(uuid, null, Map.of());
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("paymentDate", bill.getPaymentDate());
+        changes.put("dueDate", bill.getDueDate());
+        changes.put("amount", bill.getAmount());
+        changes.put("description", bill.getDescription());
+        changes.put("situation", bill.getSituation());
+        return update(uuid, bill.getVersion(), changes);
+    }
+
+    @Override
+    @Transactional
+    public Bill patch(String id, BillPatchDTO patch) {
+        return update(UUID.fromString(id), patch.getVersion(), patch.changes());
+    }
+
+    /**
+     * A single versioned {@code UPDATE ... RETURNING}: the bill is not read before it is written. Only when nothing
+     * was updated does an existence check tell a missing bill from a version conflict. An empty change set just
+     * reads the bill.
+     */
+    private Bill update(UUID id, Long version, Map<String, Object> changes) {
+        if (changes.isEmpty()) {
+            var bill = billRepository.findById(id).orElseThrow(() -> new BillNotFoundException(id));
+            if (version != null && !version.equals(bill.getVersion())) throw new BillVersionConflictException(id, version);
+            return bill;
+        }
+        var updated = billRepository.updateReturning(id, version, changes);
+        if (updated.isPresent()) {
+            var bill = updated.get().bill();
+            eventPublisher.publishEvent(BillsChangedEvent.of(id, updated.get().previousDueDate(), bill.getDueDate()));
+            return bill;
+        }
+        if (version != null && billRepository.existsById(id)) throw new BillVersionConflictException(id, version);
+        throw new BillNotFoundException(id);
     }
 
     @Transactional
     public void payBill(String id) {
         var uuid = UUID.fromString(id);
-        Optional<Bill> bill = billRepository.findById(uuid);
-        if (bill.isEmpty()) throw new BillNotFoundException(uuid);
-        bill.get().pay();
+        if (billRepository.pay(uuid, LocalDate.now()) == 1) {
+            eventPublisher.publishEvent(BillsChangedEvent.ofIds(List.of(uuid)));
+            return;
+        }
+        if (!billRepository.existsById(uuid)) throw new BillNotFoundException(uuid);
+        throw new BillAlreadyPaidException(uuid);
+    }
+
+    /**
+     * One statement per chunk of ids, all in the same transaction. Outcomes are only worked out when asked for: they
+     * need the paid ids back from the statement and a lookup of the ones it did not pay.
+     */
+    @Override
+    @Transactional
+    public BulkResultDTO payAll(List<UUID> ids, boolean details) {
+        var paymentDate = LocalDate.now();
+        if (!details) {
+            long paid = 0;
+            var chunks = chunks(ids);
+            for (var chunk : chunks) {
+                paid += billRepository.payAll(chunk, paymentDate);
+            }
+            if (paid > 0) {
+                eventPublisher.publishEvent(BillsChangedEvent.ofIds(chunks.stream().flatMap(List::stream).toList()));
+            }
+            return BulkResultDTO.of(paid);
+        }
+        List<BulkResultDTO.Outcome> outcomes = new ArrayList<>();
+        long affected = 0;
+        for (var chunk : chunks(ids)) {
+            var paid = new HashSet<>(billRepository.payAllReturningIds(chunk, paymentDate));
+            var existing = paid.size() < chunk.size() ? new HashSet<>(billRepository.findExistingIds(chunk)) : paid;
+            for (var id : chunk) {
+                var outcome = paid.contains(id) ? BulkOutcome.PAID : existing.contains(id) ? BulkOutcome.ALREADY_PAID : BulkOutcome.NOT_FOUND;
+                outcomes.add(new BulkResultDTO.Outcome(id, outcome));
+            }
+            affected += paid.size();
+            eventPublisher.publishEvent(BillsChangedEvent.ofIds(paid));
+        }
+        return new BulkResultDTO(affected, outcomes);
+    }
+
+    /**
+     * The bills a filter reached are not known afterwards: the whole cache is dropped.
+     */
+    @Override
+    @Transactional
+    public BulkResultDTO payByCriteria(BillSearchCriteria criteria) {
+        requireCriteria(criteria);
+        var paid = billRepository.payMatching(BillSpecifications.matching(criteria), LocalDate.now());
+        eventPublisher.publishEvent(BillsChangedEvent.everything());
+        return BulkResultDTO.of(paid);
     }
 
     @Transactional
     public void delete(String id) {
-        var uuid = UUID.fromString(id);
-        if (!billRepository.existsById(uuid)) throw new BillNotFoundException(uuid);
-        billRepository.deleteById(uuid);
+        var bill = findById(id);
+        billRepository.delete(bill);
+        eventPublisher.publishEvent(BillsChangedEvent.of(bill.getId(), bill.getDueDate()));
+    }
+
+    @Override
+    @Transactional
+    public BulkResultDTO deleteAll(List<UUID> ids, boolean details) {
+        if (!details) {
+            long deleted = 0;
+            for (var chunk : chunks(ids)) {
+                deleted += deleteChunk(chunk).size();
+            }
+            return BulkResultDTO.of(deleted);
+        }
+        List<BulkResultDTO.Outcome> outcomes = new ArrayList<>();
+        long affected = 0;
+        for (var chunk : chunks(ids)) {
+            var deleted = deleteChunk(chunk);
+            for (var id : chunk) {
+                outcomes.add(new BulkResultDTO.Outcome(id, deleted.containsKey(id) ? BulkOutcome.DELETED : BulkOutcome.NOT_FOUND));
+            }
+            affected += deleted.size();
+        }
+        return new BulkResultDTO(affected, outcomes);
+    }
+
+    @Override
+    @Transactional
+    public BulkResultDTO deleteByCriteria(BillSearchCriteria criteria) {
+        requireCriteria(criteria);
+        var deleted = billRepository.delete(BillSpecifications.matching(criteria));
+        eventPublisher.publishEvent(BillsChangedEvent.everything());
+        return BulkResultDTO.of(deleted);
+    }
+
+    private Map<UUID, LocalDate> deleteChunk(List<UUID> chunk) {
+        var deleted = billRepository.deleteByIds(chunk);
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(BillsChangedEvent.of(deleted.keySet(), deleted.values()));
+        }
+        return deleted;
+    }
+
+    /**
+     * Bulk mutations by filter refuse an empty one, which would match every bill.
+     */
+    private static void requireCriteria(BillSearchCriteria criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            throw new BusinessException("At least one filter criterion is required.");
+        }
+    }
+
+    /**
+     * The distinct ids, in request order, cut into chunks of at most {@code api.bills.bulk.chunk-size}.
+     */
+    private List<List<UUID>> chunks(List<UUID> ids) {
+        var distinct = List.copyOf(new LinkedHashSet<>(ids));
+        var size = bulkProperties.chunkSize();
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += size) {
+            chunks.add(distinct.subList(from, Math.min(from + size, distinct.size())));
+        }
+        return chunks;
     }
 
     @Transactional
     public List<Bill> importBills(MultipartFile file) {
         List<Bill> bills = new ArrayList<>();
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            Iterable<CSVRecord> records = CSVFormat.RFC4180.builder()
-                    .setHeader()
-                    .setSkipHeaderRecord(true)
-                    .build()
-                    .parse(bufferedReader);
-
-            for (CSVRecord row : records) {
-                var dueDate = row.get("data_vencimento").trim();
-                var paymentDate = row.get("data_pagamento").trim();
-                var amount = row.get("valor").trim();
-                var description = row.get("descricao").trim();
-                var situation = row.get("situacao").trim();
-
-                Bill bill = new Bill();
-                bill.setDueDate(LocalDate.parse(dueDate, DateTimeFormatter.ISO_DATE));
-                bill.setPaymentDate(!paymentDate.isEmpty() ? LocalDate.parse(paymentDate, DateTimeFormatter.ISO_DATE) : null);
-                bill.setAmount(new BigDecimal(amount));
-                bill.setDescription(description);
-                bill.setSituation(!situation.isEmpty() ? Situation.valueOf(situation) : Situation.UNPAID);
+        try (BillCsvParser parser = BillCsvParser.open(new InputStreamReader(file.getInputStream()))) {
+            Bill bill;
+            while ((bill = parser.next()) != null) {
                 bills.add(bill);
             }
             billRepository.saveAll(bills);
+            eventPublisher.publishEvent(BillsChangedEvent.ofDueDates(bills.stream().map(Bill::getDueDate).collect(Collectors.toSet())));
         } catch (IOException exception) {
             exception.printStackTrace();
         }
         return bills;
     }
+
+    /**
+     * Parses {@code field[,asc|desc]}. Only indexed columns can be sorted on, and the id is always the last key so
+     * that the order is stable between pages.
+     */
+    private static Sort toSort(String sort) {
+        if (StringUtils.isBlank(sort)) {
+            return Sort.by(Sort.Direction.ASC, "dueDate", "id");
+        }
+        var parts = sort.split(",", -1);
+        var property = SORTABLE_PROPERTIES.get(parts[0].trim());
+        if (property == null || parts.length > 2) {
+            throw new BusinessException(String.format("The bills can only be sorted by %s.", String.join(", ", new TreeSet<>(SORTABLE_PROPERTIES.keySet()))));
+        }
+        var direction = parts.length == 2
+                ? Sort.Direction.fromOptionalString(parts[1].trim()).orElseThrow(() -> new BusinessException("The sort direction must be asc or desc."))
+                : Sort.Direction.ASC;
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Turns a slice into a page whose total is the planner estimate, falling back to the exact count when there is
+     * none; the slice is only read when there is an estimate. The total is raised to what the slice proves to exist,
+     * so an estimate that is too low never hides the next page.
+     */
+    private static <T> Page<T> withEstimate(OptionalLong estimate, Supplier<Slice<T>> sliceQuery, Supplier<Page<T>> exact) {
+        if (estimate.isEmpty()) {
+            return exact.get();
+        }
+        var slice = sliceQuery.get();
+        var pageable = slice.getPageable();
+        var seen = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return new PageImpl<>(slice.getContent(), pageable, Math.max(estimate.getAsLong(), seen));
+    }
+
+    private static CursorPageDTO<Bill> toCursorPage(List<Bill> bills, int size) {
+        if (bills.size() <= size) {
+            return new CursorPageDTO<>(bills, null);
+        }
+        var content = bills.subList(0, size);
+        return new CursorPageDTO<>(content, BillCursor.of(content.get(size - 1)).encode());
+    }
 }
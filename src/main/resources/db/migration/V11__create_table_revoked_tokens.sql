@@ -0,0 +1,8 @@
+CREATE TABLE payment.revoked_tokens (
+    jti UUID PRIMARY KEY,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON payment.revoked_tokens (revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON payment.revoked_tokens (expires_at);
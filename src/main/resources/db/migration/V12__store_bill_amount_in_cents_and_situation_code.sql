@@ -0,0 +1,5 @@
+ALTER TABLE payment.bills RENAME COLUMN amount TO amount_cents;
+
+ALTER TABLE payment.bills
+    ALTER COLUMN amount_cents TYPE BIGINT USING round(amount_cents * 100)::BIGINT,
+    ALTER COLUMN situation TYPE SMALLINT USING CASE situation WHEN 'PAID' THEN 1 WHEN 'UNPAID' THEN 2 END;
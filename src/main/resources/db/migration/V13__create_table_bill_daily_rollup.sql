@@ -0,0 +1,77 @@
+CREATE TABLE payment.bill_daily_rollup (
+    day DATE NOT NULL,
+    situation SMALLINT NOT NULL,
+    bill_count BIGINT NOT NULL,
+    amount_cents BIGINT NOT NULL,
+    PRIMARY KEY (day, situation)
+);
+
+-- Applies the rows changed by one statement on payment.bills as per (due date, situation) deltas, so a bulk
+-- statement costs one upsert per group. Groups are upserted in key order, so concurrent statements lock the rollup
+-- rows in the same order.
+CREATE FUNCTION payment.maintain_bill_daily_rollup() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO payment.bill_daily_rollup AS r (day, situation, bill_count, amount_cents)
+        SELECT due_date, situation, count(*), sum(amount_cents)
+        FROM new_bills
+        WHERE situation IS NOT NULL
+        GROUP BY due_date, situation
+        ORDER BY due_date, situation
+        ON CONFLICT (day, situation) DO UPDATE
+        SET bill_count = r.bill_count + EXCLUDED.bill_count, amount_cents = r.amount_cents + EXCLUDED.amount_cents;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO payment.bill_daily_rollup AS r (day, situation, bill_count, amount_cents)
+        SELECT due_date, situation, -count(*), -sum(amount_cents)
+        FROM old_bills
+        WHERE situation IS NOT NULL
+        GROUP BY due_date, situation
+        ORDER BY due_date, situation
+        ON CONFLICT (day, situation) DO UPDATE
+        SET bill_count = r.bill_count + EXCLUDED.bill_count, amount_cents = r.amount_cents + EXCLUDED.amount_cents;
+    ELSE
+        INSERT INTO payment.bill_daily_rollup AS r (day, situation, bill_count, amount_cents)
+        SELECT due_date, situation, sum(bill_count), sum(amount_cents)
+        FROM (SELECT due_date, situation, 1 AS bill_count, amount_cents FROM new_bills
+              UNION ALL
+              SELECT due_date, situation, -1, -amount_cents FROM old_bills) AS changes
+        WHERE situation IS NOT NULL
+        GROUP BY due_date, situation
+        HAVING sum(bill_count) <> 0 OR sum(amount_cents) <> 0
+        ORDER BY due_date, situation
+        ON CONFLICT (day, situation) DO UPDATE
+        SET bill_count = r.bill_count + EXCLUDED.bill_count, amount_cents = r.amount_cents + EXCLUDED.amount_cents;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER bills_rollup_insert AFTER INSERT ON payment.bills
+    REFERENCING NEW TABLE AS new_bills
+    FOR EACH STATEMENT EXECUTE FUNCTION payment.maintain_bill_daily_rollup();
+
+CREATE TRIGGER bills_rollup_update AFTER UPDATE ON payment.bills
+    REFERENCING OLD TABLE AS old_bills NEW TABLE AS new_bills
+    FOR EACH STATEMENT EXECUTE FUNCTION payment.maintain_bill_daily_rollup();
+
+CREATE TRIGGER bills_rollup_delete AFTER DELETE ON payment.bills
+    REFERENCING OLD TABLE AS old_bills
+    FOR EACH STATEMENT EXECUTE FUNCTION payment.maintain_bill_daily_rollup();
+
+CREATE FUNCTION payment.truncate_bill_daily_rollup() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    TRUNCATE payment.bill_daily_rollup;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER bills_rollup_truncate AFTER TRUNCATE ON payment.bills
+    FOR EACH STATEMENT EXECUTE FUNCTION payment.truncate_bill_daily_rollup();
+
+INSERT INTO payment.bill_daily_rollup (day, situation, bill_count, amount_cents)
+SELECT due_date, situation, count(*), sum(amount_cents)
+FROM payment.bills
+WHERE situation IS NOT NULL
+GROUP BY due_date, situation;
@@ -0,0 +1 @@
+CREATE INDEX idx_bills_unpaid_due_date_id ON payment.bills (due_date, id) WHERE situation = 2;
@@ -0,0 +1,3 @@
+-- Situation 3 is OVERDUE, set by the overdue sweep. The due-soon and overdue listings read unpaid and overdue bills
+-- from this index; the sweep reads the unpaid ones from idx_bills_unpaid_due_date_id.
+CREATE INDEX idx_bills_open_due_date_id ON payment.bills (due_date, id) WHERE situation IN (2, 3);
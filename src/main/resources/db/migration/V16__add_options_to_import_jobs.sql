@@ -0,0 +1,3 @@
+ALTER TABLE payment.import_jobs
+    ADD COLUMN parallel BOOLEAN,
+    ADD COLUMN ordered BOOLEAN;
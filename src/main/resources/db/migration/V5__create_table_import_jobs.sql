@@ -0,0 +1,15 @@
+CREATE TABLE payment.import_jobs (
+    id UUID PRIMARY KEY,
+    file_name VARCHAR(255),
+    engine VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_bytes BIGINT NOT NULL,
+    processed_bytes BIGINT NOT NULL DEFAULT 0,
+    rows_accepted BIGINT NOT NULL DEFAULT 0,
+    rows_rejected BIGINT NOT NULL DEFAULT 0,
+    rows_per_second DOUBLE PRECISION NOT NULL DEFAULT 0,
+    error VARCHAR(1000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    started_at TIMESTAMP WITH TIME ZONE,
+    finished_at TIMESTAMP WITH TIME ZONE
+);
@@ -0,0 +1 @@
+CREATE INDEX idx_bills_due_date_id ON payment.bills (due_date, id);
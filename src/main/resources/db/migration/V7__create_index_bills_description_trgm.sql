@@ -0,0 +1,3 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+CREATE INDEX idx_bills_description_trgm ON payment.bills USING gin (description public.gin_trgm_ops);
@@ -0,0 +1,5 @@
+CREATE INDEX idx_bills_payment_date ON payment.bills (payment_date);
+
+CREATE INDEX idx_bills_amount ON payment.bills (amount);
+
+CREATE INDEX idx_bills_situation_due_date ON payment.bills (situation, due_date);
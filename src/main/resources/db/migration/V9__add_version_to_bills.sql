@@ -0,0 +1 @@
+ALTER TABLE payment.bills ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,115 @@
+package br.com.bmstech.payment.application.infra.analytics;
+
+import br.com.bmstech.payment.domain.dto.BillPatchDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.analytics.ColumnarBillAnalytics;
+import br.com.bmstech.payment.infra.analytics.SqlBillAnalytics;
+import br.com.bmstech.payment.infra.imports.ImportOptions;
+import br.com.bmstech.payment.infra.services.BillImportService;
+import br.com.bmstech.payment.infra.services.BillService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+        "api.bills.analytics.enabled=true",
+        "api.bills.analytics.partition-size=8"
+})
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+class ColumnarBillAnalyticsTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 6, 1);
+
+    private static final List<BillSearchCriteria> CRITERIA = List.of(
+            new BillSearchCriteria(null, null, null, null, null, null, null, null),
+            new BillSearchCriteria(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 5, 31), null, null, null, null, null, null),
+            new BillSearchCriteria(null, null, LocalDate.of(2024, 1, 1), null, null, null, null, null),
+            new BillSearchCriteria(null, null, null, null, Money.valueOf("50"), Money.valueOf("400.99"), null, null),
+            new BillSearchCriteria(null, null, null, null, null, null, Situation.UNPAID, null),
+            new BillSearchCriteria(null, null, null, null, null, null, null, "RENT"));
+
+    private final BillRepository billRepository;
+    private final BillService billService;
+    private final BillImportService billImportService;
+    private final ColumnarBillAnalytics columnarBillAnalytics;
+    private final SqlBillAnalytics sqlBillAnalytics;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Test
+    void shouldAnswerLikeTheDatabaseAfterEveryChange() throws InterruptedException {
+        billRepository.deleteAll();
+        columnarBillAnalytics.reload();
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            bills.add(billService.create(Bill.builder()
+                    .dueDate(LocalDate.of(2024, 1, 1).plusDays(i * 5L))
+                    .amount(Money.ofCents(1_000 + i * 997L))
+                    .description(i % 3 == 0 ? "Rent " + i : "Electricity")
+                    .situation(Situation.UNPAID)
+                    .build()));
+        }
+        assertSameAnswers();
+
+        billService.payBill(bills.get(0).getId().toString());
+        billService.payBill(bills.get(7).getId().toString());
+        var patch = new BillPatchDTO();
+        patch.setDueDate(LocalDate.of(2023, 12, 20));
+        patch.setDescription("Rent moved");
+        billService.patch(bills.get(12).getId().toString(), patch);
+        billService.delete(bills.get(20).getId().toString());
+        billService.deleteAll(bills.subList(30, 34).stream().map(Bill::getId).toList(), false);
+        var csvContent = """
+                         data_vencimento,data_pagamento,valor,descricao,situacao
+                         2024-02-10,,75.00,Rent imported,UNPAID
+                         2025-01-10,2025-01-09,120.50,Water,PAID
+                         """;
+        billImportService.importBills(new MockMultipartFile("file", "bills.csv", "text/csv", csvContent.getBytes()),
+                ImportOptions.of(ImportEngine.COPY));
+        assertSameAnswers();
+
+        billService.payByCriteria(new BillSearchCriteria(null, LocalDate.of(2024, 2, 1), null, null, null, null, null, null));
+        assertSameAnswers();
+    }
+
+    private void assertSameAnswers() throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && !columnarBillAnalytics.isCurrent(); attempt++) {
+            Thread.sleep(50);
+        }
+        assertThat(columnarBillAnalytics.isCurrent()).isTrue();
+        for (var criteria : CRITERIA) {
+            assertThat(columnarBillAnalytics.aging(criteria, REFERENCE_DATE))
+                    .isEqualTo(sqlBillAnalytics.aging(criteria, REFERENCE_DATE));
+            assertThat(columnarBillAnalytics.amounts(criteria, 10_000, 8))
+                    .isEqualTo(sqlBillAnalytics.amounts(criteria, 10_000, 8));
+            assertThat(columnarBillAnalytics.months(criteria)).isEqualTo(sqlBillAnalytics.months(criteria));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.bmstech.payment.application.infra.cache;
+
+import br.com.bmstech.payment.application.configs.BillCacheProperties;
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.enums.CountStrategy;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.events.BillsChangedEvent;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.cache.BillCache;
+import br.com.bmstech.payment.infra.cache.BillCache.FilterKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+class BillCacheTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2024, 1, 10);
+    private static final LocalDate FEBRUARY = LocalDate.of(2024, 2, 10);
+
+    private final BillCache billCache = new BillCache(new BillCacheProperties(true,
+            new BillCacheProperties.Spec(100, Duration.ofMinutes(5)),
+            new BillCacheProperties.Spec(100, Duration.ofMinutes(5))), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldInvalidateOnlyThePagesAChangeAffects() {
+        var january = bill(JANUARY);
+        var february = bill(FEBRUARY);
+        var januaryPage = key(JANUARY);
+        var februaryPage = key(FEBRUARY);
+        var allDates = key(null);
+        find(januaryPage, january);
+        find(februaryPage, february);
+        find(allDates, january, february);
+
+        billCache.onBillsChanged(BillsChangedEvent.ofIds(List.of(february.id())));
+
+        assertThat(reloads(januaryPage, january)).isZero();
+        assertThat(reloads(februaryPage, february)).isOne();
+        assertThat(reloads(allDates, january, february)).isOne();
+
+        billCache.onBillsChanged(BillsChangedEvent.ofDueDates(List.of(JANUARY)));
+
+        assertThat(reloads(januaryPage, january)).isOne();
+        assertThat(reloads(februaryPage, february)).isZero();
+        assertThat(reloads(allDates, january, february)).isOne();
+    }
+
+    @Test
+    void shouldNotKeepWhatWasReadDuringACommit() {
+        var bill = bill(JANUARY);
+        var key = key(JANUARY);
+        var event = BillsChangedEvent.ofIds(List.of(UUID.randomUUID()));
+
+        billCache.findByFilter(key, () -> {
+            billCache.onBillsChanged(event);
+            return load(bill);
+        });
+        billCache.findById(bill.id(), id -> {
+            billCache.onBillsChanged(event);
+            return bill;
+        });
+
+        assertThat(reloads(key, bill)).isOne();
+        assertThat(reloads(key, bill)).isZero();
+        var byIdLoads = new AtomicInteger();
+        billCache.findById(bill.id(), id -> {
+            byIdLoads.incrementAndGet();
+            return bill;
+        });
+        assertThat(byIdLoads).hasValue(1);
+    }
+
+    private int reloads(FilterKey key, BillResponseDTO... bills) {
+        var before = loads.get();
+        find(key, bills);
+        return loads.get() - before;
+    }
+
+    private void find(FilterKey key, BillResponseDTO... bills) {
+        billCache.findByFilter(key, () -> load(bills));
+    }
+
+    private Slice<BillResponseDTO> load(BillResponseDTO... bills) {
+        loads.incrementAndGet();
+        return new SliceImpl<>(List.of(bills), PageRequest.of(0, 10), false);
+    }
+
+    private static FilterKey key(LocalDate dueDate) {
+        return new FilterKey(dueDate, null, 0, 10, CountStrategy.NONE);
+    }
+
+    private static BillResponseDTO bill(LocalDate dueDate) {
+        return new BillResponseDTO(UUID.randomUUID(), null, dueDate, Money.valueOf("10.00"), "Cached", Situation.UNPAID, 0L);
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.bmstech.payment.application.infra.commit;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.events.BillsChangedEvent;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.services.BillService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+        "api.bills.group-commit.enabled=true",
+        "api.bills.group-commit.max-delay=20ms"
+})
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+class BillGroupCommitterTest {
+
+    private final BillRepository billRepository;
+    private final BillService billService;
+    private final MeterRegistry meterRegistry;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @BeforeEach
+    void setUp() {
+        billRepository.deleteAll();
+    }
+
+    @Test
+    void shouldInsertConcurrentCreationsInBatches() {
+        List<CompletableFuture<Bill>> results = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 100; i++) {
+                var bill = bill(LocalDate.of(2024, 1, 1 + i % 28), "Group commit " + i);
+                results.add(CompletableFuture.supplyAsync(() -> billService.create(bill), executor));
+            }
+        }
+
+        var bills = results.stream().map(CompletableFuture::join).toList();
+
+        assertThat(bills).allMatch(bill -> bill.getId() != null && bill.getVersion() == 0L);
+        assertThat(billRepository.count()).isEqualTo(100);
+        var batches = meterRegistry.get("bills.group-commit.batch.size").summary();
+        assertThat(batches.totalAmount()).isGreaterThanOrEqualTo(100);
+        assertThat(batches.max()).isGreaterThan(1);
+    }
+
+    @Test
+    void shouldFailOnlyTheInvalidBillOfABatch() {
+        List<CompletableFuture<Bill>> results = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                var bill = bill(i == 5 ? null : LocalDate.of(2024, 2, 1), "Group commit " + i);
+                results.add(CompletableFuture.supplyAsync(() -> billService.create(bill), executor));
+            }
+        }
+
+        assertThatThrownBy(() -> results.get(5).join()).isInstanceOf(CompletionException.class);
+        assertThat(results).filteredOn(result -> !result.isCompletedExceptionally()).hasSize(9);
+        assertThat(billRepository.count()).isEqualTo(9);
+    }
+
+    @Test
+    void shouldNotRetryACommittedBatchWhoseListenerFails() {
+        var failures = meterRegistry.get("bills.group-commit.event.failures").counter().count();
+        List<CompletableFuture<Bill>> results = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                var bill = bill(FailingListener.DUE_DATE, "Group commit " + i);
+                results.add(CompletableFuture.supplyAsync(() -> billService.create(bill), executor));
+            }
+        }
+
+        assertThat(results.stream().map(CompletableFuture::join).toList()).allMatch(bill -> bill.getId() != null);
+        assertThat(billRepository.count()).isEqualTo(10);
+        assertThat(meterRegistry.get("bills.group-commit.event.failures").counter().count()).isGreaterThan(failures);
+    }
+
+    private static Bill bill(LocalDate dueDate, String description) {
+        return Bill.builder()
+                .dueDate(dueDate)
+                .amount(Money.valueOf("10.5"))
+                .description(description)
+                .situation(Situation.UNPAID)
+                .build();
+    }
+
+    @TestConfiguration
+    static class FailingListener {
+
+        static final LocalDate DUE_DATE = LocalDate.of(1999, 1, 1);
+
+        @EventListener
+        void onBillsChanged(BillsChangedEvent event) {
+            if (event.dueDates().contains(DUE_DATE)) {
+                throw new IllegalStateException("Listener failure.");
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.bmstech.payment.application.infra.due;
+
+import br.com.bmstech.payment.domain.dto.BillCursor;
+import br.com.bmstech.payment.domain.dto.BillPatchDTO;
+import br.com.bmstech.payment.domain.dto.BillResponseDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.due.DueBillIndex;
+import br.com.bmstech.payment.infra.due.SqlDueBills;
+import br.com.bmstech.payment.infra.imports.ImportOptions;
+import br.com.bmstech.payment.infra.services.BillImportService;
+import br.com.bmstech.payment.infra.services.BillService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = "api.bills.due-index.enabled=true")
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+class DueBillIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private final BillRepository billRepository;
+    private final BillService billService;
+    private final BillImportService billImportService;
+    private final DueBillIndex dueBillIndex;
+    private final SqlDueBills sqlDueBills;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Test
+    void shouldListLikeTheDatabaseAfterEveryChange() throws InterruptedException {
+        billRepository.deleteAll();
+        dueBillIndex.reload();
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            bills.add(billService.create(Bill.builder()
+                    .dueDate(START.plusDays(i / 3))
+                    .amount(Money.ofCents(1_000 + i))
+                    .description("Due " + i)
+                    .situation(Situation.UNPAID)
+                    .build()));
+        }
+        assertSameListings();
+
+        billService.payBill(bills.get(0).getId().toString());
+        billService.payAll(bills.subList(10, 14).stream().map(Bill::getId).toList(), false);
+        var patch = new BillPatchDTO();
+        patch.setDueDate(START.plusDays(30));
+        patch.setDescription("Due moved");
+        billService.patch(bills.get(5).getId().toString(), patch);
+        billService.delete(bills.get(20).getId().toString());
+        billService.deleteAll(bills.subList(30, 34).stream().map(Bill::getId).toList(), false);
+        var csvContent = """
+                         data_vencimento,data_pagamento,valor,descricao,situacao
+                         2024-01-05,,75.00,Due imported,UNPAID
+                         2024-01-06,2024-01-05,120.50,Paid imported,PAID
+                         """;
+        billImportService.importBills(new MockMultipartFile("file", "bills.csv", "text/csv", csvContent.getBytes()),
+                ImportOptions.of(ImportEngine.COPY));
+        assertSameListings();
+
+        billService.payByCriteria(new BillSearchCriteria(null, START.plusDays(8), null, null, null, null, null, null));
+        assertSameListings();
+        assertThat(dueBillIndex.findUnpaid(null, START.plusDays(8), null, 100)).isEmpty();
+    }
+
+    /**
+     * Walks every range page by page, following the cursor of the index into the database and back.
+     */
+    private void assertSameListings() throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && !dueBillIndex.isCurrent(); attempt++) {
+            Thread.sleep(50);
+        }
+        assertThat(dueBillIndex.isCurrent()).isTrue();
+        var ranges = new LocalDate[][]{
+                {null, START.plusDays(100)}, {START.plusDays(3), START.plusDays(9)}, {null, START.plusDays(2)},
+                {START.plusDays(7), START.plusDays(7)}, {START.plusDays(50), START.plusDays(60)}};
+        for (var range : ranges) {
+            BillCursor after = null;
+            List<UUID> walked = new ArrayList<>();
+            while (true) {
+                var expected = sqlDueBills.findUnpaid(range[0], range[1], after, 7);
+                assertThat(dueBillIndex.findUnpaid(range[0], range[1], after, 7)).isEqualTo(expected);
+                if (expected.isEmpty()) {
+                    break;
+                }
+                expected.stream().map(BillResponseDTO::id).forEach(walked::add);
+                var last = expected.get(expected.size() - 1);
+                after = new BillCursor(last.dueDate(), last.id());
+            }
+            assertThat(walked).doesNotHaveDuplicates();
+        }
+        var before = new BillCursor(START.minusDays(1), new UUID(-1, -1));
+        assertThat(dueBillIndex.findUnpaid(START.plusDays(3), START.plusDays(9), before, 100))
+                .isEqualTo(sqlDueBills.findUnpaid(START.plusDays(3), START.plusDays(9), before, 100));
+    }
+}
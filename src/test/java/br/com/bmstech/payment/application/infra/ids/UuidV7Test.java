@@ -0,0 +1,72 @@
+package br.com.bmstech.payment.application.infra.ids;
+
+import br.com.bmstech.payment.infra.ids.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+class UuidV7Test {
+
+    @Test
+    void shouldCarryVersionVariantAndCurrentTime() {
+        var before = System.currentTimeMillis();
+        var uuid = UuidV7.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestamp(uuid)).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void shouldIncreaseInTheDatabaseOrder() {
+        var previous = UuidV7.next().toString();
+        for (int i = 0; i < 100_000; i++) {
+            var next = UuidV7.next().toString();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void shouldStayUniqueAndOrderedAcrossThreads() {
+        List<CompletableFuture<List<UUID>>> results = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    List<UUID> uuids = new ArrayList<>();
+                    for (int i = 0; i < 50_000; i++) {
+                        uuids.add(UuidV7.next());
+                    }
+                    return uuids;
+                }, executor));
+            }
+        }
+
+        var all = new HashSet<UUID>();
+        for (var result : results) {
+            var uuids = result.join();
+            for (int i = 1; i < uuids.size(); i++) {
+                assertThat(uuids.get(i).toString()).isGreaterThan(uuids.get(i - 1).toString());
+            }
+            all.addAll(uuids);
+        }
+        assertThat(all).hasSize(8 * 50_000);
+    }
+
+    @Test
+    void shouldRejectOtherVersions() {
+        assertThatThrownBy(() -> UuidV7.timestamp(UUID.randomUUID())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.bmstech.payment.application.infra.imports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.imports.BillCsvParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+class BillCsvParserTest {
+
+    @Test
+    void shouldParseEveryColumn() throws IOException {
+        var bills = parse("""
+                          data_vencimento,data_pagamento,valor,descricao,situacao
+                          2024-01-05,2024-01-04,284.25,Bill description test 01,PAID
+                          2024-02-05,,-0.5, Bill description test 02 ,
+                          """);
+
+        assertThat(bills).hasSize(2);
+        assertThat(bills.get(0).getDueDate()).isEqualTo(LocalDate.of(2024, 1, 5));
+        assertThat(bills.get(0).getPaymentDate()).isEqualTo(LocalDate.of(2024, 1, 4));
+        assertThat(bills.get(0).getAmount()).isEqualTo(Money.valueOf("284.25"));
+        assertThat(bills.get(0).getDescription()).isEqualTo("Bill description test 01");
+        assertThat(bills.get(0).getSituation()).isEqualTo(Situation.PAID);
+        assertThat(bills.get(1).getPaymentDate()).isNull();
+        assertThat(bills.get(1).getAmount()).isEqualTo(Money.valueOf("-0.5"));
+        assertThat(bills.get(1).getDescription()).isEqualTo("Bill description test 02");
+        assertThat(bills.get(1).getSituation()).isEqualTo(Situation.UNPAID);
+    }
+
+    @Test
+    void shouldResolveColumnsFromTheHeader() throws IOException {
+        var bills = parse("""
+                          situacao,descricao,extra,valor,data_pagamento,data_vencimento\r
+                          UNPAID,"Bill ""quoted"", with comma",x,1e2,,2024-03-05\r
+                          """);
+
+        assertThat(bills).singleElement().satisfies(bill -> {
+            assertThat(bill.getDescription()).isEqualTo("Bill \"quoted\", with comma");
+            assertThat(bill.getAmount()).isEqualTo(Money.ofCents(10000));
+            assertThat(bill.getDueDate()).isEqualTo(LocalDate.of(2024, 3, 5));
+        });
+    }
+
+    @Test
+    void shouldRejectInvalidRows() throws IOException {
+        var content = """
+                      data_vencimento,data_pagamento,valor,descricao,situacao
+                      2024-13-05,,284.25,Invalid due date,
+                      2024-03-05,,abc,Invalid amount,
+                      2024-04-05,,284.25,Invalid situation,LATE
+                      2024-04-05,,284.25
+
+                      2024-05-05,,284.25,"Multi
+                      line",UNPAID
+                      """ + "2024-06-05,,284.25,\"Unterminated,";
+
+        try (BillCsvParser parser = BillCsvParser.open(new StringReader(content))) {
+            assertThat(parser.next().getDescription()).isEqualTo("Multi\nline");
+            assertThat(parser.next()).isNull();
+            assertThat(parser.rejected()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void shouldParseRecordsLargerThanTheBuffer() throws IOException {
+        var description = "x".repeat(200_000);
+        var bills = parse("data_vencimento,data_pagamento,valor,descricao,situacao\n"
+                + "2024-01-05,,1,\"" + description + "\",\n"
+                + "2024-01-06,,2,short,");
+
+        assertThat(bills).extracting(Bill::getDescription).containsExactly(description, "short");
+    }
+
+    @Test
+    void shouldRejectHeaderWithoutExpectedColumns() {
+        assertThatThrownBy(() -> BillCsvParser.open(new StringReader("data_vencimento,valor\n")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("data_pagamento, descricao, situacao");
+    }
+
+    private static List<Bill> parse(String content) throws IOException {
+        List<Bill> bills = new ArrayList<>();
+        try (BillCsvParser parser = BillCsvParser.open(new OneCharAtATimeReader(content))) {
+            Bill bill;
+            while ((bill = parser.next()) != null) {
+                bills.add(bill);
+            }
+        }
+        return bills;
+    }
+
+    /**
+     * Returns short reads, so records always cross the buffer boundary.
+     */
+    private static class OneCharAtATimeReader extends Reader {
+
+        private final StringReader delegate;
+
+        OneCharAtATimeReader(String content) {
+            this.delegate = new StringReader(content);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return delegate.read(buffer, offset, Math.min(length, 7));
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
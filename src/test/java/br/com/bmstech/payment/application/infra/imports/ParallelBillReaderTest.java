@@ -0,0 +1,147 @@
+package br.com.bmstech.payment.application.infra.imports;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.infra.imports.ParallelBillReader;
+import br.com.bmstech.payment.infra.imports.SequentialBillReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+class ParallelBillReaderTest {
+
+    private static final String HEADER = "data_vencimento,data_pagamento,valor,descricao,situacao\n";
+
+    private static ForkJoinPool pool;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void shouldKeepFileOrderWhenOrdered() throws IOException {
+        var csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 1000; i++) {
+            csv.append(LocalDate.of(2024, 1, 1).plusDays(i)).append(",,10.00,Bill ").append(i).append(",\n");
+        }
+        var file = write(csv.toString());
+        List<String> descriptions = new ArrayList<>();
+
+        new ParallelBillReader(file, 7, pool, 64, 3, true).read((bills, rejected, bytesRead) -> {
+            bills.forEach(bill -> descriptions.add(bill.getDescription()));
+            return true;
+        });
+
+        assertThat(descriptions).hasSize(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(descriptions.get(i)).isEqualTo("Bill " + i);
+        }
+    }
+
+    @Test
+    void shouldNotSplitQuotedLineBreaks() throws IOException {
+        var csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 200; i++) {
+            csv.append("2024-01-05,,10.00,\"Bill\n\"\"").append(i).append("\"\"\n,\n\",UNPAID\n");
+        }
+        var file = write(csv.toString());
+        List<Bill> read = new ArrayList<>();
+        var rejected = new AtomicInteger();
+
+        new ParallelBillReader(file, 50, pool, 16, 4, false).read((bills, chunkRejected, bytesRead) -> {
+            read.addAll(bills);
+            rejected.addAndGet(chunkRejected);
+            return true;
+        });
+
+        assertThat(rejected).hasValue(0);
+        assertThat(read).hasSize(200)
+                .allMatch(bill -> bill.getDescription().matches("Bill\n\"\\d+\"\n,"));
+    }
+
+    @Test
+    void shouldReadLiteralQuotesLikeTheSequentialReader() throws IOException {
+        var csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 200; i++) {
+            csv.append("2024-01-05,,10.00,Tubo 3/4\" ").append(i).append(",UNPAID\n");
+            csv.append("2024-01-06,,10.00,\"Bill\n").append(i).append("\",\n");
+            csv.append("2024-01-07,,10.00,\"Bill \"\"").append(i).append("\"\"\",PAID\n");
+        }
+        var file = write(csv.toString());
+        List<String> parallel = new ArrayList<>();
+        List<String> sequential = new ArrayList<>();
+        var parallelRejected = new AtomicInteger();
+        var sequentialRejected = new AtomicInteger();
+
+        new ParallelBillReader(file, 50, pool, 16, 4, true).read((bills, chunkRejected, bytesRead) -> {
+            bills.forEach(bill -> parallel.add(bill.getDescription()));
+            parallelRejected.addAndGet(chunkRejected);
+            return true;
+        });
+        try (InputStream input = Files.newInputStream(file)) {
+            new SequentialBillReader(input, 50).read((bills, chunkRejected, bytesRead) -> {
+                bills.forEach(bill -> sequential.add(bill.getDescription()));
+                sequentialRejected.addAndGet(chunkRejected);
+                return true;
+            });
+        }
+
+        assertThat(sequential).hasSize(600).contains("Tubo 3/4\" 7", "Bill\n7", "Bill \"7\"");
+        assertThat(sequentialRejected).hasValue(0);
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallelRejected).hasValue(0);
+    }
+
+    @Test
+    void shouldCountRejectedRowsAndStopWhenAsked() throws IOException {
+        var file = write(HEADER
+                + "2024-01-05,,10.00,Bill 1,\n"
+                + "2024-13-05,,10.00,Invalid due date,\n"
+                + "2024-01-07,,abc,Invalid amount,\n"
+                + "2024-01-08,,10.00,Bill 4,PAID\n");
+        var accepted = new AtomicInteger();
+        var rejected = new AtomicInteger();
+
+        new ParallelBillReader(file, 100, pool, 1, 2, true).read((bills, chunkRejected, bytesRead) -> {
+            accepted.addAndGet(bills.size());
+            rejected.addAndGet(chunkRejected);
+            return true;
+        });
+
+        assertThat(accepted).hasValue(2);
+        assertThat(rejected).hasValue(2);
+
+        var calls = new AtomicInteger();
+        new ParallelBillReader(file, 100, pool, 1, 2, true).read((bills, chunkRejected, bytesRead) -> calls.incrementAndGet() < 1);
+        assertThat(calls).hasValue(1);
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("bills.csv"), content);
+    }
+}
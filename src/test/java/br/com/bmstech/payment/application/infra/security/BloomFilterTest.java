@@ -0,0 +1,38 @@
+package br.com.bmstech.payment.application.infra.security;
+
+import br.com.bmstech.payment.infra.security.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+class BloomFilterTest {
+
+    @Test
+    void shouldContainEveryAddedIdAndFewOthers() {
+        var filter = BloomFilter.create(10_000, 0.01);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            var id = UUID.randomUUID();
+            filter.add(id);
+            added.add(id);
+        }
+
+        assertThat(added).allMatch(filter::mightContain);
+        var falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+        assertThat(filter.bitSize()).isLessThan(100_000);
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.bmstech.payment.application.infra.security;
+
+import br.com.bmstech.payment.application.configs.PasswordHashingProperties;
+import br.com.bmstech.payment.domain.exceptions.TooManyRequestsException;
+import br.com.bmstech.payment.infra.security.PasswordVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+class PasswordVerifierTest {
+
+    @Test
+    void shouldCheckPasswordsOffTheCallingThread() {
+        var encoder = new BCryptPasswordEncoder(4);
+        var meterRegistry = new SimpleMeterRegistry();
+        var verifier = new PasswordVerifier(encoder, new PasswordHashingProperties(1, 1), meterRegistry);
+        try {
+            var encoded = encoder.encode("123456");
+
+            assertThat(verifier.matches("123456", encoded).join()).isTrue();
+            assertThat(verifier.matches("654321", encoded).join()).isFalse();
+            assertThat(meterRegistry.get("auth.password.hash").timer().count()).isEqualTo(2);
+        } finally {
+            verifier.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRefuseWhenTheQueueIsFull() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        var meterRegistry = new SimpleMeterRegistry();
+        var verifier = new PasswordVerifier(blocking, new PasswordHashingProperties(1, 1), meterRegistry);
+        try {
+            var running = verifier.matches("a", "b");
+            started.await();
+            var queued = verifier.matches("a", "b");
+
+            assertThatThrownBy(() -> verifier.matches("a", "b")).isInstanceOf(TooManyRequestsException.class);
+            assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("executor.queued").tag("name", "auth.password").gauge().value()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.join()).isFalse();
+            assertThat(queued.join()).isFalse();
+        } finally {
+            verifier.shutdown();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.bmstech.payment.application.infra.security;
+
+import br.com.bmstech.payment.application.configs.TokenProperties;
+import br.com.bmstech.payment.domain.entity.User;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+import br.com.bmstech.payment.domain.repositories.RevokedTokenRepository;
+import br.com.bmstech.payment.domain.repositories.UserRepository;
+import br.com.bmstech.payment.infra.security.RefreshTokenService;
+import br.com.bmstech.payment.infra.security.TokenRevocationService;
+import br.com.bmstech.payment.infra.security.TokenService;
+import com.auth0.jwt.JWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+class RefreshTokenServiceTest {
+
+    private final User user = new User("1b7b537a-27a8-45cb-b5a3-36797b486fcf", "admin", "admin@bmstech.com.br", "password");
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenService tokenService;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new TokenProperties("payment-api-secret-key", false, new TokenProperties.Cache(true, 100, Duration.ofMinutes(1)),
+                new TokenProperties.Revocation(1000, 0.01, Duration.ofSeconds(5)), Duration.ofDays(30));
+        var userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        revokedTokenRepository = Mockito.mock(RevokedTokenRepository.class);
+        tokenService = new TokenService(properties);
+        var tokenRevocationService = new TokenRevocationService(revokedTokenRepository, tokenService,
+                Mockito.mock(TaskScheduler.class), properties);
+        refreshTokenService = new RefreshTokenService(tokenService, tokenRevocationService, userRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldExchangeRefreshTokenOnlyOnce() {
+        var issued = refreshTokenService.issue(user);
+        var jti = UUID.fromString(JWT.decode(issued.refreshToken()).getId());
+        Mockito.when(revokedTokenRepository.insertIfAbsent(eq(jti), any(), any())).thenReturn(1, 0);
+
+        var refreshed = refreshTokenService.refresh(issued.refreshToken());
+
+        assertThat(refreshed.name()).isEqualTo("admin");
+        assertThat(tokenService.validateToken(refreshed.token())).isEqualTo(user.getEmail());
+        assertThat(tokenService.verifyRefreshToken(refreshed.refreshToken())).isNotNull();
+        assertThat(refreshed.refreshToken()).isNotEqualTo(issued.refreshToken());
+        assertThatThrownBy(() -> refreshTokenService.refresh(issued.refreshToken())).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void shouldRefuseAccessTokensAsRefreshTokens() {
+        var issued = refreshTokenService.issue(user);
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(issued.token())).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> refreshTokenService.refresh(null)).isInstanceOf(BusinessException.class);
+        Mockito.verifyNoInteractions(revokedTokenRepository);
+    }
+}
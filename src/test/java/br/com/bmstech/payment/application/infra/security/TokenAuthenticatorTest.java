@@ -0,0 +1,135 @@
+package br.com.bmstech.payment.application.infra.security;
+
+import br.com.bmstech.payment.application.configs.TokenProperties;
+import br.com.bmstech.payment.domain.entity.User;
+import br.com.bmstech.payment.domain.repositories.RevokedTokenRepository;
+import br.com.bmstech.payment.domain.repositories.UserRepository;
+import br.com.bmstech.payment.infra.security.TokenAuthenticator;
+import br.com.bmstech.payment.infra.security.TokenRevocationService;
+import br.com.bmstech.payment.infra.security.TokenService;
+import com.auth0.jwt.JWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+class TokenAuthenticatorTest {
+
+    private static final String SECRET = "payment-api-secret-key";
+
+    private final User user = new User("1b7b537a-27a8-45cb-b5a3-36797b486fcf", "admin", "admin@bmstech.com.br", "password");
+
+    private UserRepository userRepository;
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenService tokenService;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        revokedTokenRepository = Mockito.mock(RevokedTokenRepository.class);
+        tokenService = new TokenService(properties(false, true));
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, tokenService,
+                Mockito.mock(TaskScheduler.class), properties(false, true));
+    }
+
+    @Test
+    void shouldLookUpTheUserOnlyOncePerToken() {
+        var authenticator = authenticator(properties(false, true));
+        var token = tokenService.generateToken(user);
+
+        assertThat(authenticator.authenticate(token)).contains(user);
+        assertThat(authenticator.authenticate(token)).contains(user);
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void shouldBuildTheUserFromClaims() {
+        var authenticator = authenticator(properties(true, false));
+
+        var authenticated = authenticator.authenticate(tokenService.generateToken(user));
+
+        assertThat(authenticated).hasValueSatisfying(principal -> {
+            assertThat(principal.getId()).isEqualTo(user.getId());
+            assertThat(principal.getName()).isEqualTo(user.getName());
+            assertThat(principal.getEmail()).isEqualTo(user.getEmail());
+            assertThat(principal.getPassword()).isNull();
+        });
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void shouldRejectInvalidTokens() {
+        var authenticator = authenticator(properties(false, true));
+        var token = tokenService.generateToken(user);
+        var otherKey = new TokenService(new TokenProperties("another-secret-key", false,
+                new TokenProperties.Cache(true, 10, Duration.ofMinutes(1)), new TokenProperties.Revocation(10, 0.01, Duration.ofSeconds(5)), Duration.ofDays(30)));
+
+        assertThat(authenticator.authenticate(null)).isEmpty();
+        assertThat(authenticator.authenticate("not-a-token")).isEmpty();
+        assertThat(authenticator.authenticate(token.substring(0, token.length() - 2))).isEmpty();
+        assertThat(authenticator.authenticate(otherKey.generateToken(user))).isEmpty();
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void shouldNotAuthenticateWithRefreshTokens() {
+        var authenticator = authenticator(properties(false, true));
+
+        assertThat(authenticator.authenticate(tokenService.generateRefreshToken(user))).isEmpty();
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void shouldRejectTokensOfUnknownUsers() {
+        var authenticator = authenticator(properties(false, true));
+        var unknown = new User("c0a8012e-0000-4000-8000-000000000000", "unknown", "unknown@bmstech.com.br", "password");
+
+        assertThat(authenticator.authenticate(tokenService.generateToken(unknown))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectRevokedTokensEvenWhenCached() {
+        var authenticator = authenticator(properties(false, true));
+        var token = tokenService.generateToken(user);
+        var other = tokenService.generateToken(user);
+        assertThat(authenticator.authenticate(token)).contains(user);
+        assertThat(authenticator.authenticate(other)).contains(user);
+
+        var jti = UUID.fromString(JWT.decode(token).getId());
+        Mockito.when(revokedTokenRepository.existsById(jti)).thenReturn(true);
+        tokenRevocationService.revoke(token);
+
+        assertThat(authenticator.authenticate(token)).isEmpty();
+        assertThat(authenticator.authenticate(other)).contains(user);
+        verify(revokedTokenRepository).insertIfAbsent(eq(jti), any(), any());
+        verify(revokedTokenRepository, times(1)).existsById(jti);
+    }
+
+    private TokenAuthenticator authenticator(TokenProperties properties) {
+        return new TokenAuthenticator(tokenService, userRepository, tokenRevocationService, properties, new SimpleMeterRegistry());
+    }
+
+    private static TokenProperties properties(boolean principalFromClaims, boolean cacheEnabled) {
+        return new TokenProperties(SECRET, principalFromClaims, new TokenProperties.Cache(cacheEnabled, 100, Duration.ofMinutes(1)),
+                new TokenProperties.Revocation(1000, 0.01, Duration.ofSeconds(5)), Duration.ofDays(30));
+    }
+}
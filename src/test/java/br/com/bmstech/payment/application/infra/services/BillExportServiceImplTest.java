@@ -0,0 +1,104 @@
+package br.com.bmstech.payment.application.infra.services;
+
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.ExportFormat;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.imports.BillCsvParser;
+import br.com.bmstech.payment.infra.services.BillExportService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+class BillExportServiceImplTest {
+
+    private static final BillSearchCriteria ALL = new BillSearchCriteria(null, null, null, null, null, null, null, null);
+
+    private final BillRepository billRepository;
+    private final BillExportService billExportService;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @BeforeEach
+    void setUp() {
+        billRepository.deleteAll();
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            bills.add(Bill.builder()
+                    .dueDate(LocalDate.of(2024, 1, 1).plusDays(i))
+                    .paymentDate(i % 2 == 0 ? LocalDate.of(2024, 1, 1) : null)
+                    .amount(Money.ofCents((100 + i) * 100L))
+                    .description(String.format("Bill \"export\", number %d", i))
+                    .situation(i % 2 == 0 ? Situation.PAID : Situation.UNPAID)
+                    .build());
+        }
+        billRepository.saveAll(bills);
+    }
+
+    @Test
+    void shouldExportCsvThatImportsBack() throws IOException {
+        var output = new ByteArrayOutputStream();
+
+        var rows = billExportService.export(ALL, ExportFormat.CSV, output);
+
+        assertThat(rows).isEqualTo(30);
+        List<Bill> parsed = new ArrayList<>();
+        try (var parser = BillCsvParser.open(new StringReader(output.toString(StandardCharsets.UTF_8)))) {
+            Bill bill;
+            while ((bill = parser.next()) != null) {
+                parsed.add(bill);
+            }
+            assertThat(parser.rejected()).isZero();
+        }
+        assertThat(parsed).hasSize(30);
+        assertThat(parsed.get(0).getDueDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(parsed.get(0).getPaymentDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(parsed.get(0).getDescription()).isEqualTo("Bill \"export\", number 0");
+        assertThat(parsed.get(0).getSituation()).isEqualTo(Situation.PAID);
+        assertThat(parsed.get(1).getPaymentDate()).isNull();
+    }
+
+    @Test
+    void shouldExportNdjsonMatchingCriteria() throws IOException {
+        var output = new ByteArrayOutputStream();
+        var criteria = new BillSearchCriteria(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10),
+                null, null, null, null, Situation.UNPAID, null);
+
+        var rows = billExportService.export(criteria, ExportFormat.NDJSON, output);
+
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(5);
+        assertThat(lines).hasSize(5).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+        assertThat(lines[0]).contains("\"data_vencimento\":\"2024-01-02\"");
+    }
+}
@@ -0,0 +1,194 @@
+package br.com.bmstech.payment.application.infra.services;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.entity.ImportJob;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.domain.enums.ImportJobStatus;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.repositories.ImportJobRepository;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.imports.ImportOptions;
+import br.com.bmstech.payment.infra.imports.UploadSpool;
+import br.com.bmstech.payment.infra.services.BillImportJobService;
+import br.com.bmstech.payment.infra.services.BillImportService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = "api.bills.import.chunk-size=2")
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+class BillImportServiceImplTest {
+
+    private final BillRepository billRepository;
+    private final ImportJobRepository importJobRepository;
+    private final BillImportService billImportService;
+    private final BillImportJobService billImportJobService;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @BeforeEach
+    void setUp() {
+        billRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ImportEngine.class)
+    void shouldImportBillsInChunks(ImportEngine engine) {
+        String csvContent = """
+                            data_vencimento,data_pagamento,valor,descricao,situacao
+                            2024-01-05,2024-01-04,284.25,Bill description test 01,PAID
+                            2024-02-05,,284.25,Bill description test 02,
+                            2024-03-05,,284.25,"Bill ""description"", test 03",UNPAID
+                            """;
+        var file = new MockMultipartFile("file", "bills.csv", "text/csv", csvContent.getBytes());
+
+        var summary = billImportService.importBills(file, ImportOptions.of(engine));
+
+        assertThat(summary.accepted()).isEqualTo(3);
+        assertThat(summary.rejected()).isZero();
+
+        var bills = billRepository.findAll();
+        assertThat(bills).hasSize(3);
+        assertThat(bills).allMatch(bill -> bill.getId() != null);
+        assertThat(bills).anyMatch(bill -> bill.getDescription().equals("Bill \"description\", test 03")
+                && bill.getSituation() == Situation.UNPAID
+                && bill.getAmount().equals(Money.valueOf("284.25")));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ImportEngine.class)
+    void shouldRejectInvalidRowsAndKeepTheOthers(ImportEngine engine) {
+        String csvContent = """
+                            data_vencimento,data_pagamento,valor,descricao,situacao
+                            2024-01-05,,284.25,Bill description test 01,
+                            2024-13-05,,284.25,Invalid due date,
+                            2024-03-05,,abc,Invalid amount,
+                            2024-04-05,,284.25,Invalid situation,LATE
+                            2024-05-05,,284.25,Bill description test 05,
+                            """;
+        var file = new MockMultipartFile("file", "bills.csv", "text/csv", csvContent.getBytes());
+
+        var summary = billImportService.importBills(file, ImportOptions.of(engine));
+
+        assertThat(summary.accepted()).isEqualTo(2);
+        assertThat(summary.rejected()).isEqualTo(3);
+        assertThat(billRepository.findAll())
+                .extracting(Bill::getDueDate)
+                .containsExactlyInAnyOrder(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 5, 5));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ImportEngine.class)
+    void shouldImportBillsInParallel(ImportEngine engine) {
+        String csvContent = """
+                            data_vencimento,data_pagamento,valor,descricao,situacao
+                            2024-01-05,,284.25,Bill description test 01,
+                            2024-02-05,,284.25,"Bill description
+                            test 02",
+                            2024-13-05,,284.25,Invalid due date,
+                            2024-04-05,,284.25,Bill description test 04,
+                            """;
+        var file = new MockMultipartFile("file", "bills.csv", "text/csv", csvContent.getBytes());
+
+        var summary = billImportService.importBills(file, new ImportOptions(engine, true, true));
+
+        assertThat(summary.accepted()).isEqualTo(3);
+        assertThat(summary.rejected()).isEqualTo(1);
+        assertThat(billRepository.findAll())
+                .extracting(Bill::getDescription)
+                .containsExactlyInAnyOrder("Bill description test 01", "Bill description\ntest 02", "Bill description test 04");
+    }
+
+    @Test
+    void shouldRunImportJobInBackground() throws InterruptedException {
+        String csvContent = """
+                            data_vencimento,data_pagamento,valor,descricao,situacao
+                            2024-01-05,,284.25,Bill description test 01,
+                            2024-02-05,,284.25,Bill description test 02,
+                            2024-03-05,,284.25,Bill description test 03,
+                            """;
+        var file = new MockMultipartFile("file", "bills.csv", "text/csv", csvContent.getBytes());
+
+        var job = billImportJobService.submit(file, ImportOptions.of(ImportEngine.COPY));
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.QUEUED);
+
+        var jobId = String.valueOf(job.getId());
+        for (int attempt = 0; attempt < 50 && !billImportJobService.findById(jobId).getStatus().isFinished(); attempt++) {
+            Thread.sleep(100);
+        }
+
+        var finished = billImportJobService.findById(jobId);
+        assertThat(finished.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(finished.getRowsAccepted()).isEqualTo(3);
+        assertThat(billRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRecoverTheJobsLeftByAPreviousRun() throws IOException, InterruptedException {
+        String csvContent = """
+                            data_vencimento,data_pagamento,valor,descricao,situacao
+                            2024-01-05,,284.25,Bill description test 01,
+                            2024-02-05,,284.25,Bill description test 02,
+                            """;
+        var queued = importJobRepository.save(job(ImportJobStatus.QUEUED));
+        var lost = importJobRepository.save(job(ImportJobStatus.QUEUED));
+        var running = importJobRepository.save(job(ImportJobStatus.RUNNING));
+        Files.createDirectories(UploadSpool.of(queued.getId()).getParent());
+        Files.writeString(UploadSpool.of(queued.getId()), csvContent);
+        Files.writeString(UploadSpool.of(running.getId()), csvContent);
+        var stale = UploadSpool.of(UUID.randomUUID());
+        Files.writeString(stale, csvContent);
+
+        billImportJobService.recover();
+
+        var jobId = String.valueOf(queued.getId());
+        for (int attempt = 0; attempt < 50 && !billImportJobService.findById(jobId).getStatus().isFinished(); attempt++) {
+            Thread.sleep(100);
+        }
+
+        assertThat(billImportJobService.findById(jobId).getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(billRepository.count()).isEqualTo(2);
+        assertThat(billImportJobService.findById(String.valueOf(lost.getId())).getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(billImportJobService.findById(String.valueOf(running.getId())).getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(UploadSpool.of(running.getId())).doesNotExist();
+        assertThat(stale).doesNotExist();
+    }
+
+    private static ImportJob job(ImportJobStatus status) {
+        return ImportJob.builder()
+                .id(UUID.randomUUID())
+                .fileName("bills.csv")
+                .engine(ImportEngine.COPY)
+                .status(status)
+                .createdAt(OffsetDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.bmstech.payment.application.infra.services;
+
+import br.com.bmstech.payment.domain.dto.BillTotalDTO;
+import br.com.bmstech.payment.domain.dto.OverdueSweepDTO;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.services.BillOverdueService;
+import br.com.bmstech.payment.infra.services.BillRollupService;
+import br.com.bmstech.payment.infra.services.BillService;
+import br.com.bmstech.payment.infra.services.impl.BillOverdueServiceImpl;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+        "api.bills.overdue.sweep-cron=-",
+        "api.bills.overdue.chunk-size=2",
+        "api.bills.overdue.pause=0ms",
+        "api.bills.overdue.late-fee-percent=10"
+})
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+class BillOverdueServiceImplTest {
+
+    private final BillRepository billRepository;
+    private final BillService billService;
+    private final BillOverdueService billOverdueService;
+    private final BillRollupService billRollupService;
+    private final DataSource dataSource;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @BeforeEach
+    void setUp() {
+        billRepository.deleteAll();
+    }
+
+    @Test
+    void shouldMarkTheUnpaidBillsPastTheirDueDateInChunks() {
+        var today = LocalDate.now();
+        List<Bill> past = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            past.add(billService.create(bill(today.minusDays(i), "10.05")));
+        }
+        var dueToday = billService.create(bill(today, "20.00"));
+        var paid = billService.create(bill(today.minusDays(3), "30.00"));
+        billService.payBill(paid.getId().toString());
+
+        var sweep = billOverdueService.sweep();
+
+        assertThat(sweep).isEqualTo(new OverdueSweepDTO(today, true, 5, 3));
+        for (var bill : past) {
+            var swept = billService.findById(bill.getId().toString());
+            assertThat(swept.getSituation()).isEqualTo(Situation.OVERDUE);
+            assertThat(swept.getAmount()).isEqualTo(Money.valueOf("11.06"));
+        }
+        assertThat(billService.findById(dueToday.getId().toString()).getSituation()).isEqualTo(Situation.UNPAID);
+        assertThat(billService.findById(paid.getId().toString()).getAmount()).isEqualTo(Money.valueOf("30.00"));
+        assertThat(billService.findTotals(null, null, Situation.OVERDUE)).containsExactly(
+                new BillTotalDTO(Situation.OVERDUE, 5, Money.valueOf("55.30")));
+        assertThat(billRollupService.verify()).isEmpty();
+
+        billService.payBill(past.get(0).getId().toString());
+        assertThat(billService.findById(past.get(0).getId().toString()).getSituation()).isEqualTo(Situation.PAID);
+        assertThat(billOverdueService.sweep()).isEqualTo(new OverdueSweepDTO(today, true, 0, 0));
+    }
+
+    @Test
+    void shouldSkipWhileAnotherNodeHoldsTheLock() throws SQLException {
+        var bill = billService.create(bill(LocalDate.now().minusDays(1), "10.00"));
+
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("SELECT pg_advisory_lock(" + BillOverdueServiceImpl.SWEEP_LOCK_KEY + ")");
+            assertThat(billOverdueService.sweep().ran()).isFalse();
+            statement.execute("SELECT pg_advisory_unlock(" + BillOverdueServiceImpl.SWEEP_LOCK_KEY + ")");
+        }
+
+        assertThat(billService.findById(bill.getId().toString()).getSituation()).isEqualTo(Situation.UNPAID);
+        assertThat(billOverdueService.sweep().marked()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSweepInTheBackground() throws InterruptedException {
+        var bill = billService.create(bill(LocalDate.now().minusDays(2), "10.00"));
+
+        assertThat(billOverdueService.startSweep()).isTrue();
+
+        for (int attempt = 0; attempt < 100 && billService.findById(bill.getId().toString()).getSituation() != Situation.OVERDUE; attempt++) {
+            Thread.sleep(50);
+        }
+        assertThat(billService.findById(bill.getId().toString()).getSituation()).isEqualTo(Situation.OVERDUE);
+    }
+
+    private static Bill bill(LocalDate dueDate, String amount) {
+        return Bill.builder()
+                .dueDate(dueDate)
+                .amount(Money.valueOf(amount))
+                .description("Overdue " + amount)
+                .situation(Situation.UNPAID)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.bmstech.payment.application.infra.services;
+
+import br.com.bmstech.payment.domain.dto.BillPatchDTO;
+import br.com.bmstech.payment.domain.dto.BillTotalDTO;
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.imports.ImportOptions;
+import br.com.bmstech.payment.infra.services.BillImportService;
+import br.com.bmstech.payment.infra.services.BillRollupService;
+import br.com.bmstech.payment.infra.services.BillService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+class BillRollupServiceImplTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2024, 1, 10);
+    private static final LocalDate FEBRUARY = LocalDate.of(2024, 2, 10);
+
+    private final BillRepository billRepository;
+    private final BillService billService;
+    private final BillImportService billImportService;
+    private final BillRollupService billRollupService;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @BeforeEach
+    void setUp() {
+        billRepository.deleteAll();
+    }
+
+    @Test
+    void shouldFollowEveryChangeToTheBills() {
+        var first = billService.create(bill(JANUARY, "10.50"));
+        var second = billService.create(bill(JANUARY, "20.25"));
+        var third = billService.create(bill(FEBRUARY, "5.00"));
+
+        billService.payBill(first.getId().toString());
+        var patch = new BillPatchDTO();
+        patch.setDueDate(FEBRUARY);
+        billService.patch(second.getId().toString(), patch);
+        billService.delete(third.getId().toString());
+        var csvContent = """
+                         data_vencimento,data_pagamento,valor,descricao,situacao
+                         2024-01-20,,1.00,Imported 01,UNPAID
+                         2024-02-20,2024-02-19,2.00,Imported 02,PAID
+                         """;
+        billImportService.importBills(new MockMultipartFile("file", "bills.csv", "text/csv", csvContent.getBytes()),
+                ImportOptions.of(ImportEngine.COPY));
+
+        assertThat(billService.findTotals(null, null, null)).containsExactlyInAnyOrder(
+                new BillTotalDTO(Situation.PAID, 2, Money.valueOf("12.50")),
+                new BillTotalDTO(Situation.UNPAID, 2, Money.valueOf("21.25")));
+        assertThat(billService.findTotals(FEBRUARY, null, Situation.UNPAID)).containsExactly(
+                new BillTotalDTO(Situation.UNPAID, 1, Money.valueOf("20.25")));
+        assertThat(billService.findTotals(JANUARY, JANUARY, null)).containsExactly(
+                new BillTotalDTO(Situation.PAID, 1, Money.valueOf("10.50")));
+        assertThat(billRollupService.verify()).isEmpty();
+    }
+
+    @Test
+    void shouldFindAndRepairDrift() {
+        billService.create(bill(JANUARY, "10.50"));
+        billService.create(bill(FEBRUARY, "5.00"));
+        jdbcTemplate.update("UPDATE payment.bill_daily_rollup SET bill_count = 7 WHERE day = ?", JANUARY);
+        jdbcTemplate.update("DELETE FROM payment.bill_daily_rollup WHERE day = ?", FEBRUARY);
+
+        var drift = billRollupService.verify();
+
+        assertThat(drift).hasSize(2);
+        assertThat(drift).anyMatch(row -> row.day().equals(JANUARY) && row.rollupCount() == 7 && row.actualCount() == 1);
+        assertThat(drift).anyMatch(row -> row.day().equals(FEBRUARY) && row.rollupCount() == 0 && row.actualCount() == 1);
+
+        assertThat(billRollupService.repair()).hasSize(2);
+        assertThat(billRollupService.verify()).isEmpty();
+        assertThat(billService.findTotals(null, null, Situation.UNPAID)).containsExactly(
+                new BillTotalDTO(Situation.UNPAID, 2, Money.valueOf("15.50")));
+    }
+
+    @Test
+    void shouldRepairWithoutLosingAConcurrentWrite() throws SQLException, InterruptedException {
+        billService.create(bill(JANUARY, "10.50"));
+        jdbcTemplate.update("UPDATE payment.bill_daily_rollup SET bill_count = 7 WHERE day = ? AND situation = ?",
+                JANUARY, Situation.UNPAID.getCode());
+
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (var statement = connection.prepareStatement("""
+                    INSERT INTO payment.bills (id, due_date, amount_cents, description, situation)
+                    VALUES (gen_random_uuid(), ?, 200, 'Concurrent', ?)
+                    """)) {
+                statement.setObject(1, JANUARY);
+                statement.setShort(2, Situation.UNPAID.getCode());
+                statement.executeUpdate();
+            }
+            var repair = CompletableFuture.supplyAsync(billRollupService::repair);
+            Thread.sleep(500);
+            assertThat(repair).isNotDone();
+            connection.commit();
+            assertThat(repair.join()).hasSize(1);
+        }
+
+        assertThat(billRollupService.verify()).isEmpty();
+        assertThat(billService.findTotals(JANUARY, JANUARY, Situation.UNPAID)).containsExactly(
+                new BillTotalDTO(Situation.UNPAID, 2, Money.valueOf("12.50")));
+    }
+
+    @Test
+    void shouldRejectAPeriodThatEndsBeforeItStarts() {
+        assertThatThrownBy(() -> billService.findTotals(FEBRUARY, JANUARY, null)).isInstanceOf(BusinessException.class);
+    }
+
+    private static Bill bill(LocalDate dueDate, String amount) {
+        return Bill.builder()
+                .dueDate(dueDate)
+                .amount(Money.valueOf(amount))
+                .description("Rollup " + amount)
+                .situation(Situation.UNPAID)
+                .build();
+    }
+}
@@ -1,28 +1,43 @@
 package br.com.bmstech.payment.application.infra.services;
 
+import br.com.bmstech.payment.domain.dto.BillPatchDTO;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.dto.BulkResultDTO;
 import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.BulkOutcome;
+import br.com.bmstech.payment.domain.enums.CountStrategy;
 import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.events.BillsChangedEvent;
+import br.com.bmstech.payment.domain.exceptions.BillAlreadyPaidException;
 import br.com.bmstech.payment.domain.exceptions.BillNotFoundException;
+import br.com.bmstech.payment.domain.exceptions.BillVersionConflictException;
+import br.com.bmstech.payment.domain.exceptions.BusinessException;
 import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.repositories.BillSpecifications;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.cache.BillCache;
 import br.com.bmstech.payment.infra.services.BillService;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -41,6 +56,7 @@ class BillServiceImplTest {
 
     private final BillRepository billRepository;
     private final BillService billService;
+    private final BillCache billCache;
 
     @Container
     @ServiceConnection
@@ -49,12 +65,13 @@ class BillServiceImplTest {
     @BeforeEach
     void setUp() {
         billRepository.deleteAll();
+        billCache.onBillsChanged(BillsChangedEvent.everything());
     }
 
     @Test
     void shouldCreateOneBillWithStatusPaid() {
         var dueDate = LocalDate.of(2020, 1, 1);
-        var amount = BigDecimal.valueOf(53.15);
+        var amount = Money.valueOf("53.15");
         var description = "Test description test";
         var situation = Situation.PAID;
         var bill = billService.create(
@@ -75,7 +92,7 @@ class BillServiceImplTest {
     @Test
     void shouldCreateOneBillWithStatusUnpaid() {
         var dueDate = LocalDate.of(2020, 1, 1);
-        var amount = BigDecimal.valueOf(53.16);
+        var amount = Money.valueOf("53.16");
         var description = "Test description test";
         var bill = billService.create(
                 Bill.builder()
@@ -99,7 +116,7 @@ class BillServiceImplTest {
         for (int i = 0; i < size; i++) {
             bills.add(Bill.builder()
                     .dueDate(LocalDate.now().plusDays(i))
-                    .amount(BigDecimal.valueOf(150 + i))
+                    .amount(Money.ofCents((150 + i) * 100L))
                     .description(String.format("Bill description test %d", i))
                     .build());
         }
@@ -112,11 +129,66 @@ class BillServiceImplTest {
         assertThat(result.getSize()).isEqualTo(size);
     }
 
+    @ParameterizedTest
+    @EnumSource(CountStrategy.class)
+    void shouldFindAllBillsWithCountStrategy(CountStrategy countStrategy) {
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            bills.add(Bill.builder()
+                    .dueDate(LocalDate.now().plusDays(i))
+                    .amount(Money.ofCents((150 + i) * 100L))
+                    .description(String.format("Bill description test %d", i))
+                    .build());
+        }
+        billRepository.saveAll(bills);
+
+        Slice<Bill> result = billService.findAll(0, 10, countStrategy);
+
+        assertThat(result.getContent()).hasSize(10);
+        assertThat(result.hasNext()).isTrue();
+        if (countStrategy == CountStrategy.NONE) {
+            assertThat(result).isNotInstanceOf(Page.class);
+        } else {
+            assertThat(((Page<Bill>) result).getTotalElements()).isGreaterThanOrEqualTo(11);
+        }
+    }
+
+    @Test
+    void shouldScrollAllBillsByCursor() {
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            bills.add(Bill.builder()
+                    .dueDate(LocalDate.now().plusDays(i % 3))
+                    .amount(Money.ofCents((150 + i) * 100L))
+                    .description(String.format("Bill description test %d", i))
+                    .build());
+        }
+        billRepository.saveAll(bills);
+
+        List<Bill> result = new ArrayList<>();
+        String cursor = null;
+        do {
+            var page = billService.scroll(cursor, 10);
+            assertThat(page.content()).hasSizeLessThanOrEqualTo(10);
+            result.addAll(page.content());
+            cursor = page.next();
+        } while (cursor != null);
+
+        assertThat(result).hasSize(25);
+        assertThat(result).extracting(Bill::getId).doesNotHaveDuplicates();
+        assertThat(result).isSortedAccordingTo(Comparator.comparing(Bill::getDueDate));
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> billService.scroll("not-a-cursor", 10)).isInstanceOf(BusinessException.class);
+    }
+
     @Test
     void shouldFindByIdWithSuccess() {
         var billSaved = billRepository.save(Bill.builder()
                 .dueDate(LocalDate.now())
-                .amount(BigDecimal.valueOf(10.12))
+                .amount(Money.valueOf("10.12"))
                 .description("Bill description test")
                 .situation(Situation.UNPAID)
                 .build());
@@ -126,6 +198,55 @@ class BillServiceImplTest {
         assertThat(billSaved.getId()).isEqualTo(result.getId());
     }
 
+    @Test
+    void shouldFindResponseByIdWithSuccess() {
+        var billSaved = billRepository.save(Bill.builder()
+                .dueDate(LocalDate.now())
+                .amount(Money.valueOf("10.12"))
+                .description("Bill description test")
+                .situation(Situation.UNPAID)
+                .build());
+
+        var result = billService.findResponseById(String.valueOf(billSaved.getId()));
+
+        assertThat(result.id()).isEqualTo(billSaved.getId());
+        assertThat(result.description()).isEqualTo("Bill description test");
+        assertThat(result.situation()).isEqualTo(Situation.UNPAID);
+        assertThat(result.version()).isZero();
+        var missing = String.valueOf(UUID.randomUUID());
+        assertThatThrownBy(() -> billService.findResponseById(missing)).isInstanceOf(BillNotFoundException.class);
+    }
+
+    @Test
+    void shouldRefreshCachedReadsAfterChanges() {
+        var dueDate = LocalDate.now();
+        var bill = billService.create(Bill.builder()
+                .dueDate(dueDate)
+                .amount(Money.valueOf("10.12"))
+                .description("Bill description test")
+                .build());
+        var id = String.valueOf(bill.getId());
+
+        assertThat(billService.findResponseById(id).situation()).isEqualTo(Situation.UNPAID);
+        assertThat(billService.findResponsesByFilter(dueDate, "description", 0, 10, CountStrategy.NONE).getContent()).hasSize(1);
+
+        billService.payBill(id);
+        assertThat(billService.findResponseById(id).situation()).isEqualTo(Situation.PAID);
+        assertThat(billService.findResponsesByFilter(dueDate, "description", 0, 10, CountStrategy.NONE).getContent())
+                .singleElement().satisfies(response -> assertThat(response.situation()).isEqualTo(Situation.PAID));
+
+        billService.create(Bill.builder()
+                .dueDate(dueDate)
+                .amount(Money.valueOf("20.5"))
+                .description("Bill description test")
+                .build());
+        assertThat(billService.findResponsesByFilter(dueDate, "description", 0, 10, CountStrategy.NONE).getContent()).hasSize(2);
+
+        billService.delete(id);
+        assertThatThrownBy(() -> billService.findResponseById(id)).isInstanceOf(BillNotFoundException.class);
+        assertThat(billService.findResponsesByFilter(dueDate, "description", 0, 10, CountStrategy.NONE).getContent()).hasSize(1);
+    }
+
     @Test
     void shouldFindByIdWithNotFoundException() {
         var uuid = String.valueOf(UUID.randomUUID());
@@ -143,7 +264,7 @@ class BillServiceImplTest {
         for (int i = 0; i < 20; i++) {
             bills.add(Bill.builder()
                     .dueDate(LocalDate.now())
-                    .amount(BigDecimal.valueOf(40 + i))
+                    .amount(Money.ofCents((40 + i) * 100L))
                     .description(String.format(description.concat(" %d"), i))
                     .situation(Situation.UNPAID)
                     .build());
@@ -158,17 +279,100 @@ class BillServiceImplTest {
         assertThat(result.getContent().stream().allMatch(bill -> bill.getDueDate().equals(dueDate))).isTrue();
     }
 
+    @Test
+    void shouldScrollBillsByFilterAndCursor() {
+        var dueDate = LocalDate.now();
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            bills.add(Bill.builder()
+                    .dueDate(i < 15 ? dueDate : dueDate.plusDays(1))
+                    .amount(Money.ofCents((40 + i) * 100L))
+                    .description(String.format("Bill description test %d", i))
+                    .situation(Situation.UNPAID)
+                    .build());
+        }
+        billRepository.saveAll(bills);
+
+        var first = billService.scrollByFilter(dueDate, "Test", null, 10);
+        var second = billService.scrollByFilter(dueDate, "Test", first.next(), 10);
+
+        assertThat(first.content()).hasSize(10);
+        assertThat(second.content()).hasSize(5);
+        assertThat(second.next()).isNull();
+        assertThat(second.content()).allMatch(bill -> bill.getDueDate().equals(dueDate));
+    }
+
+    @Test
+    void shouldSearchBillsByDescriptionMostSimilarFirst() {
+        List<Bill> bills = new ArrayList<>();
+        for (String description : List.of("Electricity bill 2024 March", "Water", "Electricity", "Internet 100% fiber")) {
+            bills.add(Bill.builder()
+                    .dueDate(LocalDate.now())
+                    .amount(Money.ofCents(1000))
+                    .description(description)
+                    .situation(Situation.UNPAID)
+                    .build());
+        }
+        billRepository.saveAll(bills);
+
+        assertThat(billService.searchByDescription("electricity", 0, 10).getContent())
+                .extracting(Bill::getDescription)
+                .containsExactly("Electricity", "Electricity bill 2024 March");
+        assertThat(billService.searchByDescription("100%", 0, 10).getContent())
+                .extracting(Bill::getDescription)
+                .containsExactly("Internet 100% fiber");
+        assertThatThrownBy(() -> billService.searchByDescription("el", 0, 10)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void shouldFindBillsByAnyCombinationOfCriteria() {
+        var today = LocalDate.now();
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            bills.add(Bill.builder()
+                    .dueDate(today.plusDays(i))
+                    .paymentDate(i % 2 == 0 ? today : null)
+                    .amount(Money.ofCents((100 + i) * 100L))
+                    .description(String.format("Bill description test %d", i))
+                    .situation(i % 2 == 0 ? Situation.PAID : Situation.UNPAID)
+                    .build());
+        }
+        billRepository.saveAll(bills);
+
+        var byDueDate = billService.findByCriteria(
+                new BillSearchCriteria(today.plusDays(2), today.plusDays(5), null, null, null, null, null, null),
+                "data_vencimento,desc", 0, 10, CountStrategy.EXACT);
+        assertThat(byDueDate.getContent()).extracting(Bill::getDueDate)
+                .containsExactly(today.plusDays(5), today.plusDays(4), today.plusDays(3), today.plusDays(2));
+
+        var bySituationAndAmount = billService.findByCriteria(
+                new BillSearchCriteria(null, null, null, null, Money.ofCents(10400), null, Situation.UNPAID, "TEST"),
+                "valor", 0, 2, CountStrategy.NONE);
+        assertThat(bySituationAndAmount).isNotInstanceOf(Page.class);
+        assertThat(bySituationAndAmount.getContent()).extracting(bill -> bill.getAmount().cents())
+                .containsExactly(10500L, 10700L);
+        assertThat(bySituationAndAmount.hasNext()).isTrue();
+
+        var all = billService.findByCriteria(
+                new BillSearchCriteria(null, null, null, null, null, null, null, null), null, 0, 20, CountStrategy.EXACT);
+        assertThat(all.getContent()).hasSize(10);
+
+        assertThatThrownBy(() -> billService.findByCriteria(
+                new BillSearchCriteria(null, null, null, null, null, null, null, null), "descricao", 0, 20, CountStrategy.EXACT))
+                .isInstanceOf(BusinessException.class);
+    }
+
     @Test
     void shouldUpdateBillWithSuccess() {
         var bill = billRepository.save(Bill.builder()
                 .dueDate(LocalDate.now())
-                .amount(BigDecimal.valueOf(10.12))
+                .amount(Money.valueOf("10.12"))
                 .description("Bill description test")
                 .situation(Situation.UNPAID)
                 .build());
 
         bill.setDescription("Bill description updated");
-        bill.setAmount(BigDecimal.valueOf(40.12));
+        bill.setAmount(Money.valueOf("40.12"));
 
         var billUpdated = billService.update(String.valueOf(bill.getId()), bill);
         var result = billRepository.findById(billUpdated.getId());
@@ -176,7 +380,51 @@ class BillServiceImplTest {
 
         var billFormGet = result.get();
         assertThat(billFormGet.getDescription()).isEqualTo("Bill description updated");
-        assertThat(billUpdated.getAmount()).isEqualTo(BigDecimal.valueOf(40.12));
+        assertThat(billUpdated.getAmount()).isEqualTo(Money.valueOf("40.12"));
+    }
+
+    @Test
+    void shouldUpdateWithVersionConflictException() {
+        var bill = billRepository.save(Bill.builder()
+                .dueDate(LocalDate.now())
+                .amount(Money.valueOf("10.12"))
+                .description("Bill description test")
+                .situation(Situation.UNPAID)
+                .build());
+        var id = String.valueOf(bill.getId());
+
+        bill.setDescription("First change");
+        var updated = billService.update(id, bill);
+        assertThat(updated.getVersion()).isEqualTo(bill.getVersion() + 1);
+
+        bill.setDescription("Second change on the old version");
+        assertThatThrownBy(() -> billService.update(id, bill)).isInstanceOf(BillVersionConflictException.class);
+        assertThat(billRepository.findById(bill.getId())).get()
+                .extracting(Bill::getDescription).isEqualTo("First change");
+    }
+
+    @Test
+    void shouldPatchOnlySuppliedFields() {
+        var bill = billRepository.save(Bill.builder()
+                .dueDate(LocalDate.now())
+                .amount(Money.valueOf("10.12"))
+                .description("Bill description test")
+                .situation(Situation.UNPAID)
+                .build());
+        var patch = new BillPatchDTO();
+        patch.setDescription("Bill description patched");
+        patch.setVersion(bill.getVersion());
+
+        var patched = billService.patch(String.valueOf(bill.getId()), patch);
+
+        assertThat(patched.getDescription()).isEqualTo("Bill description patched");
+        assertThat(patched.getAmount()).isEqualByComparingTo(Money.valueOf("10.12"));
+        assertThat(patched.getSituation()).isEqualTo(Situation.UNPAID);
+        assertThat(patched.getVersion()).isEqualTo(bill.getVersion() + 1);
+
+        var clearAmount = new BillPatchDTO();
+        clearAmount.setAmount(null);
+        assertThatThrownBy(() -> billService.patch(String.valueOf(bill.getId()), clearAmount)).isInstanceOf(BusinessException.class);
     }
 
     @Test
@@ -189,7 +437,7 @@ class BillServiceImplTest {
     void shouldPayBillWithSuccess() {
         var bill = billRepository.save(Bill.builder()
                 .dueDate(LocalDate.now())
-                .amount(BigDecimal.valueOf(10.12))
+                .amount(Money.valueOf("10.12"))
                 .description("Bill description test")
                 .situation(Situation.UNPAID)
                 .build());
@@ -200,6 +448,49 @@ class BillServiceImplTest {
 
         assertThat(billPaid).isPresent();
         assertThat(billPaid.get().getSituation()).isEqualTo(Situation.PAID);
+        assertThat(billPaid.get().getPaymentDate()).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    void shouldPayBillWithAlreadyPaidException() {
+        var bill = billRepository.save(Bill.builder()
+                .dueDate(LocalDate.now())
+                .amount(Money.valueOf("10.12"))
+                .description("Bill description test")
+                .situation(Situation.UNPAID)
+                .build());
+        var id = String.valueOf(bill.getId());
+
+        billService.payBill(id);
+
+        assertThatThrownBy(() -> billService.payBill(id)).isInstanceOf(BillAlreadyPaidException.class);
+    }
+
+    @Test
+    void shouldPayBillsWithoutSituation() {
+        var single = billRepository.save(Bill.builder()
+                .dueDate(LocalDate.now())
+                .amount(Money.valueOf("10.12"))
+                .description("No situation test")
+                .build());
+        var bulk = billRepository.save(Bill.builder()
+                .dueDate(LocalDate.now())
+                .amount(Money.valueOf("10.12"))
+                .description("No situation test")
+                .build());
+        var matching = billRepository.save(Bill.builder()
+                .dueDate(LocalDate.of(1999, 4, 1))
+                .amount(Money.valueOf("10.12"))
+                .description("No situation test")
+                .build());
+
+        billService.payBill(String.valueOf(single.getId()));
+        assertThat(billService.payAll(List.of(bulk.getId()), false)).isEqualTo(BulkResultDTO.of(1));
+        billService.payByCriteria(new BillSearchCriteria(LocalDate.of(1999, 4, 1), LocalDate.of(1999, 4, 1),
+                null, null, null, null, null, null));
+
+        assertThat(billRepository.findAllById(List.of(single.getId(), bulk.getId(), matching.getId())))
+                .extracting(Bill::getSituation).containsOnly(Situation.PAID);
     }
 
     @Test
@@ -208,11 +499,58 @@ class BillServiceImplTest {
         assertThatThrownBy(() -> billService.payBill(uuid)).isInstanceOf(BillNotFoundException.class);
     }
 
+    @Test
+    void shouldPayManyBillsReportingEachOutcome() {
+        var unpaid = billRepository.save(Bill.builder()
+                .dueDate(LocalDate.now())
+                .amount(Money.valueOf("10.12"))
+                .description("Bulk pay test")
+                .situation(Situation.UNPAID)
+                .build());
+        var paid = billRepository.save(Bill.builder()
+                .dueDate(LocalDate.now())
+                .amount(Money.valueOf("10.12"))
+                .description("Bulk pay test")
+                .situation(Situation.PAID)
+                .build());
+        var missing = UUID.randomUUID();
+
+        var result = billService.payAll(List.of(unpaid.getId(), paid.getId(), missing, unpaid.getId()), true);
+
+        assertThat(result.affected()).isEqualTo(1);
+        assertThat(result.outcomes()).containsExactly(
+                new BulkResultDTO.Outcome(unpaid.getId(), BulkOutcome.PAID),
+                new BulkResultDTO.Outcome(paid.getId(), BulkOutcome.ALREADY_PAID),
+                new BulkResultDTO.Outcome(missing, BulkOutcome.NOT_FOUND));
+        assertThat(billRepository.findById(unpaid.getId())).get()
+                .extracting(Bill::getSituation).isEqualTo(Situation.PAID);
+        assertThat(billService.payAll(List.of(unpaid.getId()), false)).isEqualTo(BulkResultDTO.of(0));
+    }
+
+    @Test
+    void shouldDeleteBillsMatchingCriteria() {
+        var dueDate = LocalDate.of(1999, 3, 1);
+        for (int i = 0; i < 3; i++) {
+            billRepository.save(Bill.builder()
+                    .dueDate(dueDate.plusDays(i))
+                    .amount(Money.valueOf("10.12"))
+                    .description("Bulk delete test")
+                    .situation(Situation.UNPAID)
+                    .build());
+        }
+        var criteria = new BillSearchCriteria(dueDate, dueDate.plusDays(1), null, null, null, null, null, "Bulk delete");
+
+        assertThat(billService.deleteByCriteria(criteria).affected()).isEqualTo(2);
+        assertThat(billRepository.findAll(BillSpecifications.descriptionContains("Bulk delete"))).hasSize(1);
+        var empty = new BillSearchCriteria(null, null, null, null, null, null, null, " ");
+        assertThatThrownBy(() -> billService.deleteByCriteria(empty)).isInstanceOf(BusinessException.class);
+    }
+
     @Test
     void shouldDeleteBillWithSuccess() {
         var bill = billRepository.save(Bill.builder()
                 .dueDate(LocalDate.now())
-                .amount(BigDecimal.valueOf(10.12))
+                .amount(Money.valueOf("10.12"))
                 .description("Bill description test")
                 .situation(Situation.UNPAID)
                 .build());
@@ -239,14 +577,14 @@ class BillServiceImplTest {
         var bill1 = billsImported.getFirst();
         assertThat(bill1.getDueDate()).isEqualTo(LocalDate.of(2024, 1, 5));
         assertThat(bill1.getPaymentDate()).isEqualTo(LocalDate.of(2024, 1, 4));
-        assertThat(bill1.getAmount()).isEqualTo(BigDecimal.valueOf(284.25));
+        assertThat(bill1.getAmount()).isEqualTo(Money.valueOf("284.25"));
         assertThat(bill1.getDescription()).isEqualTo("Bill description test 01");
         assertThat(bill1.getSituation()).isEqualTo(Situation.PAID);
 
         var bill2 = billsImported.getLast();
         assertThat(bill2.getDueDate()).isEqualTo(LocalDate.of(2024, 12, 5));
         assertThat(bill2.getPaymentDate()).isNull();
-        assertThat(bill2.getAmount()).isEqualTo(BigDecimal.valueOf(284.25));
+        assertThat(bill2.getAmount()).isEqualTo(Money.valueOf("284.25"));
         assertThat(bill2.getDescription()).isEqualTo("Bill description test 12");
         assertThat(bill2.getSituation()).isEqualTo(Situation.UNPAID);
 
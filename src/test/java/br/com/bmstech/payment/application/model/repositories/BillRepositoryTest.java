@@ -3,6 +3,7 @@ package br.com.bmstech.payment.application.model.repositories;
 import br.com.bmstech.payment.domain.entity.Bill;
 import br.com.bmstech.payment.domain.enums.Situation;
 import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.domain.values.Money;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,7 +18,6 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -88,7 +88,7 @@ class BillRepositoryTest {
         assertThat(billFromGet).isEqualTo(bill);
 
         bill.setDescription("Bill description test 01");
-        bill.setAmount(new BigDecimal("100.12"));
+        bill.setAmount(Money.valueOf("100.12"));
 
         var billUpdated = billRepository.saveAndFlush(bill);
         var result2 = billRepository.findById(billFromGet.getId());
@@ -103,7 +103,7 @@ class BillRepositoryTest {
     private static void createBill() {
         bill = Bill.builder()
                 .dueDate(LocalDate.of(2020, 1, 1))
-                .amount(new BigDecimal("53.1"))
+                .amount(Money.valueOf("53.1"))
                 .description("Bill description test 01")
                 .situation(Situation.UNPAID)
                 .build();
@@ -113,19 +113,19 @@ class BillRepositoryTest {
         bills = new ArrayList<>();
         bills.add(Bill.builder()
                 .dueDate(LocalDate.of(2020, 1, 1))
-                .amount(new BigDecimal("53.1"))
+                .amount(Money.valueOf("53.1"))
                 .description("Bill description test 01")
                 .situation(Situation.UNPAID)
                 .build());
         bills.add(Bill.builder()
                 .dueDate(LocalDate.of(2020, 1, 1))
-                .amount(new BigDecimal("53.1"))
+                .amount(Money.valueOf("53.1"))
                 .description("Bill description test 02")
                 .situation(Situation.UNPAID)
                 .build());
         bills.add(Bill.builder()
                 .dueDate(LocalDate.of(2020, 1, 1))
-                .amount(new BigDecimal("53.1"))
+                .amount(Money.valueOf("53.1"))
                 .description("Bill description test 03")
                 .situation(Situation.UNPAID)
                 .build());
@@ -0,0 +1,49 @@
+package br.com.bmstech.payment.application.model.values;
+
+import br.com.bmstech.payment.domain.values.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource({"284.25,28425", "10.5,1050", "10,1000", "10.,1000", ".05,5", "-0.5,-50", "+7.10,710", "1.500,150",
+            "1e2,10000", "2.8425E2,28425"})
+    void shouldParseToCents(String text, long cents) {
+        assertThat(Money.valueOf(text).cents()).isEqualTo(cents);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", ".", "abc", "1.234", "1,5", "1e-3", "99999999999999999999"})
+    void shouldRejectInvalidAmounts(String text) {
+        assertThatThrownBy(() -> Money.valueOf(text)).isInstanceOf(NumberFormatException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"28425,284.25", "5,0.05", "-50,-0.50", "0,0.00", "100000,1000.00"})
+    void shouldPrintTwoDecimalPlaces(long cents, String text) {
+        assertThat(Money.ofCents(cents)).hasToString(text);
+    }
+
+    @Test
+    void shouldReadAndWriteJsonNumbers() throws Exception {
+        assertThat(objectMapper.readValue("284.25", Money.class)).isEqualTo(Money.ofCents(28425));
+        assertThat(objectMapper.readValue("10", Money.class)).isEqualTo(Money.ofCents(1000));
+        assertThat(objectMapper.readValue("\"10.5\"", Money.class)).isEqualTo(Money.ofCents(1050));
+        assertThat(objectMapper.writeValueAsString(Money.ofCents(28425))).isEqualTo("284.25");
+        assertThatThrownBy(() -> objectMapper.readValue("1.234", Money.class)).isInstanceOf(InvalidFormatException.class);
+    }
+}
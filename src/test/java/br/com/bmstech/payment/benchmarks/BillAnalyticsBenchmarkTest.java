@@ -0,0 +1,147 @@
+package br.com.bmstech.payment.benchmarks;
+
+import br.com.bmstech.payment.application.configs.BillAnalyticsProperties;
+import br.com.bmstech.payment.domain.dto.BillSearchCriteria;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.infra.analytics.BillAnalytics;
+import br.com.bmstech.payment.infra.analytics.ColumnarBillAnalytics;
+import br.com.bmstech.payment.infra.analytics.SqlBillAnalytics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the analytics queries answered by {@link ColumnarBillAnalytics} with the equivalent SQL of
+ * {@link SqlBillAnalytics} over ten million bills, on every bill and on one quarter of unpaid ones. The bills are
+ * generated once, before the benchmarks run; each fork connects to the same database through {@code jdbcUrl} and the
+ * columnar ones load their copy in their setup. Run with {@code mvn -Pbenchmark test -Dtest=BillAnalyticsBenchmarkTest}.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class BillAnalyticsBenchmarkTest {
+
+    private static final int ROWS = 10_000_000;
+
+    /**
+     * Two years of due dates, nearly half of them paid the day before, and a thousand distinct descriptions.
+     */
+    private static final String GENERATE_BILLS = """
+            INSERT INTO payment.bills (id, due_date, payment_date, amount_cents, description, situation)
+            SELECT gen_random_uuid(), due_date, CASE WHEN paid THEN due_date - 1 END, (random() * 100000)::bigint + 1,
+                   'Bill category ' || (i % 1000), CASE WHEN paid THEN 1 ELSE 2 END
+            FROM (SELECT i, DATE '2024-01-01' + (random() * 730)::int AS due_date, random() < 0.45 AS paid
+                  FROM generate_series(1, ?) i) generated
+            """;
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 1, 1);
+
+    private static final BillSearchCriteria ALL = new BillSearchCriteria(null, null, null, null, null, null, null, null);
+
+    private static final BillSearchCriteria UNPAID_QUARTER = new BillSearchCriteria(LocalDate.of(2024, 10, 1),
+            LocalDate.of(2024, 12, 31), null, null, null, null, Situation.UNPAID, null);
+
+    @Param({"SQL", "COLUMNAR"})
+    public String engine;
+
+    @Param({"ALL", "UNPAID_QUARTER"})
+    public String filter;
+
+    /**
+     * Database with the generated bills, credentials included; set by {@link #runBenchmarks()}.
+     */
+    @Param("")
+    public String jdbcUrl;
+
+    private ColumnarBillAnalytics columnarBillAnalytics;
+    private BillAnalytics analytics;
+    private BillSearchCriteria criteria;
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        try (var postgres = new PostgreSQLContainer<>("postgres:latest")) {
+            postgres.start();
+            Flyway.configure().dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                    .schemas("payment").load().migrate();
+            var jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(),
+                    postgres.getUsername(), postgres.getPassword()));
+            jdbcTemplate.update(GENERATE_BILLS, ROWS);
+            jdbcTemplate.execute("VACUUM ANALYZE payment.bills");
+
+            new Runner(new OptionsBuilder()
+                    .include(BillAnalyticsBenchmarkTest.class.getSimpleName())
+                    .param("jdbcUrl", postgres.getJdbcUrl() + "&user=" + postgres.getUsername() + "&password=" + postgres.getPassword())
+                    .build())
+                    .run();
+        }
+    }
+
+    @Setup
+    public void connect() throws InterruptedException {
+        var dataSource = new DriverManagerDataSource(jdbcUrl);
+        if (engine.equals("SQL")) {
+            analytics = new SqlBillAnalytics(new JdbcTemplate(dataSource));
+        } else {
+            columnarBillAnalytics = new ColumnarBillAnalytics(dataSource, new DataSourceTransactionManager(dataSource),
+                    new BillAnalyticsProperties(true, 65536, 0, 10000), new SimpleMeterRegistry());
+            while (!columnarBillAnalytics.isReady()) {
+                TimeUnit.SECONDS.sleep(1);
+            }
+            analytics = columnarBillAnalytics;
+        }
+        criteria = filter.equals("ALL") ? ALL : UNPAID_QUARTER;
+    }
+
+    @TearDown
+    public void disconnect() throws InterruptedException {
+        if (columnarBillAnalytics != null) {
+            columnarBillAnalytics.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<?> aging() {
+        return analytics.aging(criteria, REFERENCE_DATE);
+    }
+
+    @Benchmark
+    public List<?> amounts() {
+        return analytics.amounts(criteria, 10_000, 20);
+    }
+
+    @Benchmark
+    public List<?> months() {
+        return analytics.months(criteria);
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.bmstech.payment.benchmarks;
+
+import br.com.bmstech.payment.domain.entity.Bill;
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.domain.values.Money;
+import br.com.bmstech.payment.infra.imports.BillCsv;
+import br.com.bmstech.payment.infra.imports.BillCsvParser;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BillCsvParser} with the Commons CSV parsing it replaced, in time and in bytes allocated per
+ * operation ({@code gc.alloc.rate.norm}). Run with {@code mvn -Pbenchmark test -Dtest=BillCsvParserBenchmarkTest}.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BillCsvParserBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+
+    private static final CSVFormat COMMONS_FORMAT = CSVFormat.RFC4180.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .build();
+
+    private String csv;
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BillCsvParserBenchmarkTest.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void generateFile() {
+        var random = ThreadLocalRandom.current();
+        var firstDay = LocalDate.of(2024, 1, 1);
+        var content = new StringBuilder("data_vencimento,data_pagamento,valor,descricao,situacao\n");
+        for (int i = 0; i < ROWS; i++) {
+            var dueDate = firstDay.plusDays(random.nextInt(365));
+            var paid = random.nextBoolean();
+            content.append(dueDate).append(',').append(paid ? dueDate.minusDays(1) : "").append(',')
+                    .append(random.nextInt(1, 100_000) / 100.0).append(",Bill description ").append(i).append(',')
+                    .append(paid ? "PAID" : "UNPAID").append('\n');
+        }
+        csv = content.toString();
+    }
+
+    @Benchmark
+    public void commonsCsv(Blackhole blackhole) throws IOException {
+        try (CSVParser records = COMMONS_FORMAT.parse(new BufferedReader(new StringReader(csv)))) {
+            for (CSVRecord row : records) {
+                blackhole.consume(toBill(row));
+            }
+        }
+    }
+
+    @Benchmark
+    public void billCsvParser(Blackhole blackhole) throws IOException {
+        try (BillCsvParser parser = BillCsvParser.open(new StringReader(csv))) {
+            Bill bill;
+            while ((bill = parser.next()) != null) {
+                blackhole.consume(bill);
+            }
+        }
+    }
+
+    /**
+     * Conversion used before {@link BillCsvParser}: a lookup by column name, a trim and a parse per cell.
+     */
+    private static Bill toBill(CSVRecord row) {
+        var dueDate = row.get(BillCsv.DUE_DATE).trim();
+        var paymentDate = row.get(BillCsv.PAYMENT_DATE).trim();
+        var amount = row.get(BillCsv.AMOUNT).trim();
+        var description = row.get(BillCsv.DESCRIPTION).trim();
+        var situation = row.get(BillCsv.SITUATION).trim();
+
+        Bill bill = new Bill();
+        bill.setDueDate(LocalDate.parse(dueDate, DateTimeFormatter.ISO_DATE));
+        bill.setPaymentDate(!paymentDate.isEmpty() ? LocalDate.parse(paymentDate, DateTimeFormatter.ISO_DATE) : null);
+        bill.setAmount(Money.valueOf(amount));
+        bill.setDescription(description);
+        bill.setSituation(!situation.isEmpty() ? Situation.valueOf(situation) : Situation.UNPAID);
+        return bill;
+    }
+}
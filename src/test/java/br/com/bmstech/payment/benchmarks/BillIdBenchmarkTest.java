@@ -0,0 +1,103 @@
+package br.com.bmstech.payment.benchmarks;
+
+import br.com.bmstech.payment.domain.enums.Situation;
+import br.com.bmstech.payment.infra.ids.UuidV7;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts three million bills keyed by random (v4) and by time-ordered (v7) UUIDs and compares the insert rate and
+ * the size of the primary key index. Run with {@code mvn -Pbenchmark test}.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Tag("benchmark")
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+class BillIdBenchmarkTest {
+
+    private static final int ROWS = 3_000_000;
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final String INSERT = """
+            INSERT INTO bills_ids (id, payment_date, due_date, amount_cents, description, situation)
+            SELECT * FROM unnest(?::uuid[], ?::date[], ?::date[], ?::bigint[], ?::varchar[], ?::smallint[])
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7})
+    void insertThreeMillionRows(int version) {
+        Supplier<UUID> ids = version == 7 ? UuidV7::next : UUID::randomUUID;
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bills_ids");
+        jdbcTemplate.execute("CREATE TABLE bills_ids (LIKE payment.bills INCLUDING ALL)");
+
+        var start = System.nanoTime();
+        for (int from = 0; from < ROWS; from += BATCH_SIZE) {
+            insertBatch(ids, from);
+        }
+        var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        var indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size('bills_ids_pkey')", Long.class);
+        var tableBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size('bills_ids')", Long.class);
+        System.out.printf("v%d %,d rows in %,d ms (%,.0f rows/s), pkey %,d MB, table %,d MB%n", version, ROWS,
+                elapsedMillis, ROWS * 1000.0 / elapsedMillis, indexBytes >> 20, tableBytes >> 20);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM bills_ids", Long.class)).isEqualTo(ROWS);
+    }
+
+    private void insertBatch(Supplier<UUID> ids, int from) {
+        var random = ThreadLocalRandom.current();
+        var firstDay = LocalDate.of(2024, 1, 1);
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            var uuids = new Object[BATCH_SIZE];
+            var paymentDates = new Object[BATCH_SIZE];
+            var dueDates = new Object[BATCH_SIZE];
+            var amounts = new Object[BATCH_SIZE];
+            var descriptions = new Object[BATCH_SIZE];
+            var situations = new Object[BATCH_SIZE];
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                uuids[i] = ids.get();
+                dueDates[i] = firstDay.plusDays(random.nextInt(365));
+                amounts[i] = random.nextLong(1, 100_000);
+                descriptions[i] = "Bill description " + (from + i);
+                situations[i] = Situation.UNPAID.getCode();
+            }
+            try (var statement = connection.prepareStatement(INSERT)) {
+                statement.setArray(1, connection.createArrayOf("uuid", uuids));
+                statement.setArray(2, connection.createArrayOf("date", paymentDates));
+                statement.setArray(3, connection.createArrayOf("date", dueDates));
+                statement.setArray(4, connection.createArrayOf("bigint", amounts));
+                statement.setArray(5, connection.createArrayOf("varchar", descriptions));
+                statement.setArray(6, connection.createArrayOf("smallint", situations));
+                return statement.executeUpdate();
+            }
+        });
+    }
+}
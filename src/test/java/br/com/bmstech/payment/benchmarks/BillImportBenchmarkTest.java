@@ -0,0 +1,87 @@
+package br.com.bmstech.payment.benchmarks;
+
+import br.com.bmstech.payment.domain.enums.ImportEngine;
+import br.com.bmstech.payment.domain.repositories.BillRepository;
+import br.com.bmstech.payment.infra.imports.ImportListener;
+import br.com.bmstech.payment.infra.imports.ImportOptions;
+import br.com.bmstech.payment.infra.services.BillImportService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the ingestion engines, with sequential and parallel parsing, on one million rows. Run with {@code mvn -Pbenchmark test}.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Tag("benchmark")
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+class BillImportBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+
+    private static Path csv;
+
+    private final BillImportService billImportService;
+    private final BillRepository billRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @BeforeAll
+    static void generateFile() throws IOException {
+        csv = Files.createTempFile("bills-benchmark", ".csv");
+        csv.toFile().deleteOnExit();
+        var random = ThreadLocalRandom.current();
+        var firstDay = LocalDate.of(2024, 1, 1);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write("data_vencimento,data_pagamento,valor,descricao,situacao\n");
+            for (int i = 0; i < ROWS; i++) {
+                var dueDate = firstDay.plusDays(random.nextInt(365));
+                var paid = random.nextBoolean();
+                writer.write(dueDate + "," + (paid ? dueDate.minusDays(1) : "") + ","
+                        + random.nextInt(1, 100_000) / 100.0 + ",Bill description " + i + ","
+                        + (paid ? "PAID" : "UNPAID") + "\n");
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"JPA,false", "COPY,false", "JPA,true", "COPY,true"})
+    void importOneMillionRows(ImportEngine engine, boolean parallel) {
+        jdbcTemplate.execute("TRUNCATE payment.bills");
+
+        var summary = billImportService.importBills(csv, new ImportOptions(engine, parallel, false), ImportListener.NONE);
+
+        System.out.printf("%-4s %-10s %,d rows in %,d ms (%,.0f rows/s)%n", engine, parallel ? "parallel" : "sequential",
+                summary.accepted(), summary.elapsedMillis(), summary.rowsPerSecond());
+        assertThat(summary.accepted()).isEqualTo(ROWS);
+        assertThat(billRepository.count()).isEqualTo(ROWS);
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.bmstech.payment.benchmarks;
+
+import br.com.bmstech.payment.application.configs.TokenProperties;
+import br.com.bmstech.payment.domain.entity.User;
+import br.com.bmstech.payment.domain.repositories.RevokedTokenRepository;
+import br.com.bmstech.payment.domain.repositories.UserRepository;
+import br.com.bmstech.payment.infra.security.SecurityFilter;
+import br.com.bmstech.payment.infra.security.TokenAuthenticator;
+import br.com.bmstech.payment.infra.security.TokenRevocationService;
+import br.com.bmstech.payment.infra.security.TokenService;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link SecurityFilter}: the filter as it was, rebuilding the algorithm and the verifier and
+ * looking the user up on every request, against the shared verifier with the principal read from the claims and
+ * against a token already in the cache. Both new variants include the revocation check, which the in-memory filter
+ * answers for a token that was not revoked. The user lookup is an in-memory stub here; in production it is a
+ * database round trip, which only the first variant pays on every request. Run with
+ * {@code mvn -Pbenchmark test -Dtest=SecurityFilterBenchmarkTest}.
+ *
+ * @author Angelo Brandão (angelobms@gmail.com)
+ * @version 1.0
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmarkTest {
+
+    private static final String SECRET = "payment-api-secret-key";
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private UserRepository userRepository;
+    private SecurityFilter claimsFilter;
+    private SecurityFilter cachedFilter;
+    private MockHttpServletRequest request;
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecurityFilterBenchmarkTest.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void createFilters() throws ServletException, IOException {
+        var user = new User("1b7b537a-27a8-45cb-b5a3-36797b486fcf", "admin", "admin@bmstech.com.br", "password");
+        userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        var revocation = new TokenProperties.Revocation(100_000, 0.01, Duration.ofSeconds(5));
+        var uncached = new TokenProperties(SECRET, true, new TokenProperties.Cache(false, 0, Duration.ZERO), revocation, Duration.ofDays(30));
+        var cached = new TokenProperties(SECRET, false, new TokenProperties.Cache(true, 10_000, Duration.ofMinutes(1)), revocation, Duration.ofDays(30));
+        var tokenService = new TokenService(cached);
+        var revocations = new TokenRevocationService(Mockito.mock(RevokedTokenRepository.class), tokenService,
+                Mockito.mock(TaskScheduler.class), cached);
+        claimsFilter = new SecurityFilter(new TokenAuthenticator(tokenService, userRepository, revocations, uncached, new SimpleMeterRegistry()));
+        cachedFilter = new SecurityFilter(new TokenAuthenticator(tokenService, userRepository, revocations, cached, new SimpleMeterRegistry()));
+
+        request = new MockHttpServletRequest("GET", "/bills");
+        request.addHeader("Authorization", "Bearer " + tokenService.generateToken(user));
+        cachedFilter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+    }
+
+    @Benchmark
+    public void rebuildPerRequest(Blackhole blackhole) {
+        var token = request.getHeader("Authorization").substring(7);
+        blackhole.consume(legacyFilter(token));
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void sharedVerifierWithClaims(Blackhole blackhole) throws ServletException, IOException {
+        claimsFilter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void cachedToken(Blackhole blackhole) throws ServletException, IOException {
+        cachedFilter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Authentication done by the filter before the verifier was shared.
+     */
+    private Object legacyFilter(String token) {
+        String login;
+        try {
+            var algorithm = Algorithm.HMAC256(SECRET);
+            login = JWT.require(algorithm)
+                    .withIssuer("payment-api-auth")
+                    .build()
+                    .verify(token)
+                    .getSubject();
+        } catch (JWTVerificationException exception) {
+            login = null;
+        }
+        var user = userRepository.findByEmail(login).orElseThrow(() -> new RuntimeException("User not found"));
+        var authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        var authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return authentication;
+    }
+}